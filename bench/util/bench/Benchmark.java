@@ -0,0 +1,60 @@
+package util.bench;
+
+/**
+ * A single benchmark, an operation timed over a range of
+ * problem sizes.  Anything that should not be timed, like
+ * building the operands, belongs in set up.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public abstract class Benchmark {
+    /**
+     * The name of the benchmark
+     */
+    private String name;
+
+    /**
+     * The problem sizes to run at
+     */
+    private int[] sizes;
+
+    /**
+     * Make a new benchmark
+     * @param name the name
+     * @param sizes the problem sizes to run at
+     */
+    public Benchmark(String name, int[] sizes) {
+        this.name = name;
+        this.sizes = sizes;
+    }
+
+    /**
+     * Get the name of the benchmark
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the problem sizes
+     * @return the sizes
+     */
+    public int[] getSizes() {
+        return sizes;
+    }
+
+    /**
+     * Prepare the operands for the given size
+     * @param size the problem size
+     */
+    public abstract void setUp(int size);
+
+    /**
+     * Run the operation once, the result is consumed by
+     * the runner so the work can not be optimized away
+     * @return the result of the operation
+     */
+    public abstract Object run();
+
+}
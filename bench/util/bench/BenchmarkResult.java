@@ -0,0 +1,138 @@
+package util.bench;
+
+/**
+ * The timings of one benchmark at one size
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class BenchmarkResult {
+    /**
+     * The z value for a 99.9% confidence interval
+     */
+    private static final double Z = 3.291;
+
+    /**
+     * The name of the benchmark
+     */
+    private String name;
+
+    /**
+     * The problem size
+     */
+    private int size;
+
+    /**
+     * The number of warm up iterations
+     */
+    private int warmupIterations;
+
+    /**
+     * The nanoseconds per operation of each measurement iteration
+     */
+    private double[] scores;
+
+    /**
+     * Make a new result
+     * @param name the benchmark name
+     * @param size the problem size
+     * @param warmupIterations the number of warm up iterations
+     * @param scores the nanoseconds per operation of each iteration
+     */
+    public BenchmarkResult(String name, int size, int warmupIterations, double[] scores) {
+        this.name = name;
+        this.size = size;
+        this.warmupIterations = warmupIterations;
+        this.scores = scores;
+    }
+
+    /**
+     * Get the mean nanoseconds per operation
+     * @return the score
+     */
+    public double getScore() {
+        double sum = 0;
+        for (int i = 0; i < scores.length; i++) {
+            sum += scores[i];
+        }
+        return sum / scores.length;
+    }
+
+    /**
+     * Get the half width of the 99.9% confidence interval
+     * around the score, using the normal approximation
+     * @return the error
+     */
+    public double getScoreError() {
+        if (scores.length < 2) {
+            return Double.NaN;
+        }
+        double mean = getScore();
+        double sum = 0;
+        for (int i = 0; i < scores.length; i++) {
+            sum += (scores[i] - mean) * (scores[i] - mean);
+        }
+        return Z * Math.sqrt(sum / (scores.length - 1) / scores.length);
+    }
+
+    /**
+     * Get the benchmark name
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the problem size
+     * @return the size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Write the result as a json object, laid out like a
+     * JMH result so the same tools can compare them
+     * @return the json
+     */
+    public String toJSON() {
+        StringBuffer sb = new StringBuffer();
+        sb.append("    {\n");
+        sb.append("        \"benchmark\" : \"" + name + "\",\n");
+        sb.append("        \"mode\" : \"avgt\",\n");
+        sb.append("        \"warmupIterations\" : " + warmupIterations + ",\n");
+        sb.append("        \"measurementIterations\" : " + scores.length + ",\n");
+        sb.append("        \"params\" : {\n");
+        sb.append("            \"size\" : \"" + size + "\"\n");
+        sb.append("        },\n");
+        sb.append("        \"primaryMetric\" : {\n");
+        sb.append("            \"score\" : " + number(getScore()) + ",\n");
+        sb.append("            \"scoreError\" : " + number(getScoreError()) + ",\n");
+        sb.append("            \"scoreUnit\" : \"ns/op\",\n");
+        sb.append("            \"rawData\" : [\n                [\n");
+        for (int i = 0; i < scores.length; i++) {
+            sb.append("                    " + number(scores[i])
+                + (i + 1 < scores.length ? ",\n" : "\n"));
+        }
+        sb.append("                ]\n            ]\n");
+        sb.append("        }\n");
+        sb.append("    }");
+        return sb.toString();
+    }
+
+    /**
+     * Write a number as json, which has no NaN
+     * @param d the number
+     * @return the json
+     */
+    private static String number(double d) {
+        return Double.isNaN(d) || Double.isInfinite(d) ? "\"NaN\"" : Double.toString(d);
+    }
+
+    /**
+     * @see java.lang.Object#toString()
+     */
+    public String toString() {
+        return name + "\t" + size + "\t" + getScore() + "\t+- " + getScoreError() + " ns/op";
+    }
+}
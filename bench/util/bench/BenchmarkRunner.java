@@ -0,0 +1,139 @@
+package util.bench;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs benchmarks and reports the average time per operation.
+ * Each benchmark is warmed up for a few iterations so the
+ * compiler has settled, then timed for several measurement
+ * iterations.  An iteration calls the operation repeatedly
+ * until the iteration time has passed.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class BenchmarkRunner {
+    /**
+     * Holds results so that they can not be optimized away
+     */
+    public static volatile Object sink;
+
+    /**
+     * The number of warm up iterations
+     */
+    private int warmupIterations;
+
+    /**
+     * The number of measurement iterations
+     */
+    private int measurementIterations;
+
+    /**
+     * The minimum length of an iteration in nanoseconds
+     */
+    private long iterationTime;
+
+    /**
+     * Make a new runner
+     * @param warmupIterations the number of warm up iterations
+     * @param measurementIterations the number of measurement iterations
+     * @param iterationMillis the minimum length of an iteration
+     */
+    public BenchmarkRunner(int warmupIterations, int measurementIterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationTime = iterationMillis * 1000000L;
+    }
+
+    /**
+     * Make a new runner with the default settings
+     */
+    public BenchmarkRunner() {
+        this(3, 5, 500);
+    }
+
+    /**
+     * Run a benchmark at all of its sizes
+     * @param benchmark the benchmark
+     * @return the results, one per size
+     */
+    public BenchmarkResult[] run(Benchmark benchmark) {
+        int[] sizes = benchmark.getSizes();
+        BenchmarkResult[] results = new BenchmarkResult[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            benchmark.setUp(sizes[i]);
+            for (int j = 0; j < warmupIterations; j++) {
+                iteration(benchmark);
+            }
+            double[] scores = new double[measurementIterations];
+            for (int j = 0; j < measurementIterations; j++) {
+                scores[j] = iteration(benchmark);
+            }
+            results[i] = new BenchmarkResult(benchmark.getName(), sizes[i],
+                warmupIterations, scores);
+        }
+        return results;
+    }
+
+    /**
+     * Run one iteration of a benchmark
+     * @param benchmark the benchmark
+     * @return the nanoseconds per operation
+     */
+    private double iteration(Benchmark benchmark) {
+        long operations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            sink = benchmark.run();
+            operations++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationTime);
+        return (double) elapsed / operations;
+    }
+
+    /**
+     * Write results as a json array
+     * @param results the results
+     * @param file the file to write to
+     * @throws IOException if the file can not be written
+     */
+    public static void writeJSON(List<BenchmarkResult> results, String file) throws IOException {
+        PrintWriter out = new PrintWriter(new FileWriter(file));
+        out.println("[");
+        for (int i = 0; i < results.size(); i++) {
+            out.print(results.get(i).toJSON());
+            out.println(i + 1 < results.size() ? "," : "");
+        }
+        out.println("]");
+        out.close();
+    }
+
+    /**
+     * Run the linear algebra benchmarks
+     * @param args the results file (default bench-results.json),
+     * then optionally a string the benchmark names must contain
+     * @throws IOException if the results can not be written
+     */
+    public static void main(String[] args) throws IOException {
+        String file = args.length > 0 ? args[0] : "bench-results.json";
+        String filter = args.length > 1 ? args[1] : "";
+        BenchmarkRunner runner = new BenchmarkRunner();
+        Benchmark[] benchmarks = LinearAlgebraBenchmarks.benchmarks();
+        List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+        for (int i = 0; i < benchmarks.length; i++) {
+            if (benchmarks[i].getName().indexOf(filter) == -1) {
+                continue;
+            }
+            BenchmarkResult[] r = runner.run(benchmarks[i]);
+            for (int j = 0; j < r.length; j++) {
+                System.out.println(r[j]);
+                results.add(r[j]);
+            }
+        }
+        writeJSON(results, file);
+    }
+}
@@ -0,0 +1,284 @@
+package util.bench;
+
+import util.linalg.BidiagonalDecomposition;
+import util.linalg.CholeskyFactorization;
+import util.linalg.DenseVector;
+import util.linalg.FlatMatrix;
+import util.linalg.HessenbergDecomposition;
+import util.linalg.HouseholderReflection;
+import util.linalg.LUDecomposition;
+import util.linalg.Matrix;
+import util.linalg.QRDecomposition;
+import util.linalg.RealSchurDecomposition;
+import util.linalg.RectangularMatrix;
+import util.linalg.SingularValueDecomposition;
+import util.linalg.SparseMatrix;
+import util.linalg.SymmetricEigenvalueDecomposition;
+import util.linalg.TridiagonalDecomposition;
+import util.linalg.TruncatedSingularValueDecomposition;
+import util.linalg.TruncatedSymmetricEigenvalueDecomposition;
+import util.linalg.Vector;
+
+/**
+ * Benchmarks of the linear algebra kernels: matrix multiply,
+ * each of the decompositions and the common vector operations
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class LinearAlgebraBenchmarks {
+    /**
+     * The sizes for the multiplication benchmarks
+     */
+    private static final int[] MULTIPLY_SIZES = { 16, 64, 256, 512 };
+
+    /**
+     * The sizes for the decomposition benchmarks
+     */
+    private static final int[] DECOMPOSITION_SIZES = { 16, 64, 128, 256 };
+
+    /**
+     * The sizes for the vector benchmarks
+     */
+    private static final int[] VECTOR_SIZES = { 100, 10000, 1000000 };
+
+    /**
+     * The number of components the truncated decompositions find
+     */
+    private static final int COMPONENTS = 8;
+
+    /**
+     * The matrix operand
+     */
+    private static Matrix a;
+
+    /**
+     * The second matrix operand
+     */
+    private static Matrix b;
+
+    /**
+     * The vector operand
+     */
+    private static Vector x;
+
+    /**
+     * The second vector operand
+     */
+    private static Vector y;
+
+    /**
+     * Make a random symmetric positive definite matrix
+     * @param n the size
+     * @return the matrix
+     */
+    private static Matrix symmetric(int n) {
+        Matrix r = RectangularMatrix.random(n);
+        Matrix s = r.times(r.transpose());
+        s.plusEquals(RectangularMatrix.eye(n).times(n));
+        return s;
+    }
+
+    /**
+     * Make a random vector
+     * @param n the size
+     * @return the vector
+     */
+    private static Vector random(int n) {
+        double[] data = new double[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = dist.Distribution.random.nextDouble();
+        }
+        return new DenseVector(data);
+    }
+
+    /**
+     * Get all of the benchmarks
+     * @return the benchmarks
+     */
+    public static Benchmark[] benchmarks() {
+        return new Benchmark[] {
+            new Benchmark("RectangularMatrix.times", MULTIPLY_SIZES) {
+                public void setUp(int size) {
+                    a = RectangularMatrix.random(size);
+                    b = RectangularMatrix.random(size);
+                }
+                public Object run() {
+                    return a.times(b);
+                }
+            },
+            new Benchmark("FlatMatrix.times", MULTIPLY_SIZES) {
+                public void setUp(int size) {
+                    a = new FlatMatrix(RectangularMatrix.random(size));
+                    b = new FlatMatrix(RectangularMatrix.random(size));
+                }
+                public Object run() {
+                    return a.times(b);
+                }
+            },
+            new Benchmark("SparseMatrix.times", MULTIPLY_SIZES) {
+                public void setUp(int size) {
+                    Matrix dense = RectangularMatrix.random(size);
+                    for (int i = 0; i < size; i++) {
+                        for (int j = 0; j < size; j++) {
+                            if (dense.get(i, j) > .05) {
+                                dense.set(i, j, 0);
+                            }
+                        }
+                    }
+                    a = new SparseMatrix(dense);
+                    b = RectangularMatrix.random(size);
+                }
+                public Object run() {
+                    return a.times(b);
+                }
+            },
+            new Benchmark("RectangularMatrix.timesVector", MULTIPLY_SIZES) {
+                public void setUp(int size) {
+                    a = RectangularMatrix.random(size);
+                    x = random(size);
+                    y = new DenseVector(size);
+                }
+                public Object run() {
+                    return a.times(x, y);
+                }
+            },
+            new Benchmark("LUDecomposition", DECOMPOSITION_SIZES) {
+                public void setUp(int size) {
+                    a = RectangularMatrix.random(size);
+                }
+                public Object run() {
+                    return new LUDecomposition(a);
+                }
+            },
+            new Benchmark("QRDecomposition", DECOMPOSITION_SIZES) {
+                public void setUp(int size) {
+                    a = RectangularMatrix.random(size);
+                }
+                public Object run() {
+                    return new QRDecomposition(a);
+                }
+            },
+            new Benchmark("CholeskyFactorization", DECOMPOSITION_SIZES) {
+                public void setUp(int size) {
+                    a = symmetric(size);
+                }
+                public Object run() {
+                    return new CholeskyFactorization(a);
+                }
+            },
+            new Benchmark("BidiagonalDecomposition", DECOMPOSITION_SIZES) {
+                public void setUp(int size) {
+                    a = RectangularMatrix.random(size);
+                }
+                public Object run() {
+                    return new BidiagonalDecomposition(a);
+                }
+            },
+            new Benchmark("HessenbergDecomposition", DECOMPOSITION_SIZES) {
+                public void setUp(int size) {
+                    a = RectangularMatrix.random(size);
+                }
+                public Object run() {
+                    return new HessenbergDecomposition(a);
+                }
+            },
+            new Benchmark("TridiagonalDecomposition", DECOMPOSITION_SIZES) {
+                public void setUp(int size) {
+                    a = symmetric(size);
+                }
+                public Object run() {
+                    return new TridiagonalDecomposition(a);
+                }
+            },
+            new Benchmark("RealSchurDecomposition", DECOMPOSITION_SIZES) {
+                public void setUp(int size) {
+                    a = RectangularMatrix.random(size);
+                }
+                public Object run() {
+                    return new RealSchurDecomposition(a);
+                }
+            },
+            new Benchmark("SymmetricEigenvalueDecomposition", DECOMPOSITION_SIZES) {
+                public void setUp(int size) {
+                    a = symmetric(size);
+                }
+                public Object run() {
+                    return new SymmetricEigenvalueDecomposition(a);
+                }
+            },
+            new Benchmark("SingularValueDecomposition", DECOMPOSITION_SIZES) {
+                public void setUp(int size) {
+                    a = RectangularMatrix.random(size);
+                }
+                public Object run() {
+                    return new SingularValueDecomposition(a);
+                }
+            },
+            new Benchmark("TruncatedSymmetricEigenvalueDecomposition", DECOMPOSITION_SIZES) {
+                public void setUp(int size) {
+                    a = symmetric(size);
+                }
+                public Object run() {
+                    return new TruncatedSymmetricEigenvalueDecomposition(a, COMPONENTS);
+                }
+            },
+            new Benchmark("TruncatedSingularValueDecomposition", DECOMPOSITION_SIZES) {
+                public void setUp(int size) {
+                    a = RectangularMatrix.random(size);
+                }
+                public Object run() {
+                    return new TruncatedSingularValueDecomposition(a, COMPONENTS);
+                }
+            },
+            new Benchmark("HouseholderReflection.applyLeft", DECOMPOSITION_SIZES) {
+                public void setUp(int size) {
+                    a = RectangularMatrix.random(size);
+                    x = random(size);
+                }
+                public Object run() {
+                    // reflections preserve norms so repeated
+                    // application keeps the values bounded
+                    HouseholderReflection h = new HouseholderReflection(x);
+                    h.applyLeft(a, 0, a.m(), 0, a.n());
+                    return h;
+                }
+            },
+            new Benchmark("Vector.dotProduct", VECTOR_SIZES) {
+                public void setUp(int size) {
+                    x = random(size);
+                    y = random(size);
+                }
+                public Object run() {
+                    return Double.valueOf(x.dotProduct(y));
+                }
+            },
+            new Benchmark("Vector.plusTimesEquals", VECTOR_SIZES) {
+                public void setUp(int size) {
+                    x = random(size);
+                    y = random(size);
+                }
+                public Object run() {
+                    x.plusTimesEquals(1E-9, y);
+                    return x;
+                }
+            },
+            new Benchmark("Vector.plus", VECTOR_SIZES) {
+                public void setUp(int size) {
+                    x = random(size);
+                    y = random(size);
+                }
+                public Object run() {
+                    return x.plus(y);
+                }
+            },
+            new Benchmark("Vector.normSquared", VECTOR_SIZES) {
+                public void setUp(int size) {
+                    x = random(size);
+                }
+                public Object run() {
+                    return Double.valueOf(x.normSquared());
+                }
+            },
+        };
+    }
+}
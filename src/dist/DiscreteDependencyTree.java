@@ -1,13 +1,16 @@
 package dist;
 
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import util.ParallelTasks;
 import util.linalg.DenseVector;
-import util.graph.DFSTree;
-import util.graph.Graph;
-import util.graph.KruskalsMST;
-import util.graph.Node;
+import util.graph.PrimsMST;
 import util.graph.Tree;
-import util.graph.WeightedEdge;
 
 import shared.DataSet;
 import shared.DataSetDescription;
@@ -15,11 +18,21 @@ import shared.Instance;
 
 
 /**
- * A discrete dependency distribution
+ * A discrete dependency distribution.  The tree is the maximum
+ * mutual information spanning tree over the variables, found
+ * with Prim's algorithm from pairwise counts over the data
+ * packed into one primitive column per variable.  Given an
+ * executor the pairwise counting is spread over its threads.
  * @author Andrew Guillory gtg008g@mail.gatech.edu
  * @version 1.0
  */
 public class DiscreteDependencyTree extends AbstractDistribution {   
+    /**
+     * The number of chunks to make per processor when
+     * counting in parallel
+     */
+    private static final int CHUNKS_PER_PROCESSOR = 4;
+
     /**
      * The dependency tree root
      */
@@ -39,6 +52,11 @@ public class DiscreteDependencyTree extends AbstractDistribution {
      * Description the data set
      */
     private DataSetDescription description;
+
+    /**
+     * The executor, or null to estimate on the calling thread
+     */
+    private ExecutorService executor;
     
     /**
      * Make a new discrete dependency tree distribution
@@ -51,9 +69,13 @@ public class DiscreteDependencyTree extends AbstractDistribution {
     /**
      * Make a new discrete dependency tree distribution
      * @param m the small positive value to add when making the tree
+     * @param ranges the ranges of the variables
+     * @param executor the executor to count on,
+     * null to count on the calling thread
      */
-    public DiscreteDependencyTree(double m, int[] ranges) {
+    public DiscreteDependencyTree(double m, int[] ranges, ExecutorService executor) {
         this.m = m;
+        this.executor = executor;
         description = new DataSetDescription();
         description.setMinVector(new DenseVector(ranges.length));
         DenseVector max = new DenseVector(ranges.length);
@@ -63,6 +85,15 @@ public class DiscreteDependencyTree extends AbstractDistribution {
         description.setMaxVector(max);
     }
 
+    /**
+     * Make a new discrete dependency tree distribution
+     * @param m the small positive value to add when making the tree
+     * @param ranges the ranges of the variables
+     */
+    public DiscreteDependencyTree(double m, int[] ranges) {
+        this(m, ranges, null);
+    }
+
     /**
      * @see dist.Distribution#probabilityOf(shared.Instance)
      */
@@ -97,115 +128,159 @@ public class DiscreteDependencyTree extends AbstractDistribution {
         } else if (observations.getDescription() == null) {
             observations.setDescription(new DataSetDescription(observations));
         }
-        double[][] mutualI = calculateMutualInformation(observations);
-        // construct the graph
-        Tree rg = buildDirectedMST(observations, mutualI);
+        DataSetDescription dsd = observations.getDescription();
+        int[] ranges = new int[observations.get(0).size()];
+        for (int i = 0; i < ranges.length; i++) {
+            ranges[i] = dsd.getDiscreteRange(i);
+        }
+        // pack the data into columns
+        int[][] columns = new int[ranges.length][observations.size()];
+        double[] weights = new double[observations.size()];
+        for (int k = 0; k < observations.size(); k++) {
+            Instance instance = observations.get(k);
+            for (int i = 0; i < ranges.length; i++) {
+                columns[i][k] = instance.getDiscrete(i);
+            }
+            weights[k] = instance.getWeight();
+        }
+        double[] edgeWeights = calculateEdgeWeights(columns, weights, ranges);
+        // find the mst, rooted at variable 0
+        int[] parents = new PrimsMST().transform(edgeWeights, ranges.length);
         // make the dependency tree
         dt = new Tree();
-        root = new DiscreteDependencyTreeRootNode(observations, rg.getRoot(), m, dt);
+        root = new DiscreteDependencyTreeRootNode(columns, weights, ranges,
+            0, children(parents), m, dt);
         dt.setRoot(root);
-        
     }
 
     /**
-     * Build the directed mst from the mutual information
-     * and ranges
-     * @param ranges the ranges
-     * @param mutualI the mutual information values
-     * @return the directed mst
+     * Get the children of each node from the parent array
+     * @param parents the parent of each node
+     * @return the children of each node, in increasing order
      */
-    private Tree buildDirectedMST(DataSet observations, double[][] mutualI) {
-        Graph g = new Graph();
-        for (int i = 0; i < observations.get(0).size(); i++) {
-            Node n = new Node(i);
-            g.addNode(n);
+    private int[][] children(int[] parents) {
+        int[] counts = new int[parents.length];
+        for (int i = 0; i < parents.length; i++) {
+            if (parents[i] >= 0) {
+                counts[parents[i]]++;
+            }
+        }
+        int[][] children = new int[parents.length][];
+        for (int i = 0; i < parents.length; i++) {
+            children[i] = new int[counts[i]];
+            counts[i] = 0;
         }
-        for (int i = 0; i < observations.get(0).size(); i++) {
-            for (int j = 0; j < i; j++) {
-                Node a = g.getNode(i);
-                Node b = g.getNode(j);
-                a.connect(b, new WeightedEdge(-mutualI[i][j]));
+        for (int i = 0; i < parents.length; i++) {
+            if (parents[i] >= 0) {
+                children[parents[i]][counts[parents[i]]++] = i;
             }
         }
-        // find the mst
-        g = new KruskalsMST().transform(g);
-        // direct it
-        Tree rg = (Tree) new DFSTree().transform(g);
-        return rg;
+        return children;
     }
 
     /**
-     * Calculate the mutual information from the data
-     * @param ranges the ranges of the data
-     * @param data the data itself
-     * @return the mutual informations
+     * Calculate the negated mutual information between all
+     * pairs of variables, laid out for the mst
+     * @param columns the data, one column per variable
+     * @param weights the instance weights
+     * @param ranges the ranges of the variables
+     * @return the negated mutual informations
      */
-    private double[][] calculateMutualInformation(DataSet observations) {
-        DataSetDescription dsd = observations.getDescription();
+    private double[] calculateEdgeWeights(final int[][] columns, double[] weights,
+            final int[] ranges) {
         // probs[i][j] is the probability that x_i = j
-        double[][] probs = new double[observations.get(0).size()][];
-        for (int i = 0; i < probs.length; i++) {
-            probs[i] = new double[dsd.getDiscreteRange(i)];
-        }
+        double[][] probs = new double[ranges.length][];
         double weightSum = 0;
-        // fill in probs
-        for (int i = 0; i < observations.size(); i++) {
-            for (int j = 0; j < observations.get(i).size(); j++) {
-                probs[j][observations.get(i).getDiscrete(j)] +=
-                    observations.get(i).getWeight();
-            }
-            weightSum += observations.get(i).getWeight();
+        for (int k = 0; k < weights.length; k++) {
+            weightSum += weights[k];
         }
-        // normalize
+        int maxRange = 0;
         for (int i = 0; i < probs.length; i++) {
+            probs[i] = new double[ranges[i]];
+            for (int k = 0; k < weights.length; k++) {
+                probs[i][columns[i][k]] += weights[k];
+            }
             for (int j = 0; j < probs[i].length; j++) {
                 probs[i][j] /= weightSum;
             }
+            maxRange = Math.max(maxRange, ranges[i]);
         }
         // calculate the entropies of the different variables
-        double[] entropies = new double[observations.get(0).size()];
-        for (int i = 0; i < observations.get(0).size(); i++) {
-            for (int j = 0; j < dsd.getDiscreteRange(i); j++) {
+        final double[] entropies = new double[ranges.length];
+        for (int i = 0; i < ranges.length; i++) {
+            for (int j = 0; j < ranges[i]; j++) {
                 if (probs[i][j] != 0) {
                     entropies[i] -= probs[i][j] * Math.log(probs[i][j]);
                 }
             }
         }
-        // calculate the mutual information between all variables
-        double[][] mutualI = new double[observations.get(0).size()][];
-        for (int i = 0; i < mutualI.length; i++) {
-            mutualI[i] = new double[i];
-            for (int j = 0; j < i; j++) {
-                // the joint probabilities
-                // joints[a][b] is the probability that x_i = a && x_j = b
-                double[][] joints = new double[dsd.getDiscreteRange(i)][dsd.getDiscreteRange(j)];
-                // fill in the joints
-                for (int k = 0; k < observations.size(); k++) {
-                    Instance instance = observations.get(k);
-                    joints[instance.getDiscrete(i)][instance.getDiscrete(j)] ++;
-                }
-                // normalize
-                for (int k = 0; k < joints.length; k++) {
-                    for (int l = 0; l < joints[k].length; l++) {
-                        joints[k][l] /= weightSum;
+        final double[] edgeWeights = new double[PrimsMST.index(ranges.length, 0)];
+        final double total = weightSum;
+        final int cells = maxRange * maxRange;
+        if (executor == null) {
+            int[] joints = new int[cells];
+            for (int i = 0; i < ranges.length; i++) {
+                calculateEdgeWeights(i, columns, ranges, entropies, total,
+                    joints, edgeWeights);
+            }
+            return edgeWeights;
+        }
+        // row i has i pairs, so deal the rows out round robin
+        final int chunks = Math.min(ranges.length,
+            CHUNKS_PER_PROCESSOR * Runtime.getRuntime().availableProcessors());
+        List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+        for (int c = 0; c < chunks; c++) {
+            final int first = c;
+            tasks.add(new Callable<Object>() {
+                public Object call() {
+                    int[] joints = new int[cells];
+                    for (int i = first; i < ranges.length; i += chunks) {
+                        calculateEdgeWeights(i, columns, ranges, entropies, total,
+                            joints, edgeWeights);
                     }
+                    return null;
                 }
-                // calculate the mutual information I(x_i; x_j)
-                // add the entropy of x_i
-                mutualI[i][j] += entropies[i];
-                // and the entropy of x_j
-                mutualI[i][j] += entropies[j];
-                // subtract the joint entropy
-                for (int k = 0; k < joints.length; k++) {
-                    for (int l = 0; l < joints[k].length; l++) {
-                        if (joints[k][l] != 0) {
-                            mutualI[i][j] += joints[k][l] * Math.log(joints[k][l]);
-                        }
-                    }
+            });
+        }
+        ParallelTasks.invokeAll(executor, tasks);
+        return edgeWeights;
+    }
+
+    /**
+     * Calculate the negated mutual information between
+     * variable i and all of the variables before it
+     * @param i the variable
+     * @param columns the data, one column per variable
+     * @param ranges the ranges of the variables
+     * @param entropies the entropies of the variables
+     * @param weightSum the total weight of the data
+     * @param joints scratch space for the joint counts
+     * @param edgeWeights the array to write the results to
+     */
+    private void calculateEdgeWeights(int i, int[][] columns, int[] ranges,
+            double[] entropies, double weightSum, int[] joints, double[] edgeWeights) {
+        int[] a = columns[i];
+        for (int j = 0; j < i; j++) {
+            int[] b = columns[j];
+            int range = ranges[j];
+            int cells = ranges[i] * range;
+            // joints[a * range + b] counts x_i = a && x_j = b
+            Arrays.fill(joints, 0, cells, 0);
+            for (int k = 0; k < a.length; k++) {
+                joints[a[k] * range + b[k]]++;
+            }
+            // I(x_i; x_j) is the entropy of x_i plus the entropy
+            // of x_j minus their joint entropy
+            double mutualI = entropies[i];
+            mutualI += entropies[j];
+            for (int l = 0; l < cells; l++) {
+                if (joints[l] != 0) {
+                    double p = joints[l] / weightSum;
+                    mutualI += p * Math.log(p);
                 }
             }
+            edgeWeights[PrimsMST.index(i, j)] = -mutualI;
         }
-        return mutualI;
     }
 
     /**
@@ -61,6 +61,44 @@ public class DiscreteDependencyTreeNode extends Node {
         }
     }
     
+    /**
+     * Make a dependency tree node from packed data
+     * @param columns the data, one column per variable
+     * @param weights the instance weights
+     * @param ranges the ranges of the variables
+     * @param label the variable of this node
+     * @param parent the parent node index
+     * @param children the children of every variable
+     * @param m the bayesian estimate parameter
+     * @param t the tree
+     */
+    DiscreteDependencyTreeNode(int[][] columns, double[] weights, int[] ranges,
+            int label, int parent, int[][] children, double m, Tree t) {
+        double[][] probabilities = new double[ranges[parent]][ranges[label]];
+        double[] sums = new double[ranges[parent]];
+        int[] parentColumn = columns[parent];
+        int[] column = columns[label];
+        for (int i = 0; i < weights.length; i++) {
+            probabilities[parentColumn[i]][column[i]] += weights[i];
+            sums[parentColumn[i]] += weights[i];
+        }
+        for (int i = 0; i < probabilities.length; i++) {
+            for (int j = 0; j < probabilities[i].length; j++) {
+                probabilities[i][j] = (probabilities[i][j] + m / probabilities[i].length)
+                    / (sums[i] + m);
+            }
+        }
+        this.probabilities = probabilities;
+        this.parent = parent;
+        t.addNode(this);
+        setLabel(label);
+        for (int i = 0; i < children[label].length; i++) {
+            DiscreteDependencyTreeNode dtc = new DiscreteDependencyTreeNode(columns,
+                weights, ranges, children[label][i], label, children, m, t);
+            connectDirected(dtc, new Edge());
+        }
+    }
+    
     /**
      * Calculate the probability
      * @param instance the instance
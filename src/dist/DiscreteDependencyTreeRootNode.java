@@ -48,6 +48,38 @@ public class DiscreteDependencyTreeRootNode extends Node {
         }
     }
     
+    /**
+     * Build a dependency tree root from packed data
+     * @param columns the data, one column per variable
+     * @param weights the instance weights
+     * @param ranges the ranges of the variables
+     * @param label the variable of this node
+     * @param children the children of every variable
+     * @param m the bayesian estimate parameter
+     * @param t the tree
+     */
+    DiscreteDependencyTreeRootNode(int[][] columns, double[] weights, int[] ranges,
+            int label, int[][] children, double m, Tree t) {
+        probabilities = new double[ranges[label]];
+        int[] column = columns[label];
+        double weightSum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            probabilities[column[i]] += weights[i];
+            weightSum += weights[i];
+        }
+        for (int i = 0; i < probabilities.length; i++) {
+            probabilities[i] = (probabilities[i] + m / probabilities.length)
+                / (weightSum + m);
+        }
+        t.addNode(this);
+        setLabel(label);
+        for (int i = 0; i < children[label].length; i++) {
+            DiscreteDependencyTreeNode dtn = new DiscreteDependencyTreeNode(columns,
+                weights, ranges, children[label][i], label, children, m, t);
+            connectDirected(dtn, new Edge());
+        }
+    }
+    
     /**
      * Calculate the probability
      * @param instance the instance
@@ -1,7 +1,6 @@
 package dist;
 
 import java.io.Serializable;
-import java.util.Random;
 
 import shared.DataSet;
 import shared.Instance;
@@ -15,7 +14,7 @@ public interface Distribution extends Serializable {
     /**
      * A random number generator
      */
-    public static final Random random = new Random();  
+    public static final ThreadedRandom random = new ThreadedRandom();
     /**
      * Get the probability of i
      * @param i the discrete value to get the probability of
@@ -129,7 +129,7 @@ public class MixtureDistribution extends AbstractDistribution implements Copyabl
     public double p(Instance observation) {
         double probability = 0;
         for (int i = 0; i < components.length; i++) {
-            probability += componentDistribution.p(new Instance(i)) * 
+            probability += componentDistribution.getProbabilities()[i] * 
                    components[i].p(observation);
         }
         return probability;
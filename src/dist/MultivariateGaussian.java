@@ -53,6 +53,12 @@ public class MultivariateGaussian extends AbstractDistribution  implements Copya
      * Whether to print lots of stuff out
      */
     private boolean debug;
+
+    /**
+     * The vector the densities are worked out in, so evaluating
+     * every instance of every iteration of em does not allocate
+     */
+    private Vector work;
     
     /**
      * Make a new multivariate gaussian
@@ -94,10 +100,8 @@ public class MultivariateGaussian extends AbstractDistribution  implements Copya
      * @see dist.Distribution#probabilityOf(shared.Instance)
      */
     public double p(Instance i) {
-        Vector d = i.getData();
-        Vector dMinusMean = d.minus(mean);
         double p = 1/Math.sqrt(Math.pow(2*Math.PI, mean.size())* determinant)
-            * Math.exp(-.5 * dMinusMean.dotProduct(decomposition.solve(dMinusMean)));
+            * Math.exp(-.5 * mahalanobis(i.getData()));
         return p;
     }
     
@@ -107,13 +111,28 @@ public class MultivariateGaussian extends AbstractDistribution  implements Copya
      * @return the log likelihood
      */
     public double logp(Instance i) {
-        Vector d = i.getData();
-        Vector dMinusMean = d.minus(mean);
         double p = Math.log(1/Math.sqrt(Math.pow(2*Math.PI, mean.size())* determinant))
-                - .5 * dMinusMean.dotProduct(decomposition.solve(dMinusMean));
+                - .5 * mahalanobis(i.getData());
         return p;
     }
 
+    /**
+     * Calculate the squared mahalanobis distance from the mean,
+     * (d - mean)' inverse(covariance) (d - mean).  With the
+     * covariance factored as L L' that is the squared norm of
+     * the solution y of L y = d - mean, worked out in place.
+     * @param d the data
+     * @return the distance
+     */
+    private double mahalanobis(Vector d) {
+        if (work == null || work.size() != mean.size()) {
+            work = new DenseVector(mean.size());
+        }
+        d.minus(mean, work);
+        decomposition.getL().solve(work, work);
+        return work.dotProduct(work);
+    }
+
     /**
      * @see dist.Distribution#generateRandom(shared.Instance)
      */
@@ -141,26 +160,18 @@ public class MultivariateGaussian extends AbstractDistribution  implements Copya
         mean = new DenseVector(observations.get(0).size());
         for (int t = 0; t < observations.size(); t++) {
             double weight = observations.get(t).getWeight();
-            Vector d = observations.get(t).getData();
-            for (int i = 0; i < mean.size(); i++) {
-                mean.set(i, mean.get(i) + d.get(i) * weight);
-            }
+            mean.plusTimesEquals(weight, observations.get(t).getData());
             weightSum += weight;
         }
         mean.timesEquals(1/weightSum);
         // and covariance
         covarianceMatrix = new RectangularMatrix(mean.size(), mean.size());
+        Vector dMinusMean = new DenseVector(mean.size());
         for (int t = 0; t < observations.size(); t++) {
             Vector d = observations.get(t).getData();
             double weight = observations.get(t).getWeight();
-            Vector dMinusMean = d.minus(mean);
-            for (int i = 0; i < covarianceMatrix.m(); i++) {
-                for (int j = 0; j < covarianceMatrix.n(); j++) {
-                    covarianceMatrix.set(i,j,
-                        covarianceMatrix.get(i,j) +
-                        dMinusMean.get(i) * dMinusMean.get(j) * weight);
-                }
-            }
+            d.minus(mean, dMinusMean);
+            covarianceMatrix.outerProductPlusEquals(weight, dMinusMean, dMinusMean);
         }
         covarianceMatrix.timesEquals(1/weightSum);
         boolean scale = false;
@@ -0,0 +1,85 @@
+package dist;
+
+import java.util.Random;
+
+/**
+ * A random number generator that a thread can point at a
+ * generator of its own.  Everything in the library draws from
+ * the one shared generator in Distribution, which is a problem
+ * when several optimizers run at once: the threads fight over
+ * the shared seed and the interleaving of their draws makes the
+ * results impossible to reproduce.  A thread that installs its
+ * own generator gets all of its draws from that generator
+ * instead, with no contention, while every other thread keeps
+ * using the shared one.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class ThreadedRandom extends Random {
+    /**
+     * The generators installed by threads
+     */
+    private ThreadLocal<Random> local;
+
+    /**
+     * Make a new threaded random
+     */
+    public ThreadedRandom() {
+        local = new ThreadLocal<Random>();
+    }
+
+    /**
+     * Set the generator the calling thread draws from
+     * @param random the generator, or null to use the shared one
+     */
+    public void setThreadRandom(Random random) {
+        if (random == null) {
+            local.remove();
+        } else {
+            local.set(random);
+        }
+    }
+
+    /**
+     * Get the generator installed by the calling thread
+     * @return the generator, or null if the shared one is used
+     */
+    public Random getThreadRandom() {
+        return local == null ? null : local.get();
+    }
+
+    /**
+     * Seeds the generator the calling thread draws from
+     * @see java.util.Random#setSeed(long)
+     */
+    public void setSeed(long seed) {
+        Random random = getThreadRandom();
+        if (random == null) {
+            super.setSeed(seed);
+        } else {
+            random.setSeed(seed);
+        }
+    }
+
+    /**
+     * @see java.util.Random#next(int)
+     */
+    protected int next(int bits) {
+        Random random = getThreadRandom();
+        if (random == null) {
+            return super.next(bits);
+        }
+        return random.nextInt() >>> (32 - bits);
+    }
+
+    /**
+     * @see java.util.Random#nextGaussian()
+     */
+    public double nextGaussian() {
+        Random random = getThreadRandom();
+        if (random == null) {
+            return super.nextGaussian();
+        }
+        return random.nextGaussian();
+    }
+}
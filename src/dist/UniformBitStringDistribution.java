@@ -0,0 +1,62 @@
+package dist;
+
+import shared.DataSet;
+import shared.Instance;
+import util.linalg.BitVector;
+
+/**
+ * A uniform distribution over bit strings of a fixed length
+ * that samples bit vector instances a whole word at a time
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class UniformBitStringDistribution extends AbstractDistribution {
+    /**
+     * The number of bits
+     */
+    private int n;
+
+    /**
+     * Make a new uniform bit string distribution
+     * @param n the number of bits
+     */
+    public UniformBitStringDistribution(int n) {
+        this.n = n;
+    }
+
+    /**
+     * @see dist.Distribution#p(shared.Instance)
+     */
+    public double p(Instance i) {
+        return Math.pow(2, -n);
+    }
+
+    /**
+     * @see dist.Distribution#sample(shared.Instance)
+     */
+    public Instance sample(Instance ignored) {
+        BitVector bits = new BitVector(n);
+        long[] words = bits.getWords();
+        for (int w = 0; w < words.length; w++) {
+            words[w] = random.nextLong();
+        }
+        if (words.length > 0) {
+            words[words.length - 1] &= bits.getLastWordMask();
+        }
+        return new Instance(bits);
+    }
+
+    /**
+     * @see dist.Distribution#mode(shared.Instance)
+     */
+    public Instance mode(Instance ignored) {
+        return sample(ignored);
+    }
+
+    /**
+     * @see dist.Distribution#estimate(shared.DataSet)
+     */
+    public void estimate(DataSet observations) {
+        return;
+    }
+}
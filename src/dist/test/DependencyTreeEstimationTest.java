@@ -0,0 +1,71 @@
+package dist.test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import dist.DiscreteDependencyTree;
+import dist.Distribution;
+import shared.DataSet;
+import shared.Instance;
+
+/**
+ * Fits dependency trees to samples from a long noisy chain,
+ * serially and in parallel, and checks the two agree
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class DependencyTreeEstimationTest {
+    /** The number of variables */
+    private static final int VARIABLES = 1000;
+    /** The number of samples */
+    private static final int SAMPLES = 1000;
+    /** The chance a variable differs from the one before it */
+    private static final double NOISE = .1;
+
+    /**
+     * The test main
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        Distribution.random.setSeed(1234);
+        Instance[] data = new Instance[SAMPLES];
+        for (int i = 0; i < data.length; i++) {
+            double[] values = new double[VARIABLES];
+            values[0] = Distribution.random.nextInt(2);
+            for (int j = 1; j < values.length; j++) {
+                values[j] = Distribution.random.nextDouble() < NOISE
+                    ? 1 - values[j - 1] : values[j - 1];
+            }
+            data[i] = new Instance(values);
+        }
+        int[] ranges = new int[VARIABLES];
+        Arrays.fill(ranges, 2);
+
+        long start = System.currentTimeMillis();
+        DiscreteDependencyTree serial = new DiscreteDependencyTree(.1, ranges);
+        serial.estimate(new DataSet(data));
+        System.out.println("Serial fit:   " + (System.currentTimeMillis() - start) + " ms");
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()));
+        start = System.currentTimeMillis();
+        DiscreteDependencyTree parallel = new DiscreteDependencyTree(.1, ranges, executor);
+        parallel.estimate(new DataSet(data));
+        System.out.println("Parallel fit: " + (System.currentTimeMillis() - start) + " ms");
+        executor.shutdown();
+
+        boolean same = true;
+        double logLikelihood = 0;
+        for (int i = 0; i < data.length; i++) {
+            double p = serial.p(data[i]);
+            same &= p == parallel.p(data[i]);
+            logLikelihood += Math.log(p);
+        }
+        System.out.println("Average log likelihood: " + logLikelihood / data.length);
+        double chain = Math.log(.5) + (VARIABLES - 1)
+            * (NOISE * Math.log(NOISE) + (1 - NOISE) * Math.log(1 - NOISE));
+        System.out.println("Chain log likelihood:   " + chain);
+        System.out.println("Same model: " + same);
+    }
+}
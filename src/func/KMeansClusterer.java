@@ -97,14 +97,16 @@ public class KMeansClusterer extends AbstractConditionalDistribution implements
         do {
             changed = false;
             // make the assignments
+            Instance instance = null;
             for (int i = 0; i < set.size(); i++) {
+                instance = set.get(i, instance);
                 // find the closest center
                 int closest = 0;
                 double closestDistance = distanceMeasure
-                    .value(set.get(i), clusterCenters[0]);
+                    .value(instance, clusterCenters[0]);
                 for (int j = 1; j < k; j++) {
                     double distance = distanceMeasure
-                        .value(set.get(i), clusterCenters[j]);
+                        .value(instance, clusterCenters[j]);
                     if (distance < closestDistance) {
                         closestDistance = distance;
                         closest = j;
@@ -123,9 +125,10 @@ public class KMeansClusterer extends AbstractConditionalDistribution implements
                         clusterCenters[i].getData().size()));
                 }
                 for (int i = 0; i < set.size(); i++) {
-                    clusterCenters[assignments[i]].getData().plusEquals(
-                        set.get(i).getData().times(set.get(i).getWeight()));
-                    assignmentCount[assignments[i]] += set.get(i).getWeight();    
+                    instance = set.get(i, instance);
+                    clusterCenters[assignments[i]].getData().plusTimesEquals(
+                        instance.getWeight(), instance.getData());
+                    assignmentCount[assignments[i]] += instance.getWeight();    
                 }
                 for (int i = 0; i < k; i++) {
                     clusterCenters[i].getData().timesEquals(1/assignmentCount[i]);
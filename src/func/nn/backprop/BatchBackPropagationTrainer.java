@@ -4,6 +4,7 @@ import shared.DataSet;
 import shared.GradientErrorMeasure;
 import shared.Instance;
 import func.nn.NetworkTrainer;
+import func.nn.compiled.CompiledNetwork;
 
 /**
  * A standard batch back propagation trainer
@@ -31,18 +32,33 @@ public class BatchBackPropagationTrainer extends NetworkTrainer {
         this.rule = rule;
     }
 
+    /**
+     * Make a new back propagation trainer
+     * @param patterns the patterns to train on
+     * @param network the compiled network to train
+     * @param errorMeasure the error measure to use
+     */
+    public BatchBackPropagationTrainer(DataSet patterns, 
+            CompiledNetwork network, 
+            GradientErrorMeasure errorMeasure,
+            WeightUpdateRule rule) {
+        super(patterns, network, errorMeasure);
+        this.rule = rule;
+    }
+
     /**
      * @see nn.Trainer#train()
      */
     public double train() {
-        BackPropagationNetwork network =
-            (BackPropagationNetwork) getNetwork();
+        TrainableNetwork network =
+            (TrainableNetwork) getNetwork();
         GradientErrorMeasure measure =
             (GradientErrorMeasure) getErrorMeasure();
         DataSet patterns = getDataSet();
         double error = 0;
+        Instance pattern = null;
         for (int i = 0; i < patterns.size(); i++) {
-            Instance pattern = patterns.get(i);
+            pattern = patterns.get(i, pattern);
             network.setInputValues(pattern.getData());
             network.run();
             Instance output = new Instance(network.getOutputValues());
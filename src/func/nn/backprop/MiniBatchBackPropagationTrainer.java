@@ -0,0 +1,82 @@
+package func.nn.backprop;
+
+import shared.ColumnarDataSet;
+import shared.DataSet;
+import shared.GradientErrorMeasure;
+import func.nn.NetworkTrainer;
+import func.nn.compiled.CompiledNetwork;
+import func.nn.compiled.NetworkBatch;
+
+/**
+ * A mini batch back propagation trainer for compiled networks.
+ * The patterns are run through the network a batch at a time,
+ * each layer as one matrix product over the batch, and the
+ * weights are updated once per batch.  A batch at least as
+ * large as the data set trains exactly as the batch trainer,
+ * a batch of one exactly as the stochastic trainer without the
+ * shuffling.  The data set is packed into flat arrays when the
+ * trainer is made, so later changes to it are not seen.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class MiniBatchBackPropagationTrainer extends NetworkTrainer {
+
+    /**
+     * The weight update rule to use
+     */
+    private WeightUpdateRule rule;
+
+    /**
+     * The packed patterns
+     */
+    private ColumnarDataSet packed;
+
+    /**
+     * The batch the patterns are run in
+     */
+    private NetworkBatch batch;
+
+    /**
+     * Make a new mini batch back propagation trainer
+     * @param patterns the patterns to train on
+     * @param network the network to train
+     * @param errorMeasure the error measure to use
+     * @param rule the weight update rule
+     * @param batchSize the number of patterns per weight update
+     */
+    public MiniBatchBackPropagationTrainer(DataSet patterns,
+            CompiledNetwork network,
+            GradientErrorMeasure errorMeasure,
+            WeightUpdateRule rule, int batchSize) {
+        super(patterns, network, errorMeasure);
+        this.rule = rule;
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        packed = patterns instanceof ColumnarDataSet
+            ? (ColumnarDataSet) patterns : new ColumnarDataSet(patterns);
+        batch = network.createBatch(Math.min(batchSize, packed.size()));
+    }
+
+    /**
+     * Train for one pass over the patterns
+     * @see shared.Trainer#train()
+     */
+    public double train() {
+        CompiledNetwork network = (CompiledNetwork) getNetwork();
+        GradientErrorMeasure measure =
+            (GradientErrorMeasure) getErrorMeasure();
+        double error = 0;
+        for (int start = 0; start < packed.size(); start += batch.getCapacity()) {
+            int count = Math.min(batch.getCapacity(), packed.size() - start);
+            batch.setInputs(packed.getData(), start, count);
+            network.run(batch);
+            error += batch.setOutputErrors(measure, packed, start);
+            network.backpropagate(batch);
+            network.updateWeights(rule);
+            network.clearError();
+        }
+        return error / packed.size();
+    }
+
+}
@@ -0,0 +1,206 @@
+package func.nn.backprop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import shared.ColumnarDataSet;
+import shared.DataSet;
+import shared.GradientErrorMeasure;
+import util.ParallelTasks;
+import func.nn.NetworkTrainer;
+import func.nn.compiled.CompiledNetwork;
+import func.nn.compiled.NetworkBatch;
+
+/**
+ * A data parallel batch back propagation trainer for compiled
+ * networks.  The patterns are split into contiguous shards, each
+ * with its own batch state and gradient array, and the shards'
+ * gradients are computed at the same time against the shared
+ * weights.  The gradients are then summed into the network's
+ * errors, each weight's sum taken in shard order, and the update
+ * rule is applied once per pass as in the batch trainer.  The
+ * result depends on the number of shards but never on the timing
+ * of the threads, and a single shard trains exactly as the batch
+ * trainer.  The data set is packed into flat arrays when the
+ * trainer is made, so later changes to it are not seen.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class ParallelBackPropagationTrainer extends NetworkTrainer {
+
+    /**
+     * The number of patterns run through the network at once
+     */
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * The weight update rule to use
+     */
+    private WeightUpdateRule rule;
+
+    /**
+     * The packed patterns
+     */
+    private ColumnarDataSet packed;
+
+    /**
+     * The executor, or null to run on the calling thread
+     */
+    private ExecutorService executor;
+
+    /**
+     * Where each shard starts, with the end of the last shard at the end
+     */
+    private int[] starts;
+
+    /**
+     * The batch state of each shard
+     */
+    private NetworkBatch[] batches;
+
+    /**
+     * The gradient of each shard
+     */
+    private double[][] gradients;
+
+    /**
+     * The summed error of each shard
+     */
+    private double[] errors;
+
+    /**
+     * Make a new parallel back propagation trainer
+     * @param patterns the patterns to train on
+     * @param network the network to train
+     * @param errorMeasure the error measure to use
+     * @param rule the weight update rule
+     * @param shards the number of shards to split the patterns into
+     * @param executor the executor to compute the gradients on,
+     * or null to compute them on the calling thread
+     */
+    public ParallelBackPropagationTrainer(DataSet patterns,
+            CompiledNetwork network,
+            GradientErrorMeasure errorMeasure,
+            WeightUpdateRule rule, int shards, ExecutorService executor) {
+        super(patterns, network, errorMeasure);
+        this.rule = rule;
+        this.executor = executor;
+        packed = patterns instanceof ColumnarDataSet
+            ? (ColumnarDataSet) patterns : new ColumnarDataSet(patterns);
+        shards = Math.max(1, Math.min(shards, packed.size()));
+        starts = new int[shards + 1];
+        batches = new NetworkBatch[shards];
+        gradients = new double[shards][];
+        errors = new double[shards];
+        for (int s = 0; s < shards; s++) {
+            starts[s + 1] = (int) ((long) packed.size() * (s + 1) / shards);
+            batches[s] = network.createBatch(
+                Math.max(1, Math.min(BATCH_SIZE, starts[s + 1] - starts[s])));
+            gradients[s] = new double[network.getWeightCount()];
+        }
+    }
+
+    /**
+     * Make a new parallel back propagation trainer
+     * with a shard for each processor
+     * @param patterns the patterns to train on
+     * @param network the network to train
+     * @param errorMeasure the error measure to use
+     * @param rule the weight update rule
+     * @param executor the executor to compute the gradients on
+     */
+    public ParallelBackPropagationTrainer(DataSet patterns,
+            CompiledNetwork network,
+            GradientErrorMeasure errorMeasure,
+            WeightUpdateRule rule, ExecutorService executor) {
+        this(patterns, network, errorMeasure, rule,
+            Runtime.getRuntime().availableProcessors(), executor);
+    }
+
+    /**
+     * @see shared.Trainer#train()
+     */
+    public double train() {
+        final CompiledNetwork network = (CompiledNetwork) getNetwork();
+        final GradientErrorMeasure measure =
+            (GradientErrorMeasure) getErrorMeasure();
+        if (executor == null) {
+            for (int s = 0; s < batches.length; s++) {
+                computeGradient(network, measure, s);
+            }
+            reduce(network, 0, network.getWeightCount());
+        } else {
+            List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+            for (int s = 0; s < batches.length; s++) {
+                final int shard = s;
+                tasks.add(new Callable<Object>() {
+                    public Object call() {
+                        computeGradient(network, measure, shard);
+                        return null;
+                    }
+                });
+            }
+            ParallelTasks.invokeAll(executor, tasks);
+            // each task sums a disjoint range of the weights
+            tasks.clear();
+            int weightCount = network.getWeightCount();
+            for (int s = 0; s < batches.length; s++) {
+                final int from = (int) ((long) weightCount * s / batches.length);
+                final int to = (int) ((long) weightCount * (s + 1) / batches.length);
+                tasks.add(new Callable<Object>() {
+                    public Object call() {
+                        reduce(network, from, to);
+                        return null;
+                    }
+                });
+            }
+            ParallelTasks.invokeAll(executor, tasks);
+        }
+        network.updateWeights(rule);
+        network.clearError();
+        double error = 0;
+        for (int s = 0; s < errors.length; s++) {
+            error += errors[s];
+        }
+        return error / packed.size();
+    }
+
+    /**
+     * Compute the gradient and error of one shard
+     * @param network the network
+     * @param measure the error measure
+     * @param shard the shard
+     */
+    private void computeGradient(CompiledNetwork network,
+            GradientErrorMeasure measure, int shard) {
+        NetworkBatch batch = batches[shard];
+        double[] gradient = gradients[shard];
+        Arrays.fill(gradient, 0);
+        double error = 0;
+        for (int start = starts[shard]; start < starts[shard + 1];
+                start += batch.getCapacity()) {
+            int count = Math.min(batch.getCapacity(), starts[shard + 1] - start);
+            batch.setInputs(packed.getData(), start, count);
+            network.run(batch);
+            error += batch.setOutputErrors(measure, packed, start);
+            network.backpropagate(batch, gradient);
+        }
+        errors[shard] = error;
+    }
+
+    /**
+     * Sum the shards' gradients into the network's errors
+     * @param network the network
+     * @param from the first weight to sum
+     * @param to one past the last weight to sum
+     */
+    private void reduce(CompiledNetwork network, int from, int to) {
+        for (int s = 0; s < gradients.length; s++) {
+            network.addError(gradients[s], from, to);
+        }
+    }
+
+}
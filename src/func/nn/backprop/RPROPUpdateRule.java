@@ -77,4 +77,36 @@ public class RPROPUpdateRule extends WeightUpdateRule {
 		}
 	}
 
+	/**
+	 * @see func.nn.backprop.WeightUpdateRule#update(double[], double[], double[], double[], double[], int, int)
+	 */
+	public boolean update(double[] weights, double[] errors, double[] lastErrors,
+			double[] lastChanges, double[] learningRates, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (learningRates[i] == 0) {
+				learningRates[i] = initialLearningRate;
+			}
+			double sign = 0;
+			if (errors[i] < 0) {
+				sign = -1;
+			} else if (errors[i] > 0) {
+				sign = 1;
+			}
+			double change;
+			if (lastErrors[i] * errors[i] > 0) {
+				learningRates[i] = Math.min(learningRates[i] * INCREASE, maxLearningRate);
+				change = -sign * learningRates[i];
+			} else if (lastErrors[i] * errors[i] < 0) {
+				learningRates[i] = Math.max(learningRates[i] * DECREASE, minLearningRate);
+				errors[i] = 0;
+				change = -lastChanges[i];
+			} else {
+				change = -sign * learningRates[i];
+			}
+			weights[i] += change;
+			lastChanges[i] = change;
+		}
+		return true;
+	}
+
 }
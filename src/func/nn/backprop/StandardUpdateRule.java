@@ -42,4 +42,17 @@ public class StandardUpdateRule extends WeightUpdateRule {
             + link.getLastChange() * momentum);
     }
 
+    /**
+     * @see func.nn.backprop.WeightUpdateRule#update(double[], double[], double[], double[], double[], int, int)
+     */
+    public boolean update(double[] weights, double[] errors, double[] lastErrors,
+            double[] lastChanges, double[] learningRates, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double delta = -learningRate * errors[i] + lastChanges[i] * momentum;
+            weights[i] += delta;
+            lastChanges[i] = delta;
+        }
+        return true;
+    }
+
 }
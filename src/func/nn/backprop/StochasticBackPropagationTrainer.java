@@ -1,14 +1,31 @@
 package func.nn.backprop;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
 import shared.DataSet;
 import shared.GradientErrorMeasure;
 import shared.Instance;
 import shared.filt.RandomOrderFilter;
+import util.ParallelTasks;
 
 import func.nn.NetworkTrainer;
+import func.nn.compiled.CompiledNetwork;
 
 /**
- * A standard batch back propagation trainer
+ * A standard stochastic back propagation trainer.
+ * A compiled network may also be trained asynchronously, lock free,
+ * on several threads: each thread trains a copy of the network that
+ * shares its weights on its own part of the shuffled patterns, and
+ * writes its updates straight into the shared weights.  The copies
+ * skip the first layer weights of zero inputs, so on sparse inputs
+ * each update writes only the few weights of the inputs that are
+ * set and the upper layers.  Updates that race on a weight may be
+ * lost, which stochastic gradient descent tolerates as long as that
+ * is rare.  With one thread the trainer runs serially, densely, and
+ * is as repeatable as the plain trainer.
  * @author Andrew Guillory gtg008g@mail.gatech.edu
  * @version 1.0
  */
@@ -18,6 +35,16 @@ public class StochasticBackPropagationTrainer extends NetworkTrainer {
      * The weight update rule to use
      */
     private WeightUpdateRule rule;
+
+    /**
+     * The executor for asynchronous training, or null
+     */
+    private ExecutorService executor;
+
+    /**
+     * The copies of the network each thread trains
+     */
+    private CompiledNetwork[] copies;
     
     /**
      * Make a new back propagation trainer
@@ -33,20 +60,94 @@ public class StochasticBackPropagationTrainer extends NetworkTrainer {
         this.rule = rule;
     }
 
+    /**
+     * Make a new back propagation trainer
+     * @param patterns the patterns to train on
+     * @param network the compiled network to train
+     * @param errorMeasure the error measure to use
+     */
+    public StochasticBackPropagationTrainer(DataSet patterns, 
+            CompiledNetwork network, 
+            GradientErrorMeasure errorMeasure,
+            WeightUpdateRule rule) {
+        super(patterns, network, errorMeasure);
+        this.rule = rule;
+    }
+
+    /**
+     * Make a new asynchronous back propagation trainer
+     * @param patterns the patterns to train on
+     * @param network the compiled network to train
+     * @param errorMeasure the error measure to use
+     * @param rule the weight update rule
+     * @param threads the number of threads to train on,
+     * one to train serially
+     * @param executor the executor to train on, with at
+     * least as many threads, or null to train serially
+     */
+    public StochasticBackPropagationTrainer(DataSet patterns, 
+            CompiledNetwork network, 
+            GradientErrorMeasure errorMeasure,
+            WeightUpdateRule rule, int threads, ExecutorService executor) {
+        this(patterns, network, errorMeasure, rule);
+        if (threads > 1 && executor != null) {
+            this.executor = executor;
+            copies = new CompiledNetwork[threads];
+            for (int i = 0; i < threads; i++) {
+                copies[i] = network.createSharedCopy();
+                copies[i].setSparseInputs(true);
+            }
+        }
+    }
+
     /**
      * @see nn.Trainer#train()
      */
     public double train() {
-        BackPropagationNetwork network =
-            (BackPropagationNetwork) getNetwork();
-        GradientErrorMeasure measure =
-            (GradientErrorMeasure) getErrorMeasure();
-        DataSet patterns = getDataSet();
+        final DataSet patterns = getDataSet();
         RandomOrderFilter randomizer = new RandomOrderFilter();
         randomizer.filter(patterns);
+        if (executor == null) {
+            return train((TrainableNetwork) getNetwork(), patterns,
+                0, patterns.size()) / patterns.size();
+        }
+        final double[] errors = new double[copies.length];
+        List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+        for (int t = 0; t < copies.length; t++) {
+            final int thread = t;
+            final int start = (int) ((long) patterns.size() * t / copies.length);
+            final int end = (int) ((long) patterns.size() * (t + 1) / copies.length);
+            tasks.add(new Callable<Object>() {
+                public Object call() {
+                    errors[thread] = train(copies[thread], patterns, start, end);
+                    return null;
+                }
+            });
+        }
+        ParallelTasks.invokeAll(executor, tasks);
         double error = 0;
-        for (int i = 0; i < patterns.size(); i++) {
-            Instance pattern = patterns.get(i);
+        for (int t = 0; t < errors.length; t++) {
+            error += errors[t];
+        }
+        return error / patterns.size();
+    }
+
+    /**
+     * Train a network on a range of the patterns one at a time
+     * @param network the network
+     * @param patterns the patterns
+     * @param start the first pattern
+     * @param end one past the last pattern
+     * @return the summed error
+     */
+    private double train(TrainableNetwork network, DataSet patterns,
+            int start, int end) {
+        GradientErrorMeasure measure =
+            (GradientErrorMeasure) getErrorMeasure();
+        double error = 0;
+        Instance pattern = null;
+        for (int i = start; i < end; i++) {
+            pattern = patterns.get(i, pattern);
             network.setInputValues(pattern.getData());
             network.run();
             Instance output = new Instance(network.getOutputValues());
@@ -57,8 +158,7 @@ public class StochasticBackPropagationTrainer extends NetworkTrainer {
             network.updateWeights(rule);
             network.clearError();
         }
-        return error / patterns.size();
+        return error;
     }
-    
 
 }
@@ -0,0 +1,53 @@
+package func.nn.backprop;
+
+import util.linalg.Vector;
+
+/**
+ * A network that can be trained with back propagation,
+ * the operations the back propagation trainers need
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public interface TrainableNetwork {
+
+    /**
+     * Set the input values
+     * @param values the new values
+     */
+    public abstract void setInputValues(Vector values);
+
+    /**
+     * Run the network on the input values
+     */
+    public abstract void run();
+
+    /**
+     * Get the output values
+     * @return the output values
+     */
+    public abstract Vector getOutputValues();
+
+    /**
+     * Set the error gradients of the outputs
+     * @param errors the errors
+     */
+    public abstract void setOutputErrors(double[] errors);
+
+    /**
+     * Back propagate the output errors, adding
+     * the gradient to each weight's error
+     */
+    public abstract void backpropagate();
+
+    /**
+     * Update the weights from their errors
+     * @param rule the rule to update with
+     */
+    public abstract void updateWeights(WeightUpdateRule rule);
+
+    /**
+     * Clear the errors of the weights
+     */
+    public abstract void clearError();
+
+}
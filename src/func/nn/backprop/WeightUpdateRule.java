@@ -15,4 +15,24 @@ public abstract class WeightUpdateRule implements Serializable {
      */
     public abstract void update(BackPropagationLink link);
 
+    /**
+     * Update a range of weights whose state is kept in arrays
+     * indexed by weight, the way a compiled network keeps it, with
+     * the same results as updating each through a link.  Rules
+     * that do not override this return false and are then called
+     * a link at a time.
+     * @param weights the weights
+     * @param errors the error derivatives
+     * @param lastErrors the error derivatives of the last update
+     * @param lastChanges the changes of the last update
+     * @param learningRates the learning rates
+     * @param from the first weight to update
+     * @param to one past the last weight to update
+     * @return true if the weights were updated
+     */
+    public boolean update(double[] weights, double[] errors, double[] lastErrors,
+            double[] lastChanges, double[] learningRates, int from, int to) {
+        return false;
+    }
+
 }
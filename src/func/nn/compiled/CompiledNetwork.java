@@ -0,0 +1,901 @@
+package func.nn.compiled;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+import util.linalg.DenseVector;
+import util.linalg.Vector;
+import func.nn.Layer;
+import func.nn.LayeredNetwork;
+import func.nn.Link;
+import func.nn.NeuralNetwork;
+import func.nn.Neuron;
+import func.nn.activation.ActivationFunction;
+import func.nn.activation.DifferentiableActivationFunction;
+import func.nn.backprop.BackPropagationBiasNode;
+import func.nn.backprop.BackPropagationLink;
+import func.nn.backprop.BackPropagationSoftMaxOutputLayer;
+import func.nn.backprop.TrainableNetwork;
+import func.nn.backprop.WeightUpdateRule;
+import func.nn.feedfwd.FeedForwardBiasNode;
+import func.nn.feedfwd.FeedForwardNode;
+
+/**
+ * A fully connected layered network compiled down to flat arrays.
+ * The network built by the factories keeps a neuron object per
+ * node and a link object per weight, and running it chases those
+ * pointers one weight at a time.  Here the weights of each layer are
+ * a row major matrix in one shared array, with a row per node of the
+ * layer and a column per node of the layer before, so a forward pass
+ * is a matrix vector product per layer and back propagation is the
+ * transposed product plus an outer product for the gradient.
+ * The weights are laid out in exactly the order getLinks gives for
+ * the object network, including the links into the bias nodes of the
+ * hidden layers that never carry a value, so weight vectors move
+ * between the two freely and the outputs and gradients match.
+ * The per weight state the update rules keep lives in arrays too.
+ * Rules that can work on those arrays update whole layers in one
+ * loop, others see each weight through a reused link.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class CompiledNetwork extends NeuralNetwork implements TrainableNetwork {
+    /**
+     * The number of nodes in each layer, not counting bias nodes
+     */
+    private int[] sizes;
+
+    /**
+     * The number of rows of each layer's weight matrix, the
+     * nodes of the layer plus its bias node if it has one
+     */
+    private int[] rows;
+
+    /**
+     * The number of columns of each layer's weight matrix,
+     * the nodes of the layer before plus its bias node
+     */
+    private int[] columns;
+
+    /**
+     * Where each layer's weight matrix starts, layer 0
+     * is the input layer and has no weights
+     */
+    private int[] offsets;
+
+    /**
+     * The weights
+     */
+    private double[] weights;
+
+    /**
+     * The summed error gradient of each weight
+     */
+    private double[] errors;
+
+    /**
+     * The error gradient of each weight before the last clear
+     */
+    private double[] lastErrors;
+
+    /**
+     * The last change of each weight
+     */
+    private double[] lastChanges;
+
+    /**
+     * The learning rate of each weight
+     */
+    private double[] learningRates;
+
+    /**
+     * The activation functions of each layer, null for the input
+     */
+    private ActivationFunction[] functions;
+
+    /**
+     * Whether the output layer is a soft max layer
+     */
+    private boolean softMax;
+
+    /**
+     * The activations of each layer, each but
+     * the output ending in a bias of one
+     */
+    private double[][] activations;
+
+    /**
+     * The weighted input sums of each layer
+     */
+    private double[][] sums;
+
+    /**
+     * The input error of each node of each layer
+     */
+    private double[][] deltas;
+
+    /**
+     * The reused link the update rules see
+     */
+    private transient WeightLink link;
+
+    /**
+     * Whether the first layer only runs, back propagates and
+     * updates the weights of the inputs that are not zero
+     */
+    private boolean sparseInputs;
+
+    /**
+     * The indices of the inputs that are not zero followed by the
+     * bias, when the inputs are sparse
+     */
+    private int[] active;
+
+    /**
+     * The number of active inputs
+     */
+    private int activeCount;
+
+    /**
+     * Compile a layered network built by one of the network factories,
+     * the weights are copied and the two networks are independent after
+     * @param network the network to compile
+     */
+    public CompiledNetwork(LayeredNetwork network) {
+        int layerCount = network.getHiddenLayerCount() + 2;
+        sizes = new int[layerCount];
+        functions = new ActivationFunction[layerCount];
+        for (int l = 0; l < layerCount; l++) {
+            Layer layer = l == 0 ? network.getInputLayer()
+                : l == layerCount - 1 ? network.getOutputLayer()
+                : network.getHiddenLayer(l - 1);
+            boolean bias = l < layerCount - 1;
+            if (bias && !isBias(layer.getNode(layer.getNodeCount() - 1))) {
+                throw new IllegalArgumentException("Layer " + l + " has no bias node");
+            }
+            sizes[l] = layer.getNodeCount() - (bias ? 1 : 0);
+            if (l > 0) {
+                functions[l] = ((FeedForwardNode) layer.getNode(0)).getActivationFunction();
+            }
+        }
+        softMax = network.getOutputLayer() instanceof BackPropagationSoftMaxOutputLayer;
+        weights = new double[layout()];
+        double[] compiled = network.getWeights();
+        if (compiled.length != weights.length) {
+            throw new IllegalArgumentException("Expected a fully connected network with "
+                + weights.length + " weights but found " + compiled.length);
+        }
+        System.arraycopy(compiled, 0, weights, 0, weights.length);
+    }
+
+    /**
+     * Make a network that shares the weights of another
+     * @param shared the network whose weights to share
+     */
+    private CompiledNetwork(CompiledNetwork shared) {
+        sizes = shared.sizes;
+        functions = shared.functions;
+        softMax = shared.softMax;
+        layout();
+        weights = shared.weights;
+    }
+
+    /**
+     * Make a network that shares this network's weights but has its own
+     * working state and its own weight errors, changes and learning rates.
+     * Copies may be run and trained on different threads at once, with
+     * no locking, each seeing the others' changes to the weights as they
+     * happen to land, as in asynchronous stochastic gradient descent.
+     * @return the copy
+     */
+    public CompiledNetwork createSharedCopy() {
+        return new CompiledNetwork(this);
+    }
+
+    /**
+     * Whether a neuron is a bias node
+     * @param neuron the neuron
+     * @return true if it is
+     */
+    private static boolean isBias(Neuron neuron) {
+        return neuron instanceof FeedForwardBiasNode
+            || neuron instanceof BackPropagationBiasNode;
+    }
+
+    /**
+     * Lay out the working arrays and the per weight state from the
+     * layer sizes, leaving the weights to the caller since copies
+     * share them
+     * @return the number of weights
+     */
+    private int layout() {
+        int layerCount = sizes.length;
+        rows = new int[layerCount];
+        columns = new int[layerCount];
+        offsets = new int[layerCount];
+        activations = new double[layerCount][];
+        sums = new double[layerCount][];
+        deltas = new double[layerCount][];
+        int count = 0;
+        for (int l = 0; l < layerCount; l++) {
+            boolean bias = l < layerCount - 1;
+            activations[l] = new double[sizes[l] + (bias ? 1 : 0)];
+            if (bias) {
+                activations[l][sizes[l]] = 1;
+            }
+            if (l > 0) {
+                rows[l] = activations[l].length;
+                columns[l] = activations[l - 1].length;
+                offsets[l] = count;
+                count += rows[l] * columns[l];
+                sums[l] = new double[sizes[l]];
+                deltas[l] = new double[sizes[l]];
+            }
+        }
+        errors = new double[count];
+        lastErrors = new double[count];
+        lastChanges = new double[count];
+        learningRates = new double[count];
+        return count;
+    }
+
+    /**
+     * @see func.nn.NeuralNetwork#setInputValues(util.linalg.Vector)
+     */
+    public void setInputValues(Vector values) {
+        double[] input = activations[0];
+        for (int i = 0; i < values.size(); i++) {
+            input[i] = values.get(i);
+        }
+        if (sparseInputs) {
+            activeCount = 0;
+            for (int i = 0; i < input.length; i++) {
+                if (input[i] != 0) {
+                    active[activeCount++] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Set whether the inputs are mostly zero.  If they are, the first
+     * layer skips the weights of the zero inputs when running, back
+     * propagating, updating and clearing errors, so a pattern with k
+     * inputs set touches only k weights per first layer node.  The
+     * outputs and gradients are the same, but an update rule with
+     * memory, like momentum, leaves the skipped weights alone where
+     * it would otherwise keep moving them.
+     * @param sparseInputs whether to skip the zero inputs
+     */
+    public void setSparseInputs(boolean sparseInputs) {
+        this.sparseInputs = sparseInputs;
+        active = sparseInputs ? new int[activations[0].length] : null;
+        activeCount = 0;
+    }
+
+    /**
+     * @see func.nn.NeuralNetwork#getOutputValues()
+     */
+    public Vector getOutputValues() {
+        double[] output = activations[activations.length - 1];
+        return new DenseVector((double[]) output.clone());
+    }
+
+    /**
+     * Get the index of the output with the largest value
+     * @return the index
+     */
+    public int getDiscreteOutputValue() {
+        double[] output = activations[activations.length - 1];
+        int largest = 0;
+        for (int i = 1; i < output.length; i++) {
+            if (output[i] > output[largest]) {
+                largest = i;
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * Get the binary output value
+     * @return the binary output value
+     */
+    public boolean getBinaryOutputValue() {
+        return activations[activations.length - 1][0] > .5;
+    }
+
+    /**
+     * @see func.nn.NeuralNetwork#run()
+     */
+    public void run() {
+        int first = 1;
+        if (sparseInputs) {
+            runSparse();
+            first = 2;
+        }
+        for (int l = first; l < sizes.length; l++) {
+            double[] in = activations[l - 1];
+            double[] out = activations[l];
+            double[] sum = sums[l];
+            ActivationFunction function = functions[l];
+            int n = columns[l];
+            for (int j = 0, k = offsets[l]; j < sizes[l]; j++, k += n) {
+                double s = 0;
+                for (int i = 0; i < n; i++) {
+                    s += in[i] * weights[k + i];
+                }
+                sum[j] = s;
+                out[j] = function.value(s);
+            }
+        }
+        if (softMax) {
+            softMax(sums[sums.length - 1], 0, activations[activations.length - 1], 0,
+                sizes[sizes.length - 1]);
+        }
+    }
+
+    /**
+     * Run the first layer on the active inputs only
+     */
+    private void runSparse() {
+        double[] in = activations[0];
+        double[] out = activations[1];
+        double[] sum = sums[1];
+        ActivationFunction function = functions[1];
+        int n = columns[1];
+        for (int j = 0, k = offsets[1]; j < sizes[1]; j++, k += n) {
+            double s = 0;
+            for (int a = 0; a < activeCount; a++) {
+                int i = active[a];
+                s += in[i] * weights[k + i];
+            }
+            sum[j] = s;
+            out[j] = function.value(s);
+        }
+    }
+
+    /**
+     * Make a batch to run through this network
+     * @param capacity the largest number of patterns in the batch
+     * @return the batch
+     */
+    public NetworkBatch createBatch(int capacity) {
+        return new NetworkBatch(sizes, capacity);
+    }
+
+    /**
+     * Run the network on each of the loaded patterns of a batch,
+     * each layer's weight matrix is multiplied against the matrix
+     * of the batch's activations for the layer before
+     * @param batch the batch
+     */
+    public void run(NetworkBatch batch) {
+        run(batch, weights);
+    }
+
+    /**
+     * Run the network on each of the loaded patterns of a batch
+     * with other weights in place of this network's own.  This
+     * only reads the network, so batches may be run with different
+     * weights on several threads at once.
+     * @param batch the batch
+     * @param weights the weights, laid out as getWeights gives them
+     */
+    public void run(NetworkBatch batch, double[] weights) {
+        if (weights.length != this.weights.length) {
+            throw new IllegalArgumentException("Expected " + this.weights.length
+                + " weights but found " + weights.length);
+        }
+        int count = batch.getCount();
+        for (int l = 1; l < sizes.length; l++) {
+            double[] in = batch.getActivations(l - 1);
+            double[] out = batch.getActivations(l);
+            double[] sum = batch.getSums(l);
+            ActivationFunction function = functions[l];
+            int n = columns[l], m = sizes[l], width = rows[l];
+            multiplyTransposed(in, count, n, weights, offsets[l], m, sum);
+            for (int b = 0; b < count; b++) {
+                for (int j = 0; j < m; j++) {
+                    out[b * width + j] = function.value(sum[b * m + j]);
+                }
+            }
+        }
+        if (softMax) {
+            int l = sizes.length - 1, m = sizes[l];
+            for (int b = 0; b < count; b++) {
+                softMax(batch.getSums(l), b * m, batch.getActivations(l), b * m, m);
+            }
+        }
+    }
+
+    /**
+     * Replace the output activations with the soft max of the sums,
+     * shifted by the largest sum to keep the exponentials in range
+     * @param sum the weighted input sums
+     * @param sumOffset where the sums start
+     * @param out the activations
+     * @param outOffset where the activations start
+     * @param size the number of outputs
+     */
+    private static void softMax(double[] sum, int sumOffset, double[] out,
+            int outOffset, int size) {
+        double shift = sum[sumOffset];
+        for (int j = 0; j < size; j++) {
+            shift = Math.max(shift, sum[sumOffset + j]);
+        }
+        double total = 0;
+        for (int j = 0; j < size; j++) {
+            out[outOffset + j] = Math.exp(sum[sumOffset + j] - shift);
+            total += out[outOffset + j];
+        }
+        for (int j = 0; j < size; j++) {
+            out[outOffset + j] = out[outOffset + j] / total;
+        }
+    }
+
+    /**
+     * @see func.nn.backprop.TrainableNetwork#setOutputErrors(double[])
+     */
+    public void setOutputErrors(double[] outputErrors) {
+        System.arraycopy(outputErrors, 0, deltas[deltas.length - 1], 0,
+            sizes[sizes.length - 1]);
+    }
+
+    /**
+     * The output errors are taken as the input errors of the output
+     * nodes, as the object network does
+     * @see func.nn.backprop.TrainableNetwork#backpropagate()
+     */
+    public void backpropagate() {
+        for (int l = sizes.length - 1; l > 0; l--) {
+            double[] delta = deltas[l];
+            double[] in = activations[l - 1];
+            int n = columns[l];
+            // the gradient is the outer product of delta and the inputs
+            if (l == 1 && sparseInputs) {
+                for (int j = 0, k = offsets[l]; j < sizes[l]; j++, k += n) {
+                    double d = delta[j];
+                    for (int a = 0; a < activeCount; a++) {
+                        int i = active[a];
+                        errors[k + i] += in[i] * d;
+                    }
+                }
+            } else {
+                for (int j = 0, k = offsets[l]; j < sizes[l]; j++, k += n) {
+                    double d = delta[j];
+                    for (int i = 0; i < n; i++) {
+                        errors[k + i] += in[i] * d;
+                    }
+                }
+            }
+            if (l > 1) {
+                // pass the error back through the transposed weights
+                double[] below = deltas[l - 1];
+                double[] belowSum = sums[l - 1];
+                DifferentiableActivationFunction function =
+                    (DifferentiableActivationFunction) functions[l - 1];
+                for (int i = 0; i < below.length; i++) {
+                    double s = 0;
+                    for (int j = 0, k = offsets[l] + i; j < sizes[l]; j++, k += n) {
+                        s += delta[j] * weights[k];
+                    }
+                    below[i] = function.derivative(belowSum[i]) * s;
+                }
+            }
+        }
+    }
+
+    /**
+     * Back propagate the output errors of each loaded pattern of a
+     * batch, adding the gradient to each weight's error the same as
+     * back propagating the patterns one at a time in order would
+     * @param batch the batch, run and with its output errors set
+     */
+    public void backpropagate(NetworkBatch batch) {
+        backpropagate(batch, errors);
+    }
+
+    /**
+     * Back propagate the output errors of a batch into a separate
+     * gradient array laid out as the weights, leaving the errors
+     * of this network alone.  This only reads the network, so
+     * batches may be back propagated on several threads at once.
+     * @param batch the batch
+     * @param gradient the array to add the gradient to
+     */
+    public void backpropagate(NetworkBatch batch, double[] gradient) {
+        int count = batch.getCount();
+        for (int l = sizes.length - 1; l > 0; l--) {
+            double[] delta = batch.getDeltas(l);
+            double[] in = batch.getActivations(l - 1);
+            int n = columns[l], m = sizes[l];
+            // the gradient is the product of the transposed
+            // errors and the inputs
+            addTransposedProduct(delta, in, count, m, n, gradient, offsets[l]);
+            if (l > 1) {
+                // the errors below are the errors times the weights
+                double[] below = batch.getDeltas(l - 1);
+                double[] belowSum = batch.getSums(l - 1);
+                DifferentiableActivationFunction function =
+                    (DifferentiableActivationFunction) functions[l - 1];
+                int p = sizes[l - 1];
+                for (int b = 0, row = 0; b < count; b++, row += p) {
+                    Arrays.fill(below, row, row + p, 0);
+                    for (int j = 0, k = offsets[l]; j < m; j++, k += n) {
+                        double d = delta[b * m + j];
+                        for (int i = 0; i < p; i++) {
+                            below[row + i] += d * weights[k + i];
+                        }
+                    }
+                    for (int i = 0; i < p; i++) {
+                        below[row + i] = function.derivative(belowSum[row + i])
+                            * below[row + i];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Multiply a matrix by the transpose of a weight matrix,
+     * c = a w', each entry summed in column order as a matrix
+     * vector product would.  Blocks of two weight rows and four
+     * rows of a share their loads and keep eight sums in flight.
+     * @param a the left matrix, count by n
+     * @param count the number of rows of a
+     * @param n the number of columns of a and w
+     * @param w the array holding the weight matrix, m by n
+     * @param k where the weight matrix starts
+     * @param m the number of rows of w
+     * @param c the result, count by m
+     */
+    private static void multiplyTransposed(double[] a, int count, int n,
+            double[] w, int k, int m, double[] c) {
+        int j = 0;
+        for (; j + 2 <= m; j += 2) {
+            int k0 = k + j * n, k1 = k0 + n;
+            int b = 0;
+            for (; b + 4 <= count; b += 4) {
+                int a0 = b * n, a1 = a0 + n, a2 = a1 + n, a3 = a2 + n;
+                double s00 = 0, s01 = 0, s10 = 0, s11 = 0,
+                    s20 = 0, s21 = 0, s30 = 0, s31 = 0;
+                for (int i = 0; i < n; i++) {
+                    double w0 = w[k0 + i], w1 = w[k1 + i];
+                    double x0 = a[a0 + i], x1 = a[a1 + i],
+                        x2 = a[a2 + i], x3 = a[a3 + i];
+                    s00 += x0 * w0;
+                    s01 += x0 * w1;
+                    s10 += x1 * w0;
+                    s11 += x1 * w1;
+                    s20 += x2 * w0;
+                    s21 += x2 * w1;
+                    s30 += x3 * w0;
+                    s31 += x3 * w1;
+                }
+                int c0 = b * m + j;
+                c[c0] = s00;
+                c[c0 + 1] = s01;
+                c[c0 + m] = s10;
+                c[c0 + m + 1] = s11;
+                c[c0 + 2 * m] = s20;
+                c[c0 + 2 * m + 1] = s21;
+                c[c0 + 3 * m] = s30;
+                c[c0 + 3 * m + 1] = s31;
+            }
+            for (; b < count; b++) {
+                c[b * m + j] = dot(a, b * n, w, k0, n);
+                c[b * m + j + 1] = dot(a, b * n, w, k1, n);
+            }
+        }
+        for (; j < m; j++) {
+            for (int b = 0; b < count; b++) {
+                c[b * m + j] = dot(a, b * n, w, k + j * n, n);
+            }
+        }
+    }
+
+    /**
+     * Compute a dot product of two slices of arrays
+     * @param x the first array
+     * @param xi where the first slice starts
+     * @param y the second array
+     * @param yi where the second slice starts
+     * @param n the length of the slices
+     * @return the dot product
+     */
+    private static double dot(double[] x, int xi, double[] y, int yi, int n) {
+        double s = 0;
+        for (int i = 0; i < n; i++) {
+            s += x[xi + i] * y[yi + i];
+        }
+        return s;
+    }
+
+    /**
+     * Add the product of a transposed error matrix and an input
+     * matrix to a gradient matrix, g += d' a, each entry summed
+     * in row order as adding one outer product per row would.
+     * Blocks of two error columns and four input columns share
+     * their loads and keep eight sums in flight.
+     * @param d the errors, count by m
+     * @param a the inputs, count by n
+     * @param count the number of rows
+     * @param m the number of columns of d
+     * @param n the number of columns of a
+     * @param g the array holding the gradient matrix, m by n
+     * @param k where the gradient matrix starts
+     */
+    private static void addTransposedProduct(double[] d, double[] a, int count,
+            int m, int n, double[] g, int k) {
+        int j = 0;
+        for (; j + 2 <= m; j += 2) {
+            int k0 = k + j * n, k1 = k0 + n;
+            int i = 0;
+            for (; i + 4 <= n; i += 4) {
+                double g00 = g[k0 + i], g01 = g[k0 + i + 1],
+                    g02 = g[k0 + i + 2], g03 = g[k0 + i + 3],
+                    g10 = g[k1 + i], g11 = g[k1 + i + 1],
+                    g12 = g[k1 + i + 2], g13 = g[k1 + i + 3];
+                for (int b = 0, ai = i, di = j; b < count; b++, ai += n, di += m) {
+                    double d0 = d[di], d1 = d[di + 1];
+                    double x0 = a[ai], x1 = a[ai + 1], x2 = a[ai + 2], x3 = a[ai + 3];
+                    g00 += x0 * d0;
+                    g01 += x1 * d0;
+                    g02 += x2 * d0;
+                    g03 += x3 * d0;
+                    g10 += x0 * d1;
+                    g11 += x1 * d1;
+                    g12 += x2 * d1;
+                    g13 += x3 * d1;
+                }
+                g[k0 + i] = g00;
+                g[k0 + i + 1] = g01;
+                g[k0 + i + 2] = g02;
+                g[k0 + i + 3] = g03;
+                g[k1 + i] = g10;
+                g[k1 + i + 1] = g11;
+                g[k1 + i + 2] = g12;
+                g[k1 + i + 3] = g13;
+            }
+            for (; i < n; i++) {
+                double g0 = g[k0 + i], g1 = g[k1 + i];
+                for (int b = 0, ai = i, di = j; b < count; b++, ai += n, di += m) {
+                    g0 += a[ai] * d[di];
+                    g1 += a[ai] * d[di + 1];
+                }
+                g[k0 + i] = g0;
+                g[k1 + i] = g1;
+            }
+        }
+        for (; j < m; j++) {
+            int kj = k + j * n;
+            for (int i = 0; i < n; i++) {
+                double g0 = g[kj + i];
+                for (int b = 0, ai = i, di = j; b < count; b++, ai += n, di += m) {
+                    g0 += a[ai] * d[di];
+                }
+                g[kj + i] = g0;
+            }
+        }
+    }
+
+    /**
+     * Add part of a gradient to the errors of the weights
+     * @param gradient the gradient, laid out as the weights
+     * @param from the first weight to add to
+     * @param to one past the last weight to add to
+     */
+    public void addError(double[] gradient, int from, int to) {
+        for (int i = from; i < to; i++) {
+            errors[i] += gradient[i];
+        }
+    }
+
+    /**
+     * @see func.nn.backprop.TrainableNetwork#updateWeights(func.nn.backprop.WeightUpdateRule)
+     */
+    public void updateWeights(WeightUpdateRule rule) {
+        int from = 0;
+        if (sparseInputs) {
+            // only the active inputs' weights into the first layer's nodes
+            int n = columns[1];
+            for (int j = 0, k = offsets[1]; j < sizes[1]; j++, k += n) {
+                for (int a = 0; a < activeCount; a++) {
+                    updateWeights(rule, k + active[a], k + active[a] + 1);
+                }
+            }
+            from = offsets[1] + rows[1] * n;
+        }
+        updateWeights(rule, from, weights.length);
+    }
+
+    /**
+     * Update a range of the weights
+     * @param rule the update rule
+     * @param from the first weight to update
+     * @param to one past the last weight to update
+     */
+    private void updateWeights(WeightUpdateRule rule, int from, int to) {
+        if (rule.update(weights, errors, lastErrors, lastChanges, learningRates,
+                from, to)) {
+            return;
+        }
+        if (link == null) {
+            link = new WeightLink();
+        }
+        for (int i = from; i < to; i++) {
+            link.index = i;
+            rule.update(link);
+        }
+    }
+
+    /**
+     * @see func.nn.backprop.TrainableNetwork#clearError()
+     */
+    public void clearError() {
+        if (sparseInputs) {
+            // the skipped first layer weights have no error to clear
+            int n = columns[1];
+            for (int j = 0, k = offsets[1]; j < sizes[1]; j++, k += n) {
+                for (int a = 0; a < activeCount; a++) {
+                    int i = k + active[a];
+                    lastErrors[i] = errors[i];
+                    errors[i] = 0;
+                }
+            }
+            for (int i = offsets[1] + rows[1] * n; i < errors.length; i++) {
+                lastErrors[i] = errors[i];
+                errors[i] = 0;
+            }
+            return;
+        }
+        double[] swap = lastErrors;
+        lastErrors = errors;
+        errors = swap;
+        Arrays.fill(errors, 0);
+    }
+
+    /**
+     * Get views of the weights as links, in the same order as the
+     * object network, the views read and write this network
+     * @see func.nn.NeuralNetwork#getLinks()
+     */
+    public List getLinks() {
+        return new AbstractList() {
+            public Object get(int i) {
+                WeightLink view = new WeightLink();
+                view.index = i;
+                return view;
+            }
+            public int size() {
+                return weights.length;
+            }
+        };
+    }
+
+    /**
+     * @see func.nn.NeuralNetwork#getWeights()
+     */
+    public double[] getWeights() {
+        return (double[]) weights.clone();
+    }
+
+    /**
+     * @see func.nn.NeuralNetwork#setWeights(double[])
+     */
+    public void setWeights(double[] w) {
+        System.arraycopy(w, 0, weights, 0, w.length);
+    }
+
+    /**
+     * @see func.nn.NeuralNetwork#setWeights(util.linalg.Vector)
+     */
+    public void setWeights(Vector w) {
+        if (w instanceof DenseVector) {
+            setWeights(((DenseVector) w).getData());
+            return;
+        }
+        for (int i = 0; i < w.size(); i++) {
+            weights[i] = w.get(i);
+        }
+    }
+
+    /**
+     * Get the number of weights
+     * @return the number of weights
+     */
+    public int getWeightCount() {
+        return weights.length;
+    }
+
+    /**
+     * A link that reads and writes one weight's slot in the arrays
+     */
+    private class WeightLink extends BackPropagationLink {
+        /**
+         * The index of the weight
+         */
+        private int index;
+
+        /**
+         * @see func.nn.Link#getWeight()
+         */
+        public double getWeight() {
+            return weights[index];
+        }
+
+        /**
+         * @see func.nn.Link#setWeight(double)
+         */
+        public void setWeight(double d) {
+            weights[index] = d;
+        }
+
+        /**
+         * @see func.nn.backprop.BackPropagationLink#changeWeight(double)
+         */
+        public void changeWeight(double delta) {
+            weights[index] += delta;
+            lastChanges[index] = delta;
+        }
+
+        /**
+         * @see func.nn.backprop.BackPropagationLink#addError(double)
+         */
+        public void addError(double error) {
+            errors[index] += error;
+        }
+
+        /**
+         * @see func.nn.backprop.BackPropagationLink#clearError()
+         */
+        public void clearError() {
+            lastErrors[index] = errors[index];
+            errors[index] = 0;
+        }
+
+        /**
+         * @see func.nn.backprop.BackPropagationLink#getError()
+         */
+        public double getError() {
+            return errors[index];
+        }
+
+        /**
+         * @see func.nn.backprop.BackPropagationLink#setError(double)
+         */
+        public void setError(double error) {
+            errors[index] = error;
+        }
+
+        /**
+         * @see func.nn.backprop.BackPropagationLink#getLastChange()
+         */
+        public double getLastChange() {
+            return lastChanges[index];
+        }
+
+        /**
+         * @see func.nn.backprop.BackPropagationLink#getLastError()
+         */
+        public double getLastError() {
+            return lastErrors[index];
+        }
+
+        /**
+         * @see func.nn.backprop.BackPropagationLink#setLearningRate(double)
+         */
+        public void setLearningRate(double learningRate) {
+            learningRates[index] = learningRate;
+        }
+
+        /**
+         * @see func.nn.backprop.BackPropagationLink#getLearningRate()
+         */
+        public double getLearningRate() {
+            return learningRates[index];
+        }
+    }
+
+}
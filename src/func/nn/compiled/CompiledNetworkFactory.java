@@ -0,0 +1,67 @@
+package func.nn.compiled;
+
+import func.nn.activation.DifferentiableActivationFunction;
+import func.nn.backprop.BackPropagationNetworkFactory;
+
+/**
+ * A multi layer perceptron factory for compiled networks,
+ * the networks are laid out the same as the ones the
+ * back propagation factory builds
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class CompiledNetworkFactory {
+
+    /**
+     * The factory that builds the networks to compile
+     */
+    private BackPropagationNetworkFactory factory =
+        new BackPropagationNetworkFactory();
+
+    /**
+     * Create a multilayer perceptron
+     * @param nodeCounts the number of nodes in each layer
+     * @param transfer the transfer function
+     * @return a multilayer perceptron with nodeCounts.length layers
+     */
+    public CompiledNetwork createRegressionNetwork(int[] nodeCounts,
+            DifferentiableActivationFunction transfer) {
+        return new CompiledNetwork(
+            factory.createRegressionNetwork(nodeCounts, transfer));
+    }
+
+    /**
+     * Create a multilayer perceptron
+     * @param nodeCounts the number of nodes in each layer
+     * @return a multilayer perceptron with nodeCounts.length layers
+     */
+    public CompiledNetwork createRegressionNetwork(int[] nodeCounts) {
+        return new CompiledNetwork(
+            factory.createRegressionNetwork(nodeCounts));
+    }
+
+    /**
+     * Create a multilayer perceptron
+     * with a softmax output layer
+     * @param nodeCounts the number of nodes in each layer
+     * @param transfer the transfer function
+     * @return a multilayer perceptron with nodeCounts.length layers
+     */
+    public CompiledNetwork createClassificationNetwork(int[] nodeCounts,
+            DifferentiableActivationFunction transfer) {
+        return new CompiledNetwork(
+            factory.createClassificationNetwork(nodeCounts, transfer));
+    }
+
+    /**
+     * Create a multilayer perceptron
+     * with a softmax output layer
+     * @param nodeCounts the number of nodes in each layer
+     * @return a multilayer perceptron with nodeCounts.length layers
+     */
+    public CompiledNetwork createClassificationNetwork(int[] nodeCounts) {
+        return new CompiledNetwork(
+            factory.createClassificationNetwork(nodeCounts));
+    }
+
+}
@@ -0,0 +1,226 @@
+package func.nn.compiled;
+
+import shared.BatchGradientErrorMeasure;
+import shared.ColumnarDataSet;
+import shared.ErrorMeasure;
+import shared.GradientErrorMeasure;
+import shared.Instance;
+import util.linalg.StridedVector;
+
+/**
+ * The working state of a compiled network run on a batch of
+ * patterns at once.  Each layer's activations, weighted sums
+ * and errors are matrices with a row per pattern, so a batch
+ * passes through a layer as one matrix product.  The weights
+ * stay in the network, so several batches may be run against
+ * the same network as long as the weights are not changing.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class NetworkBatch {
+    /**
+     * The activations of each layer, row major,
+     * each row but the output's ending in a bias of one
+     */
+    private double[][] activations;
+
+    /**
+     * The weighted input sums of each layer, row major
+     */
+    private double[][] sums;
+
+    /**
+     * The input errors of each layer, row major
+     */
+    private double[][] deltas;
+
+    /**
+     * The width of each activation row
+     */
+    private int[] widths;
+
+    /**
+     * The number of nodes in each layer
+     */
+    private int[] sizes;
+
+    /**
+     * The largest number of patterns
+     */
+    private int capacity;
+
+    /**
+     * The number of patterns loaded
+     */
+    private int count;
+
+    /**
+     * Make a new batch
+     * @param sizes the number of nodes in each layer
+     * @param capacity the largest number of patterns
+     */
+    NetworkBatch(int[] sizes, int capacity) {
+        this.sizes = sizes;
+        this.capacity = capacity;
+        int layerCount = sizes.length;
+        widths = new int[layerCount];
+        activations = new double[layerCount][];
+        sums = new double[layerCount][];
+        deltas = new double[layerCount][];
+        for (int l = 0; l < layerCount; l++) {
+            boolean bias = l < layerCount - 1;
+            widths[l] = sizes[l] + (bias ? 1 : 0);
+            activations[l] = new double[capacity * widths[l]];
+            if (bias) {
+                for (int b = 0; b < capacity; b++) {
+                    activations[l][b * widths[l] + sizes[l]] = 1;
+                }
+            }
+            if (l > 0) {
+                sums[l] = new double[capacity * sizes[l]];
+                deltas[l] = new double[capacity * sizes[l]];
+            }
+        }
+    }
+
+    /**
+     * Load the inputs of a batch of patterns
+     * @param data the inputs of all of the patterns, row major
+     * @param start the first pattern to load
+     * @param count the number of patterns to load
+     */
+    public void setInputs(double[] data, int start, int count) {
+        if (count > capacity) {
+            throw new IllegalArgumentException("Batch of " + count
+                + " is larger than the capacity " + capacity);
+        }
+        this.count = count;
+        int n = sizes[0], width = widths[0];
+        double[] input = activations[0];
+        for (int b = 0; b < count; b++) {
+            System.arraycopy(data, (start + b) * n, input, b * width, n);
+        }
+    }
+
+    /**
+     * Get the outputs after a run, row major
+     * with a row for each loaded pattern
+     * @return the outputs
+     */
+    public double[] getOutputs() {
+        return activations[activations.length - 1];
+    }
+
+    /**
+     * Get the output errors to fill in before back propagating,
+     * in the same layout as the outputs
+     * @return the output errors
+     */
+    public double[] getOutputErrors() {
+        return deltas[deltas.length - 1];
+    }
+
+    /**
+     * Fill in the output errors from the outputs of a run, measures
+     * that can work on a whole batch do so straight from the arrays
+     * @param measure the error measure
+     * @param patterns the patterns
+     * @param start the pattern the first row of the batch is for
+     * @return the summed error of the batch
+     */
+    public double setOutputErrors(GradientErrorMeasure measure,
+            ColumnarDataSet patterns, int start) {
+        double[] outputs = getOutputs();
+        double[] errors = getOutputErrors();
+        int size = getOutputCount();
+        if (measure instanceof BatchGradientErrorMeasure) {
+            return ((BatchGradientErrorMeasure) measure).gradient(outputs,
+                patterns.getLabels(), patterns.getWeights(), start, count, size, errors);
+        }
+        double error = 0;
+        for (int b = 0; b < count; b++) {
+            Instance output = new Instance(new StridedVector(outputs, b * size, size));
+            Instance pattern = patterns.get(start + b);
+            double[] gradient = measure.gradient(output, pattern);
+            error += measure.value(output, pattern);
+            System.arraycopy(gradient, 0, errors, b * size, size);
+        }
+        return error;
+    }
+
+    /**
+     * Measure the error of the outputs of a run
+     * @param measure the error measure
+     * @param patterns the patterns
+     * @param start the pattern the first row of the batch is for
+     * @return the summed error of the batch
+     */
+    public double getError(ErrorMeasure measure, ColumnarDataSet patterns, int start) {
+        double[] outputs = getOutputs();
+        int size = getOutputCount();
+        if (measure instanceof BatchGradientErrorMeasure) {
+            // the output errors are scratch space until back propagation
+            return ((BatchGradientErrorMeasure) measure).gradient(outputs,
+                patterns.getLabels(), patterns.getWeights(), start, count, size,
+                getOutputErrors());
+        }
+        double error = 0;
+        for (int b = 0; b < count; b++) {
+            Instance output = new Instance(new StridedVector(outputs, b * size, size));
+            error += measure.value(output, patterns.get(start + b));
+        }
+        return error;
+    }
+
+    /**
+     * Get the number of outputs per pattern
+     * @return the number of outputs
+     */
+    public int getOutputCount() {
+        return sizes[sizes.length - 1];
+    }
+
+    /**
+     * Get the number of patterns loaded
+     * @return the count
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Get the largest number of patterns
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Get the activations of a layer
+     * @param l the layer
+     * @return the activations
+     */
+    double[] getActivations(int l) {
+        return activations[l];
+    }
+
+    /**
+     * Get the weighted sums of a layer
+     * @param l the layer
+     * @return the sums
+     */
+    double[] getSums(int l) {
+        return sums[l];
+    }
+
+    /**
+     * Get the input errors of a layer
+     * @param l the layer
+     * @return the errors
+     */
+    double[] getDeltas(int l) {
+        return deltas[l];
+    }
+
+}
@@ -376,8 +376,8 @@ public class SequentialMinimalOptimization implements Trainer {
         
         // update the linear vector if needed
         if (w != null) {
-            w = examples.get(i).getData().times(ti).plus(w);
-            w = examples.get(j).getData().times(tj).plus(w);          
+            w.plusEquals(examples.get(i).getData().times(ti));
+            w.plusEquals(examples.get(j).getData().times(tj));
         }
         
         // update the error cache
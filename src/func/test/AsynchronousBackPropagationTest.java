@@ -0,0 +1,119 @@
+package func.test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import dist.Distribution;
+import shared.DataSet;
+import shared.Instance;
+import shared.SumOfSquaresError;
+import shared.Trainer;
+import func.nn.backprop.StandardUpdateRule;
+import func.nn.backprop.StochasticBackPropagationTrainer;
+import func.nn.compiled.CompiledNetwork;
+import func.nn.compiled.CompiledNetworkFactory;
+
+/**
+ * Checks that the asynchronous stochastic trainer on one thread
+ * repeats the plain trainer exactly, and compares the throughput of
+ * dense training on one thread with training that skips the zero
+ * inputs, on one thread and lock free on several
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class AsynchronousBackPropagationTest {
+    /**
+     * The number of inputs
+     */
+    private static final int INPUTS = 100;
+
+    /**
+     * The number of passes
+     */
+    private static final int PASSES = 10;
+
+    /**
+     * Run a trainer for some passes from a fixed seed
+     * @param trainer the trainer
+     * @return the error of the last pass
+     */
+    private static double train(Trainer trainer) {
+        Distribution.random.setSeed(3);
+        double error = 0;
+        for (int i = 0; i < PASSES; i++) {
+            error = trainer.train();
+        }
+        return error;
+    }
+
+    /**
+     * The test main
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        Random random = new Random(9);
+        Instance[] patterns = new Instance[10000];
+        for (int i = 0; i < patterns.length; i++) {
+            // a few of the inputs are on for each pattern
+            double[] x = new double[INPUTS];
+            double y = 0;
+            for (int j = 0; j < 5; j++) {
+                int k = random.nextInt(INPUTS);
+                x[k] = 1;
+                y += k % 2 == 0 ? .1 : -.1;
+            }
+            patterns[i] = new Instance(x);
+            patterns[i].setLabel(new Instance(new double[] { y }));
+        }
+        CompiledNetworkFactory factory = new CompiledNetworkFactory();
+        int[] nodeCounts = { INPUTS, 20, 1 };
+        CompiledNetwork original = factory.createRegressionNetwork(nodeCounts);
+
+        CompiledNetwork a = factory.createRegressionNetwork(nodeCounts);
+        CompiledNetwork b = factory.createRegressionNetwork(nodeCounts);
+        a.setWeights(original.getWeights());
+        b.setWeights(original.getWeights());
+        double plainError = train(new StochasticBackPropagationTrainer(
+            new DataSet((Instance[]) patterns.clone()), a,
+            new SumOfSquaresError(), new StandardUpdateRule(.01, .5)));
+        double serialError = train(new StochasticBackPropagationTrainer(
+            new DataSet((Instance[]) patterns.clone()), b,
+            new SumOfSquaresError(), new StandardUpdateRule(.01, .5), 1, null));
+        System.out.println("One thread: error " + plainError + " / " + serialError
+            + ", same weights " + Arrays.equals(a.getWeights(), b.getWeights()));
+
+        // throughput after a warm up pass, against dense training on one thread
+        System.out.println(Runtime.getRuntime().availableProcessors() + " processors");
+        double dense = 0;
+        for (int threads = 0; threads <= 4; threads = Math.max(1, threads * 2)) {
+            ExecutorService executor = threads > 1
+                ? Executors.newFixedThreadPool(threads) : null;
+            CompiledNetwork network = factory.createRegressionNetwork(nodeCounts);
+            network.setWeights(original.getWeights());
+            // the asynchronous copies skip zero inputs, do the same on one thread
+            network.setSparseInputs(threads > 0);
+            Trainer trainer = new StochasticBackPropagationTrainer(
+                new DataSet((Instance[]) patterns.clone()), network,
+                new SumOfSquaresError(), new StandardUpdateRule(.01, .5),
+                Math.max(1, threads), executor);
+            for (int i = 0; i < 3; i++) {
+                trainer.train();
+            }
+            long start = System.nanoTime();
+            double error = train(trainer);
+            double rate = (double) PASSES * patterns.length * 1e9
+                / (System.nanoTime() - start);
+            if (threads == 0) {
+                dense = rate;
+            }
+            System.out.println((threads == 0 ? "dense, 1" : "sparse, " + threads)
+                + " threads: error " + error + ", " + (int) rate
+                + " patterns / s, " + rate / dense + "x dense");
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+    }
+}
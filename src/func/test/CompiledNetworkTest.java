@@ -0,0 +1,140 @@
+package func.test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import dist.Distribution;
+import shared.DataSet;
+import shared.Instance;
+import shared.SumOfSquaresError;
+import shared.Trainer;
+import func.nn.backprop.BackPropagationNetwork;
+import func.nn.backprop.BackPropagationNetworkFactory;
+import func.nn.backprop.BatchBackPropagationTrainer;
+import func.nn.backprop.RPROPUpdateRule;
+import func.nn.backprop.StochasticBackPropagationTrainer;
+import func.nn.backprop.StandardUpdateRule;
+import func.nn.compiled.CompiledNetwork;
+
+/**
+ * Checks that a compiled network computes and trains
+ * exactly as the network it was compiled from, and
+ * compares the time to train each
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class CompiledNetworkTest {
+    /**
+     * The number of inputs
+     */
+    private static final int INPUTS = 20;
+
+    /**
+     * The number of patterns
+     */
+    private static final int PATTERNS = 500;
+
+    /**
+     * Make a random data set
+     * @param random the random number generator
+     * @param outputs the number of outputs
+     * @param classes whether the labels are one of n classes
+     * @return the data set
+     */
+    private static DataSet makeData(Random random, int outputs, boolean classes) {
+        Instance[] patterns = new Instance[PATTERNS];
+        for (int i = 0; i < patterns.length; i++) {
+            double[] x = new double[INPUTS];
+            for (int j = 0; j < x.length; j++) {
+                x[j] = random.nextGaussian();
+            }
+            double[] y = new double[outputs];
+            if (classes && outputs == 1) {
+                y[0] = x[0] * x[1] > 0 ? 1 : 0;
+            } else if (classes) {
+                y[random.nextInt(outputs)] = 1;
+            } else {
+                for (int j = 0; j < y.length; j++) {
+                    y[j] = Math.sin(x[j] + x[j + 1]);
+                }
+            }
+            patterns[i] = new Instance(x);
+            patterns[i].setLabel(new Instance(y));
+        }
+        return new DataSet(patterns);
+    }
+
+    /**
+     * Train a network and its compilation side by side
+     * @param name the name of the test
+     * @param network the network
+     * @param set the data set
+     * @param stochastic whether to train stochastically
+     * @param iterations the number of iterations
+     */
+    private static void compare(String name, BackPropagationNetwork network,
+            DataSet set, boolean stochastic, int iterations) {
+        CompiledNetwork compiled = new CompiledNetwork(network);
+        // the stochastic trainer shuffles its data set in place
+        DataSet copy = new DataSet((Instance[]) set.getInstances().clone());
+        Trainer objects, arrays;
+        if (stochastic) {
+            objects = new StochasticBackPropagationTrainer(set, network,
+                new SumOfSquaresError(), new StandardUpdateRule(.001, .5));
+            arrays = new StochasticBackPropagationTrainer(copy, compiled,
+                new SumOfSquaresError(), new StandardUpdateRule(.001, .5));
+        } else {
+            objects = new BatchBackPropagationTrainer(set, network,
+                new SumOfSquaresError(), new RPROPUpdateRule());
+            arrays = new BatchBackPropagationTrainer(set, compiled,
+                new SumOfSquaresError(), new RPROPUpdateRule());
+        }
+        long objectTime = 0, arrayTime = 0;
+        double objectError = 0, arrayError = 0;
+        for (int i = 0; i < iterations; i++) {
+            Distribution.random.setSeed(i);
+            long start = System.nanoTime();
+            objectError = objects.train();
+            objectTime += System.nanoTime() - start;
+            Distribution.random.setSeed(i);
+            start = System.nanoTime();
+            arrayError = arrays.train();
+            arrayTime += System.nanoTime() - start;
+        }
+        boolean same = objectError == arrayError
+            && Arrays.equals(network.getWeights(), compiled.getWeights());
+        for (int i = 0; i < set.size() && same; i++) {
+            network.setInputValues(set.get(i).getData());
+            network.run();
+            compiled.setInputValues(set.get(i).getData());
+            compiled.run();
+            same = network.getOutputValues().equals(compiled.getOutputValues());
+        }
+        System.out.println(name + ": " + compiled.getWeightCount() + " weights, error "
+            + objectError + " / " + arrayError + ", identical " + same);
+        System.out.println("  object network " + objectTime / 1000000 + " ms, compiled "
+            + arrayTime / 1000000 + " ms, speedup "
+            + Math.round(10.0 * objectTime / arrayTime) / 10.0 + "x");
+    }
+
+    /**
+     * The test main
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        Random random = new Random(7);
+        BackPropagationNetworkFactory factory = new BackPropagationNetworkFactory();
+        compare("regression batch rprop",
+            factory.createRegressionNetwork(new int[] { INPUTS, 30, 15, 5 }),
+            makeData(random, 5, false), false, 100);
+        compare("regression stochastic",
+            factory.createRegressionNetwork(new int[] { INPUTS, 30, 5 }),
+            makeData(random, 5, false), true, 20);
+        compare("softmax classification batch rprop",
+            factory.createClassificationNetwork(new int[] { INPUTS, 40, 4 }),
+            makeData(random, 4, true), false, 100);
+        compare("logistic classification batch rprop",
+            factory.createClassificationNetwork(new int[] { INPUTS, 10, 1 }),
+            makeData(random, 1, true), false, 100);
+    }
+}
@@ -0,0 +1,116 @@
+package func.test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import shared.DataSet;
+import shared.Instance;
+import shared.SumOfSquaresError;
+import shared.Trainer;
+import func.nn.backprop.BatchBackPropagationTrainer;
+import func.nn.backprop.MiniBatchBackPropagationTrainer;
+import func.nn.backprop.RPROPUpdateRule;
+import func.nn.backprop.StandardUpdateRule;
+import func.nn.compiled.CompiledNetwork;
+import func.nn.compiled.CompiledNetworkFactory;
+
+/**
+ * Checks that a mini batch as large as the data set trains
+ * exactly as the batch trainer, then compares the time per
+ * pass of the two and trains with small batches
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class MiniBatchBackPropagationTest {
+    /**
+     * The number of inputs
+     */
+    private static final int INPUTS = 50;
+
+    /**
+     * The number of outputs
+     */
+    private static final int OUTPUTS = 10;
+
+    /**
+     * The number of patterns
+     */
+    private static final int PATTERNS = 2000;
+
+    /**
+     * Time some passes of a trainer
+     * @param trainer the trainer
+     * @param iterations the number of passes
+     * @return the milliseconds taken
+     */
+    private static long time(Trainer trainer, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            trainer.train();
+        }
+        return (System.nanoTime() - start) / 1000000;
+    }
+
+    /**
+     * The test main
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        Random random = new Random(11);
+        Instance[] patterns = new Instance[PATTERNS];
+        for (int i = 0; i < patterns.length; i++) {
+            double[] x = new double[INPUTS];
+            for (int j = 0; j < x.length; j++) {
+                x[j] = random.nextGaussian();
+            }
+            double[] y = new double[OUTPUTS];
+            for (int j = 0; j < y.length; j++) {
+                y[j] = Math.tanh(x[j] - x[j + OUTPUTS] * x[j + 2 * OUTPUTS]);
+            }
+            patterns[i] = new Instance(x);
+            patterns[i].setLabel(new Instance(y));
+        }
+        DataSet set = new DataSet(patterns);
+        CompiledNetworkFactory factory = new CompiledNetworkFactory();
+        int[] nodeCounts = { INPUTS, 100, OUTPUTS };
+
+        CompiledNetwork a = factory.createRegressionNetwork(nodeCounts);
+        double[] initial = a.getWeights();
+        CompiledNetwork b = factory.createRegressionNetwork(nodeCounts);
+        b.setWeights(initial);
+        Trainer single = new BatchBackPropagationTrainer(set, a,
+            new SumOfSquaresError(), new RPROPUpdateRule());
+        Trainer batched = new MiniBatchBackPropagationTrainer(set, b,
+            new SumOfSquaresError(), new RPROPUpdateRule(), PATTERNS);
+        double singleError = 0, batchedError = 0;
+        for (int i = 0; i < 5; i++) {
+            singleError = single.train();
+            batchedError = batched.train();
+        }
+        System.out.println("Full batch error " + singleError + " / " + batchedError
+            + ", identical "
+            + (singleError == batchedError && Arrays.equals(a.getWeights(), b.getWeights())));
+
+        long singleTime = time(single, 20);
+        long batchedTime = time(batched, 20);
+        System.out.println("Pattern at a time " + singleTime + " ms, batched "
+            + batchedTime + " ms, speedup "
+            + Math.round(10.0 * singleTime / batchedTime) / 10.0 + "x");
+
+        int[] batchSizes = { 1, 32, 256 };
+        for (int i = 0; i < batchSizes.length; i++) {
+            CompiledNetwork network = factory.createRegressionNetwork(nodeCounts);
+            network.setWeights(initial);
+            Trainer trainer = new MiniBatchBackPropagationTrainer(set, network,
+                new SumOfSquaresError(), new StandardUpdateRule(.002 / batchSizes[i], .9),
+                batchSizes[i]);
+            double error = 0;
+            long start = System.nanoTime();
+            for (int j = 0; j < 20; j++) {
+                error = trainer.train();
+            }
+            System.out.println("Batch size " + batchSizes[i] + ": error " + error
+                + " after 20 passes in " + (System.nanoTime() - start) / 1000000 + " ms");
+        }
+    }
+}
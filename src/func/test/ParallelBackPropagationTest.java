@@ -0,0 +1,117 @@
+package func.test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import shared.DataSet;
+import shared.Instance;
+import shared.SumOfSquaresError;
+import shared.Trainer;
+import func.nn.backprop.BatchBackPropagationTrainer;
+import func.nn.backprop.ParallelBackPropagationTrainer;
+import func.nn.backprop.QuickpropUpdateRule;
+import func.nn.backprop.RPROPUpdateRule;
+import func.nn.compiled.CompiledNetwork;
+import func.nn.compiled.CompiledNetworkFactory;
+
+/**
+ * Checks that the parallel trainer with one shard trains exactly as
+ * the batch trainer, that its result does not depend on the threads,
+ * and times a pass over a larger data set with more threads
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class ParallelBackPropagationTest {
+    /**
+     * The number of inputs
+     */
+    private static final int INPUTS = 20;
+
+    /**
+     * Make a random classification data set
+     * @param random the random number generator
+     * @param size the number of patterns
+     * @return the data set
+     */
+    private static DataSet makeData(Random random, int size) {
+        Instance[] patterns = new Instance[size];
+        for (int i = 0; i < patterns.length; i++) {
+            double[] x = new double[INPUTS];
+            for (int j = 0; j < x.length; j++) {
+                x[j] = random.nextGaussian();
+            }
+            double[] y = new double[3];
+            y[x[0] * x[1] > 0 ? 0 : x[2] > 0 ? 1 : 2] = 1;
+            patterns[i] = new Instance(x);
+            patterns[i].setLabel(new Instance(y));
+        }
+        return new DataSet(patterns);
+    }
+
+    /**
+     * Run a trainer for some passes
+     * @param trainer the trainer
+     * @param iterations the number of passes
+     * @return the error of the last pass
+     */
+    private static double train(Trainer trainer, int iterations) {
+        double error = 0;
+        for (int i = 0; i < iterations; i++) {
+            error = trainer.train();
+        }
+        return error;
+    }
+
+    /**
+     * The test main
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        Random random = new Random(5);
+        CompiledNetworkFactory factory = new CompiledNetworkFactory();
+        int[] nodeCounts = { INPUTS, 30, 3 };
+        DataSet small = makeData(random, 1000);
+        CompiledNetwork original = factory.createClassificationNetwork(nodeCounts);
+
+        CompiledNetwork a = factory.createClassificationNetwork(nodeCounts);
+        CompiledNetwork b = factory.createClassificationNetwork(nodeCounts);
+        a.setWeights(original.getWeights());
+        b.setWeights(original.getWeights());
+        double batchError = train(new BatchBackPropagationTrainer(small, a,
+            new SumOfSquaresError(), new RPROPUpdateRule()), 20);
+        double shardError = train(new ParallelBackPropagationTrainer(small, b,
+            new SumOfSquaresError(), new RPROPUpdateRule(), 1, null), 20);
+        System.out.println("One shard: error " + batchError + " / " + shardError
+            + ", same weights " + Arrays.equals(a.getWeights(), b.getWeights()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        a.setWeights(original.getWeights());
+        b.setWeights(original.getWeights());
+        double serialError = train(new ParallelBackPropagationTrainer(small, a,
+            new SumOfSquaresError(), new QuickpropUpdateRule(.0005), 8, null), 10);
+        double threadedError = train(new ParallelBackPropagationTrainer(small, b,
+            new SumOfSquaresError(), new QuickpropUpdateRule(.0005), 8, executor), 10);
+        System.out.println("Eight shards quickprop: error " + serialError + " / "
+            + threadedError + ", same weights "
+            + Arrays.equals(a.getWeights(), b.getWeights()));
+        executor.shutdown();
+
+        DataSet large = makeData(random, 100000);
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= Math.max(4, processors); threads *= 2) {
+            executor = Executors.newFixedThreadPool(threads);
+            CompiledNetwork network = factory.createClassificationNetwork(nodeCounts);
+            network.setWeights(original.getWeights());
+            Trainer trainer = new ParallelBackPropagationTrainer(large, network,
+                new SumOfSquaresError(), new RPROPUpdateRule(), threads, executor);
+            trainer.train();
+            long start = System.nanoTime();
+            double error = train(trainer, 5);
+            System.out.println(threads + " threads on " + processors + " processors: "
+                + (System.nanoTime() - start) / 5000000 + " ms per pass, error " + error);
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package opt;
+
+import shared.Instance;
+
+/**
+ * An optimization problem that can score many instances
+ * together faster than one at a time
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public interface BatchOptimizationProblem extends OptimizationProblem {
+
+    /**
+     * Evaluate some of the instances, giving each the same value
+     * as the value method would.  This may be called from several
+     * threads at once on disjoint ranges of the indices.
+     * @param instances the instances
+     * @param values the values to fill in
+     * @param indices the indices of the instances to evaluate
+     * @param start the first index to use (inclusive)
+     * @param end the last index to use (exclusive)
+     */
+    public abstract void value(Instance[] instances, double[] values,
+        int[] indices, int start, int end);
+
+}
@@ -0,0 +1,160 @@
+package opt;
+
+import shared.Trainer;
+
+/**
+ * A trainer that trains an optimization algorithm until it has
+ * spent an evaluation budget, run out of time or reached a target
+ * value, whichever comes first.  Iterations of different algorithms
+ * cost very different amounts, one iteration of MIMIC can evaluate
+ * thousands of samples where one of hill climbing evaluates one
+ * neighbor, so counting evaluations compares them at equal cost.
+ * The evaluation budget and target need a problem that counts its
+ * evaluations, the time limit works with any problem.  The limits
+ * are checked between iterations, so the last iteration can go
+ * past the budget by however much one iteration costs.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class BudgetTrainer implements Trainer {
+    /**
+     * The algorithm being trained
+     */
+    private OptimizationAlgorithm algorithm;
+
+    /**
+     * The evaluation counter of the problem, or null
+     */
+    private EvaluationCounter counter;
+
+    /**
+     * The evaluation budget
+     */
+    private long evaluationLimit;
+
+    /**
+     * The time budget in milliseconds
+     */
+    private long timeLimit;
+
+    /**
+     * The value to stop at
+     */
+    private double target;
+
+    /**
+     * The number of iterations of the last training
+     */
+    private int iterations;
+
+    /**
+     * The number of evaluations of the last training
+     */
+    private long evaluations;
+
+    /**
+     * The time the last training took
+     */
+    private long elapsedTime;
+
+    /**
+     * Make a new budget trainer
+     * @param algorithm the algorithm to train
+     * @param evaluationLimit the evaluation budget, Long.MAX_VALUE for none
+     * @param timeLimit the time budget in milliseconds, Long.MAX_VALUE for none
+     * @param target the value to stop at, Double.POSITIVE_INFINITY for none
+     */
+    public BudgetTrainer(OptimizationAlgorithm algorithm, long evaluationLimit,
+            long timeLimit, double target) {
+        this.algorithm = algorithm;
+        this.evaluationLimit = evaluationLimit;
+        this.timeLimit = timeLimit;
+        this.target = target;
+        OptimizationProblem op = algorithm.getOptimizationProblem();
+        if (op instanceof CountingOptimizationProblem) {
+            counter = ((CountingOptimizationProblem) op).getEvaluationCounter();
+        } else if (evaluationLimit != Long.MAX_VALUE
+                || target != Double.POSITIVE_INFINITY) {
+            throw new IllegalArgumentException("An evaluation budget or target "
+                + "needs a problem that counts its evaluations");
+        }
+        if (counter == null && timeLimit == Long.MAX_VALUE) {
+            throw new IllegalArgumentException("No limit to stop training at");
+        }
+    }
+
+    /**
+     * Make a new trainer with only an evaluation budget
+     * @param algorithm the algorithm to train
+     * @param evaluationLimit the evaluation budget
+     */
+    public BudgetTrainer(OptimizationAlgorithm algorithm, long evaluationLimit) {
+        this(algorithm, evaluationLimit, Long.MAX_VALUE, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Train until one of the limits is reached
+     * @return the average value returned by the algorithm's iterations
+     * @see shared.Trainer#train()
+     */
+    public double train() {
+        long startTime = System.currentTimeMillis();
+        long startCount = counter == null ? 0 : counter.getCount();
+        iterations = 0;
+        double sum = 0;
+        while (!done(startTime, startCount)) {
+            sum += algorithm.train();
+            iterations++;
+        }
+        elapsedTime = System.currentTimeMillis() - startTime;
+        evaluations = counter == null ? 0 : counter.getCount() - startCount;
+        return iterations == 0 ? 0 : sum / iterations;
+    }
+
+    /**
+     * Check whether one of the limits has been reached
+     * @param startTime when training started
+     * @param startCount the evaluation count when training started
+     * @return true if training should stop
+     */
+    private boolean done(long startTime, long startCount) {
+        if (System.currentTimeMillis() - startTime >= timeLimit) {
+            return true;
+        }
+        return counter != null && (counter.getBestValue() >= target
+            || counter.getCount() - startCount >= evaluationLimit);
+    }
+
+    /**
+     * Whether the target value has been reached
+     * @return true if it has
+     */
+    public boolean isTargetReached() {
+        return counter != null && counter.getBestValue() >= target;
+    }
+
+    /**
+     * Get the number of iterations of the last training
+     * @return the iterations
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Get the number of evaluations made during the last training
+     * @return the evaluations, 0 if the problem does not count them
+     */
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Get the time the last training took
+     * @return the time in milliseconds
+     */
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+}
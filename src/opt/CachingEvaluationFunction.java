@@ -0,0 +1,247 @@
+package opt;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import shared.Instance;
+import util.linalg.BitVector;
+import util.linalg.Vector;
+
+/**
+ * An evaluation function that remembers the values of the
+ * instances it has seen.  Genetic algorithms and MIMIC make the
+ * same candidates over and over late in a run, and each repeat
+ * would otherwise be evaluated again.  The cache holds at most a
+ * fixed number of values and forgets the least recently used
+ * first.  Only worth using when the wrapped function is pure and
+ * costs more than hashing and packing the instance data.
+ * Safe to call from several threads at once, two threads that
+ * miss on the same instance at the same time may both evaluate it.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class CachingEvaluationFunction implements EvaluationFunction {
+    /**
+     * The bits of negative zero, which must not pack as zero
+     */
+    private static final long NEGATIVE_ZERO = Double.doubleToLongBits(-0.0);
+
+    /**
+     * The function being cached
+     */
+    private EvaluationFunction function;
+
+    /**
+     * The cache, in least recently used order
+     */
+    private Map<Key, Double> cache;
+
+    /**
+     * The number of lookups that found a value
+     */
+    private long hits;
+
+    /**
+     * The number of lookups that did not
+     */
+    private long misses;
+
+    /**
+     * Make a new caching evaluation function
+     * @param function the function to cache
+     * @param capacity the most values to remember
+     */
+    public CachingEvaluationFunction(EvaluationFunction function, final int capacity) {
+        this.function = function;
+        this.cache = new LinkedHashMap<Key, Double>(16, .75f, true) {
+            protected boolean removeEldestEntry(Map.Entry<Key, Double> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @see opt.EvaluationFunction#value(shared.Instance)
+     */
+    public double value(Instance d) {
+        Key key = new Key(d.getData());
+        synchronized (this) {
+            Double value = cache.get(key);
+            if (value != null) {
+                hits++;
+                return value.doubleValue();
+            }
+            misses++;
+        }
+        double value = function.value(d);
+        synchronized (this) {
+            cache.put(key, Double.valueOf(value));
+        }
+        return value;
+    }
+
+    /**
+     * Get the number of lookups that found a value
+     * @return the hits
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Get the number of lookups that did not find a value,
+     * which is the number of times the wrapped function was called
+     * @return the misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Get the fraction of lookups that found a value
+     * @return the hit rate
+     */
+    public synchronized double getHitRate() {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+    /**
+     * Get the number of values remembered
+     * @return the size
+     */
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    /**
+     * Forget all of the values and reset the statistics
+     */
+    public synchronized void clear() {
+        cache.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * Get the function being cached
+     * @return the function
+     */
+    public EvaluationFunction getFunction() {
+        return function;
+    }
+
+    /**
+     * @see java.lang.Object#toString()
+     */
+    public synchronized String toString() {
+        return "hits: " + hits + " misses: " + misses + " hit rate: " + getHitRate()
+            + " size: " + cache.size();
+    }
+
+    /**
+     * The data of an instance packed as tightly as its values allow,
+     * with a precomputed 64 bit hash.  Zeros and ones take one bit
+     * each, the same layout as a bit vector's words, other small
+     * non negative whole numbers as few bits as the largest needs,
+     * and anything else the 64 bits of the double.
+     */
+    private static class Key {
+        /**
+         * The packed values
+         */
+        private long[] words;
+
+        /**
+         * The number of values
+         */
+        private int size;
+
+        /**
+         * The number of bits each value is packed in
+         */
+        private int width;
+
+        /**
+         * The hash
+         */
+        private long hash;
+
+        /**
+         * Make a new key
+         * @param vector the data to pack
+         */
+        public Key(Vector vector) {
+            size = vector.size();
+            if (vector instanceof BitVector) {
+                width = 1;
+                words = (long[]) ((BitVector) vector).getWords().clone();
+            } else {
+                width = width(vector);
+                words = pack(vector, width);
+            }
+            long h = (long) size << 8 | width;
+            for (int i = 0; i < words.length; i++) {
+                h = h * 0x9E3779B97F4A7C15L + words[i];
+            }
+            h ^= h >>> 32;
+            h *= 0xD6E8FEB86659FD93L;
+            hash = h ^ (h >>> 32);
+        }
+
+        /**
+         * Get the fewest bits that hold every value, 64 if
+         * some value is not a small non negative whole number
+         * @param vector the values
+         * @return the width
+         */
+        private static int width(Vector vector) {
+            long max = 0;
+            for (int i = 0; i < vector.size(); i++) {
+                double v = vector.get(i);
+                if (!(v >= 0 && v <= Integer.MAX_VALUE && v == (int) v)
+                        || Double.doubleToLongBits(v) == NEGATIVE_ZERO) {
+                    return 64;
+                }
+                max = Math.max(max, (long) v);
+            }
+            return Math.max(1, 64 - Long.numberOfLeadingZeros(max));
+        }
+
+        /**
+         * Pack the values, none straddling two words
+         * @param vector the values
+         * @param width the bits per value
+         * @return the words
+         */
+        private static long[] pack(Vector vector, int width) {
+            int perWord = 64 / width;
+            long[] words = new long[(vector.size() + perWord - 1) / perWord];
+            for (int i = 0; i < vector.size(); i++) {
+                double v = vector.get(i);
+                long bits = width == 64 ? Double.doubleToLongBits(v) : (long) v;
+                words[i / perWord] |= bits << (i % perWord * width);
+            }
+            return words;
+        }
+
+        /**
+         * @see java.lang.Object#hashCode()
+         */
+        public int hashCode() {
+            return (int) hash;
+        }
+
+        /**
+         * @see java.lang.Object#equals(java.lang.Object)
+         */
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash && size == other.size
+                && width == other.width && Arrays.equals(words, other.words);
+        }
+    }
+}
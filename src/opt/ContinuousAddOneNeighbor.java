@@ -9,7 +9,7 @@ import shared.Instance;
  * @author Andrew Guillory gtg008g@mail.gatech.edu
  * @version 1.0
  */
-public class ContinuousAddOneNeighbor implements NeighborFunction {
+public class ContinuousAddOneNeighbor implements InPlaceNeighborFunction {
     /**
      * The amount to add to the value
      */
@@ -34,9 +34,17 @@ public class ContinuousAddOneNeighbor implements NeighborFunction {
      * @see opt.NeighborFunction#neighbor(opt.OptimizationData)
      */
     public Instance neighbor(Instance d) {
-        int i = Distribution.random.nextInt(d.size());
         Instance cod = (Instance) d.copy();
-        cod.getData().set(i, cod.getContinuous(i)+ Distribution.random.nextDouble() * amount - amount / 2);
+        move(cod, new Move(1));
         return cod;
     }
+
+    /**
+     * @see opt.InPlaceNeighborFunction#move(shared.Instance, opt.Move)
+     */
+    public void move(Instance d, Move move) {
+        move.clear();
+        int i = Distribution.random.nextInt(d.size());
+        move.set(d, i, d.getContinuous(i)+ Distribution.random.nextDouble() * amount - amount / 2);
+    }
 }
@@ -0,0 +1,112 @@
+package opt;
+
+import shared.Instance;
+
+/**
+ * An evaluation function that counts how many times it is
+ * called and remembers the best instance it has been given.
+ * Since every algorithm has to evaluate a candidate to learn
+ * anything about it, the count is a fair measure of the work
+ * done, and the best instance seen is at least as good as what
+ * any of the algorithms using the function would report.
+ * Delta evaluations are passed through to the wrapped function
+ * when it supports them and count as one evaluation each.
+ * Problems made with a counting function count through its
+ * counter instead of one of their own, so a budget set on the
+ * function and one set on such a problem measure the same thing.
+ * Safe to call from several threads at once as long as the
+ * wrapped function is.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class CountingEvaluationFunction implements DeltaEvaluationFunction {
+    /**
+     * The function being counted
+     */
+    private EvaluationFunction function;
+
+    /**
+     * The counter
+     */
+    private EvaluationCounter counter = new EvaluationCounter(true);
+
+    /**
+     * Make a new counting evaluation function
+     * @param function the function to count
+     */
+    public CountingEvaluationFunction(EvaluationFunction function) {
+        this.function = function;
+    }
+
+    /**
+     * @see opt.EvaluationFunction#value(shared.Instance)
+     */
+    public double value(Instance d) {
+        return counter.record(d, function.value(d));
+    }
+
+    /**
+     * @see opt.DeltaEvaluationFunction#value(shared.Instance, double, opt.Move)
+     */
+    public double value(Instance d, double value, Move move) {
+        if (function instanceof DeltaEvaluationFunction) {
+            return counter.record(d, ((DeltaEvaluationFunction) function).value(d, value, move));
+        }
+        return counter.record(d, function.value(d));
+    }
+
+    /**
+     * Get the counter of the evaluations made through this function
+     * @return the counter
+     */
+    public EvaluationCounter getEvaluationCounter() {
+        return counter;
+    }
+
+    /**
+     * Get the number of evaluations so far
+     * @return the count
+     */
+    public long getCount() {
+        return counter.getCount();
+    }
+
+    /**
+     * Get the best value seen so far
+     * @return the best value, negative infinity before any evaluations
+     */
+    public double getBestValue() {
+        return counter.getBestValue();
+    }
+
+    /**
+     * Get a copy of the best instance seen so far
+     * @return the best instance, or null before any evaluations
+     */
+    public Instance getBest() {
+        return counter.getBest();
+    }
+
+    /**
+     * Forget the count and the best instance
+     */
+    public void reset() {
+        counter.reset();
+    }
+
+    /**
+     * Get the function being counted
+     * @return the function
+     */
+    public EvaluationFunction getFunction() {
+        return function;
+    }
+
+    /**
+     * @see java.lang.Object#toString()
+     */
+    public String toString() {
+        return counter.toString();
+    }
+
+}
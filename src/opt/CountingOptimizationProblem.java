@@ -0,0 +1,18 @@
+package opt;
+
+/**
+ * An optimization problem that counts the evaluations made
+ * through its value method, so that algorithms can be run for
+ * a fixed amount of work rather than a fixed number of iterations
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public interface CountingOptimizationProblem extends OptimizationProblem {
+
+    /**
+     * Get the counter of the evaluations made on this problem
+     * @return the counter
+     */
+    public abstract EvaluationCounter getEvaluationCounter();
+
+}
@@ -0,0 +1,23 @@
+package opt;
+
+import shared.Instance;
+
+/**
+ * An evaluation function that can score a small change to an
+ * instance from the value before the change, looking only at
+ * the indices that changed
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public interface DeltaEvaluationFunction extends EvaluationFunction {
+
+    /**
+     * Evaluate an instance that was just changed in place
+     * @param d the instance, after the move
+     * @param value the value of the instance before the move
+     * @param move the move that was made
+     * @return the value after the move
+     */
+    public abstract double value(Instance d, double value, Move move);
+
+}
@@ -9,7 +9,7 @@ import shared.Instance;
  * @author Andrew Guillory gtg008g@mail.gatech.edu
  * @version 1.0
  */
-public class DiscreteChangeOneNeighbor implements NeighborFunction {
+public class DiscreteChangeOneNeighbor implements InPlaceNeighborFunction {
     
     /**
      * The ranges of the different values
@@ -29,9 +29,17 @@ public class DiscreteChangeOneNeighbor implements NeighborFunction {
      */
     public Instance neighbor(Instance d) {
         Instance cod = (Instance) d.copy();
-        int i = Distribution.random.nextInt(ranges.length);
-        cod.getData().set(i, Distribution.random.nextInt(ranges[i]));
+        move(cod, new Move(1));
         return cod;
     }
 
+    /**
+     * @see opt.InPlaceNeighborFunction#move(shared.Instance, opt.Move)
+     */
+    public void move(Instance d, Move move) {
+        move.clear();
+        int i = Distribution.random.nextInt(ranges.length);
+        move.set(d, i, Distribution.random.nextInt(ranges[i]));
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package opt;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import shared.Instance;
+
+/**
+ * Keeps count of the evaluations made on an optimization
+ * problem or through an evaluation function and the best value
+ * any of them returned, and if asked to, a copy of the best
+ * instance.  Copying is left off for the counters problems keep
+ * for themselves, so searches that only need a count or a
+ * target value do not copy an instance on every improvement.
+ * Safe to use from several threads at once.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class EvaluationCounter {
+    /**
+     * The number of evaluations
+     */
+    private LongAdder count = new LongAdder();
+
+    /**
+     * Whether to keep a copy of the best instance
+     */
+    private boolean keepBest;
+
+    /**
+     * The best value seen
+     */
+    private volatile double bestValue = Double.NEGATIVE_INFINITY;
+
+    /**
+     * A copy of the best instance seen
+     */
+    private Instance best;
+
+    /**
+     * Make a new counter that keeps the best value but not the instance
+     */
+    public EvaluationCounter() {
+        this(false);
+    }
+
+    /**
+     * Make a new counter
+     * @param keepBest whether to keep a copy of the best instance
+     */
+    public EvaluationCounter(boolean keepBest) {
+        this.keepBest = keepBest;
+    }
+
+    /**
+     * Record an evaluation and keep the value if it is the best
+     * yet, along with a copy of the instance if the best instance
+     * is kept, since the caller may go on to change it
+     * @param d the instance
+     * @param value the value it returned
+     * @return the value
+     */
+    public double record(Instance d, double value) {
+        count.increment();
+        if (value > bestValue) {
+            synchronized (this) {
+                if (value > bestValue) {
+                    if (keepBest) {
+                        best = (Instance) d.copy();
+                    }
+                    bestValue = value;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Get the number of evaluations so far
+     * @return the count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Get the best value seen so far
+     * @return the best value, negative infinity before any evaluations
+     */
+    public double getBestValue() {
+        return bestValue;
+    }
+
+    /**
+     * Whether a copy of the best instance is kept
+     * @return true if it is
+     */
+    public boolean isKeepingBest() {
+        return keepBest;
+    }
+
+    /**
+     * Get a copy of the best instance seen so far
+     * @return the best instance, or null before any evaluations
+     * or if the best instance is not kept
+     */
+    public synchronized Instance getBest() {
+        return best == null ? null : (Instance) best.copy();
+    }
+
+    /**
+     * Forget the count and the best instance
+     */
+    public synchronized void reset() {
+        count.reset();
+        best = null;
+        bestValue = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * @see java.lang.Object#toString()
+     */
+    public String toString() {
+        return "evaluations: " + getCount() + " best: " + getBestValue();
+    }
+
+}
@@ -8,13 +8,18 @@ import dist.Distribution;
  * @author Andrew Guillory gtg008g@mail.gatech.edu
  * @version 1.0
  */
-public class GenericHillClimbingProblem extends GenericOptimizationProblem implements HillClimbingProblem {
+public class GenericHillClimbingProblem extends GenericOptimizationProblem implements InPlaceHillClimbingProblem {
     
     /**
      * The neighbor function
      */
     private NeighborFunction neigh;
 
+    /**
+     * Whether to move in place when the neighbor function can
+     */
+    private boolean inPlace;
+
     /**
      * Make a new hill climbing problem
      * @param eval the evaulation function
@@ -23,8 +28,26 @@ public class GenericHillClimbingProblem extends GenericOptimizationProblem imple
      */
     public GenericHillClimbingProblem(EvaluationFunction eval, Distribution dist,
                NeighborFunction neigh) {
+        this(eval, dist, neigh, false);
+    }
+
+    /**
+     * Make a new hill climbing problem that may be searched by
+     * moving one instance in place.  Searches of such a problem
+     * change their current instance instead of replacing it, so
+     * the neighbor and evaluation functions must not keep the
+     * instances they are given.
+     * @param eval the evaulation function
+     * @param dist the initial distribution
+     * @param neigh the neighbor function
+     * @param inPlace whether to move in place when the neighbor
+     * function can
+     */
+    public GenericHillClimbingProblem(EvaluationFunction eval, Distribution dist,
+               NeighborFunction neigh, boolean inPlace) {
         super(eval, dist);
         this.neigh = neigh;
+        this.inPlace = inPlace;
     }
 
     /**
@@ -34,4 +57,32 @@ public class GenericHillClimbingProblem extends GenericOptimizationProblem imple
         return neigh.neighbor(d);
     }
 
+    /**
+     * Moves are made in place when the problem was made to
+     * and the neighbor function supports it, they are scored
+     * incrementally when the evaluation function does too
+     * @see opt.InPlaceHillClimbingProblem#isInPlace()
+     */
+    public boolean isInPlace() {
+        return inPlace && neigh instanceof InPlaceNeighborFunction;
+    }
+
+    /**
+     * @see opt.InPlaceHillClimbingProblem#move(shared.Instance, opt.Move)
+     */
+    public void move(Instance d, Move move) {
+        ((InPlaceNeighborFunction) neigh).move(d, move);
+    }
+
+    /**
+     * @see opt.InPlaceHillClimbingProblem#value(shared.Instance, double, opt.Move)
+     */
+    public double value(Instance d, double value, Move move) {
+        EvaluationFunction eval = getEvaluationFunction();
+        if (eval instanceof DeltaEvaluationFunction) {
+            return record(d, ((DeltaEvaluationFunction) eval).value(d, value, move));
+        }
+        return value(d);
+    }
+
 }
@@ -5,11 +5,13 @@ import dist.Distribution;
 
 
 /**
- * A generic continuous optimization problem
+ * A generic continuous optimization problem, every
+ * evaluation made through it is counted, by the evaluation
+ * function's counter if it is a counting function
  * @author Andrew Guillory gtg008g@mail.gatech.edu
  * @version 1.0
  */
-public class GenericOptimizationProblem implements OptimizationProblem {
+public class GenericOptimizationProblem implements CountingOptimizationProblem {
     /**
      * The evaluation function
      */
@@ -20,6 +22,15 @@ public class GenericOptimizationProblem implements OptimizationProblem {
      */
     private Distribution initial;
 
+    /**
+     * The evaluation counter
+     */
+    private EvaluationCounter counter;
+
+    /**
+     * Whether the evaluation function counts its own evaluations
+     */
+    private boolean counted;
     
     /**
      * Make a new generic optimization problem
@@ -29,6 +40,9 @@ public class GenericOptimizationProblem implements OptimizationProblem {
     public GenericOptimizationProblem(EvaluationFunction eval, Distribution dist) {
         this.initial = dist;
         this.eval = eval;
+        counted = eval instanceof CountingEvaluationFunction;
+        counter = counted ? ((CountingEvaluationFunction) eval).getEvaluationCounter()
+            : new EvaluationCounter();
     }
     
 
@@ -36,7 +50,17 @@ public class GenericOptimizationProblem implements OptimizationProblem {
      * @see opt.OptimizationProblem#value(opt.OptimizationData)
      */
     public double value(Instance d) {
-        return eval.value(d);
+        return record(d, eval.value(d));
+    }
+
+    /**
+     * Count an evaluation unless the evaluation function already did
+     * @param d the instance
+     * @param value its value
+     * @return the value
+     */
+    protected double record(Instance d, double value) {
+        return counted ? value : counter.record(d, value);
     }
 
 
@@ -47,4 +71,19 @@ public class GenericOptimizationProblem implements OptimizationProblem {
         return initial.sample(null);
     }
 
+    /**
+     * Get the evaluation function
+     * @return the evaluation function
+     */
+    public EvaluationFunction getEvaluationFunction() {
+        return eval;
+    }
+
+    /**
+     * @see opt.CountingOptimizationProblem#getEvaluationCounter()
+     */
+    public EvaluationCounter getEvaluationCounter() {
+        return counter;
+    }
+
 }
@@ -0,0 +1,37 @@
+package opt;
+
+import shared.Instance;
+
+/**
+ * A hill climbing problem that can move an instance to a
+ * neighbor in place and score the move incrementally, so
+ * searching does not copy or fully rescore on every step
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public interface InPlaceHillClimbingProblem extends HillClimbingProblem {
+
+    /**
+     * Whether moves should be made in place, searches only
+     * move in place when the problem asks them to
+     * @return true if they should
+     */
+    public abstract boolean isInPlace();
+
+    /**
+     * Change an instance into a neighbor in place
+     * @param d the instance
+     * @param move the move to record the change in
+     */
+    public abstract void move(Instance d, Move move);
+
+    /**
+     * Evaluate an instance that was just moved
+     * @param d the instance, after the move
+     * @param value the value before the move
+     * @param move the move
+     * @return the value after the move
+     */
+    public abstract double value(Instance d, double value, Move move);
+
+}
@@ -0,0 +1,23 @@
+package opt;
+
+import shared.Instance;
+
+/**
+ * A neighbor function that can change an instance into a
+ * neighbor in place instead of making a changed copy.
+ * The move records what changed, so it can be scored with a
+ * delta evaluation function and undone with Move.undo.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public interface InPlaceNeighborFunction extends NeighborFunction {
+
+    /**
+     * Change the instance into a neighbor, drawing the same
+     * random numbers as neighbor would
+     * @param d the instance to change
+     * @param move the move to record the change in, cleared first
+     */
+    public abstract void move(Instance d, Move move);
+
+}
@@ -0,0 +1,277 @@
+package opt;
+
+import shared.Instance;
+
+/**
+ * A record of a change made to an instance in place, the
+ * indices that were set and the values they held before, so
+ * that the change can be scored incrementally and undone.
+ * Moves are meant to be reused from step to step so that
+ * searching does not allocate.
+ * A move also carries the running state of the search it belongs
+ * to, like the total volume of a knapsack, for evaluation
+ * functions that need more than the value to score a move.  That
+ * state is of the instance the move is made to, so a search must
+ * keep each move with its instance and clear the state when the
+ * instance is changed other than by the move.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class Move {
+    /**
+     * The indices that were set, in order
+     */
+    private int[] indices;
+
+    /**
+     * The values the indices held before they were set
+     */
+    private double[] oldValues;
+
+    /**
+     * The values the indices were set to
+     */
+    private double[] newValues;
+
+    /**
+     * The number of sets recorded
+     */
+    private int size;
+
+    /**
+     * The function the state is kept for, or null if there is none
+     */
+    private Object stateOwner;
+
+    /**
+     * The state of the instance before this move
+     */
+    private double[] state;
+
+    /**
+     * The state of the instance after this move
+     */
+    private double[] nextState;
+
+    /**
+     * Whether the state after this move has been filled in,
+     * it becomes the state before the next move unless this
+     * move is undone
+     */
+    private boolean pending;
+
+    /**
+     * The number of moves kept since the state was set
+     */
+    private int stateAge;
+
+    /**
+     * The scratch space handed to evaluation functions
+     */
+    private int[] scratch;
+
+    /**
+     * Make a new empty move
+     * @param capacity the number of sets to make room for
+     */
+    public Move(int capacity) {
+        indices = new int[Math.max(1, capacity)];
+        oldValues = new double[indices.length];
+        newValues = new double[indices.length];
+    }
+
+    /**
+     * Make a new empty move
+     */
+    public Move() {
+        this(2);
+    }
+
+    /**
+     * Forget all of the recorded sets, keeping the move
+     * and its state if it was not undone
+     */
+    public void clear() {
+        if (pending) {
+            double[] temp = state;
+            state = nextState;
+            nextState = temp;
+            stateAge++;
+            pending = false;
+        }
+        size = 0;
+    }
+
+    /**
+     * Set a value of an instance, recording the old value
+     * @param d the instance
+     * @param i the index to set
+     * @param value the new value
+     */
+    public void set(Instance d, int i, double value) {
+        if (size == indices.length) {
+            int[] newIndices = new int[size * 2];
+            double[] newOldValues = new double[size * 2];
+            double[] newNewValues = new double[size * 2];
+            System.arraycopy(indices, 0, newIndices, 0, size);
+            System.arraycopy(oldValues, 0, newOldValues, 0, size);
+            System.arraycopy(newValues, 0, newNewValues, 0, size);
+            indices = newIndices;
+            oldValues = newOldValues;
+            newValues = newNewValues;
+        }
+        indices[size] = i;
+        oldValues[size] = d.getContinuous(i);
+        newValues[size] = value;
+        size++;
+        d.getData().set(i, value);
+    }
+
+    /**
+     * Undo the move, restoring the old values
+     * @param d the instance the move was made to
+     */
+    public void undo(Instance d) {
+        for (int k = size - 1; k >= 0; k--) {
+            d.getData().set(indices[k], oldValues[k]);
+        }
+        pending = false;
+    }
+
+    /**
+     * Make the move again after undoing it
+     * @param d the instance the move was made to
+     */
+    public void redo(Instance d) {
+        for (int k = 0; k < size; k++) {
+            d.getData().set(indices[k], newValues[k]);
+        }
+    }
+
+    /**
+     * Get the number of sets recorded
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the index of the kth set
+     * @param k the set
+     * @return the index
+     */
+    public int getIndex(int k) {
+        return indices[k];
+    }
+
+    /**
+     * Get the value the index of the kth set held before it
+     * @param k the set
+     * @return the old value
+     */
+    public double getOldValue(int k) {
+        return oldValues[k];
+    }
+
+    /**
+     * Whether the kth set is the first set of its index,
+     * so that looping over only those sets visits each
+     * changed index once
+     * @param k the set
+     * @return true if no earlier set has the same index
+     */
+    public boolean isFirst(int k) {
+        for (int j = 0; j < k; j++) {
+            if (indices[j] == indices[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the value an index of the instance held before the move
+     * @param d the instance after the move
+     * @param i the index
+     * @return the value before the move
+     */
+    public double getValueBefore(Instance d, int i) {
+        for (int k = 0; k < size; k++) {
+            if (indices[k] == i) {
+                return oldValues[k];
+            }
+        }
+        return d.getContinuous(i);
+    }
+
+    /**
+     * Get the state of the instance before this move
+     * @param owner the function the state is kept for
+     * @return the state, or null if none is kept for the function
+     */
+    public double[] getState(Object owner) {
+        return owner == stateOwner ? state : null;
+    }
+
+    /**
+     * Set the state of the instance before this move
+     * @param owner the function the state is kept for
+     * @param state the state
+     */
+    public void setState(Object owner, double[] state) {
+        stateOwner = owner;
+        this.state = state;
+        if (nextState == null || nextState.length != state.length) {
+            nextState = new double[state.length];
+        }
+        pending = false;
+        stateAge = 0;
+    }
+
+    /**
+     * Get the array to fill in with the state after this move,
+     * it is kept as the state before the next move unless this
+     * move is undone
+     * @return the state after the move
+     */
+    public double[] getNextState() {
+        pending = true;
+        return nextState;
+    }
+
+    /**
+     * Get the number of moves kept since the state was set,
+     * so that functions whose state is summed in floating
+     * point can recompute it once in a while
+     * @return the age of the state
+     */
+    public int getStateAge() {
+        return stateAge;
+    }
+
+    /**
+     * Get an array an evaluation function can work in while it
+     * scores this move, reused from move to move so scoring does
+     * not allocate, its contents are not kept between calls
+     * @param length the length needed
+     * @return an array of at least the length
+     */
+    public int[] getScratch(int length) {
+        if (scratch == null || scratch.length < length) {
+            scratch = new int[length];
+        }
+        return scratch;
+    }
+
+    /**
+     * Forget the state, this must be called when the instance
+     * is changed other than by this move
+     */
+    public void clearState() {
+        stateOwner = null;
+        state = null;
+        nextState = null;
+        pending = false;
+    }
+}
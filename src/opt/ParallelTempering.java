@@ -0,0 +1,345 @@
+package opt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import dist.Distribution;
+
+import shared.Instance;
+import util.ParallelTasks;
+
+/**
+ * Parallel tempering, also called replica exchange.  One replica
+ * of the search runs at each temperature of a fixed ladder doing
+ * the same Metropolis steps as simulated annealing, and after
+ * every round of steps neighboring replicas try to trade places.
+ * Hot replicas roam the landscape and cold ones climb, and the
+ * trades carry good states found hot down the ladder to be
+ * refined, so the search does not freeze on rugged landscapes the
+ * way a single cooling chain does.
+ * The replicas step on an executor if one is given.  Each replica
+ * draws its random numbers from a generator of its own seeded from
+ * Distribution.random when the algorithm is made, the trades are
+ * decided on the calling thread, and when moving in place a trade
+ * hands over the move along with the instance so that any running
+ * state a delta evaluation keeps in it stays with its instance.
+ * So a seeded run gives the same result whatever the number of
+ * threads.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class ParallelTempering extends OptimizationAlgorithm {
+    /**
+     * The replicas, coldest first
+     */
+    private Replica[] replicas;
+
+    /**
+     * The number of steps each replica takes between exchanges
+     */
+    private int steps;
+
+    /**
+     * The executor the replicas step on, or null
+     */
+    private ExecutorService executor;
+
+    /**
+     * Whether the next exchange starts at the first or second pair
+     */
+    private boolean odd;
+
+    /**
+     * The number of exchanges tried
+     */
+    private long exchanges;
+
+    /**
+     * The number of exchanges accepted
+     */
+    private long accepted;
+
+    /**
+     * Make a new parallel tempering search, problems that were
+     * made to move in place are searched without copying
+     * @param temperatures the temperatures of the replicas
+     * @param steps the number of steps each replica takes between exchanges
+     * @param hcp the problem to solve
+     * @param executor the executor to step the replicas on, or null
+     * to step them on the calling thread
+     */
+    public ParallelTempering(double[] temperatures, int steps,
+            HillClimbingProblem hcp, ExecutorService executor) {
+        super(hcp);
+        this.steps = steps;
+        this.executor = executor;
+        double[] sorted = (double[]) temperatures.clone();
+        Arrays.sort(sorted);
+        boolean inPlace = hcp instanceof InPlaceHillClimbingProblem
+            && ((InPlaceHillClimbingProblem) hcp).isInPlace();
+        replicas = new Replica[sorted.length];
+        for (int i = 0; i < replicas.length; i++) {
+            replicas[i] = new Replica(sorted[i], hcp.random(),
+                new Random(Distribution.random.nextLong()), inPlace);
+            replicas[i].value = hcp.value(replicas[i].cur);
+            replicas[i].bestValue = replicas[i].value;
+            replicas[i].best = (Instance) replicas[i].cur.copy();
+        }
+    }
+
+    /**
+     * Make a new parallel tempering search with temperatures spaced
+     * geometrically between the coldest and hottest
+     * @param replicaCount the number of replicas
+     * @param coldest the lowest temperature
+     * @param hottest the highest temperature
+     * @param steps the number of steps each replica takes between exchanges
+     * @param hcp the problem to solve
+     * @param executor the executor to step the replicas on, or null
+     * to step them on the calling thread
+     */
+    public ParallelTempering(int replicaCount, double coldest, double hottest,
+            int steps, HillClimbingProblem hcp, ExecutorService executor) {
+        this(geometricLadder(replicaCount, coldest, hottest), steps, hcp, executor);
+    }
+
+    /**
+     * Make a geometric ladder of temperatures
+     * @param count the number of temperatures
+     * @param coldest the lowest temperature
+     * @param hottest the highest temperature
+     * @return the temperatures
+     */
+    private static double[] geometricLadder(int count, double coldest, double hottest) {
+        double[] temperatures = new double[count];
+        double ratio = count == 1 ? 1 : Math.pow(hottest / coldest, 1.0 / (count - 1));
+        temperatures[0] = coldest;
+        for (int i = 1; i < count; i++) {
+            temperatures[i] = temperatures[i - 1] * ratio;
+        }
+        return temperatures;
+    }
+
+    /**
+     * Step every replica then try to exchange neighbors
+     * @see shared.Trainer#train()
+     */
+    public double train() {
+        if (executor == null) {
+            for (int i = 0; i < replicas.length; i++) {
+                replicas[i].run();
+            }
+        } else {
+            List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+            for (int i = 0; i < replicas.length; i++) {
+                final Replica replica = replicas[i];
+                tasks.add(new Callable<Object>() {
+                    public Object call() {
+                        replica.run();
+                        return null;
+                    }
+                });
+            }
+            ParallelTasks.invokeAll(executor, tasks);
+        }
+        // alternate between the even and odd pairs
+        for (int i = odd ? 1 : 0; i + 1 < replicas.length; i += 2) {
+            exchange(replicas[i], replicas[i + 1]);
+        }
+        odd = !odd;
+        return replicas[0].value;
+    }
+
+    /**
+     * Try to trade the states of two replicas, with the
+     * probability that keeps each at its own temperature's
+     * Boltzmann distribution
+     * @param a the colder replica
+     * @param b the hotter replica
+     */
+    private void exchange(Replica a, Replica b) {
+        exchanges++;
+        double delta = (b.value - a.value) * (1 / a.t - 1 / b.t);
+        if (delta >= 0 || Distribution.random.nextDouble() < Math.exp(delta)) {
+            accepted++;
+            Instance cur = a.cur;
+            a.cur = b.cur;
+            b.cur = cur;
+            Move move = a.move;
+            a.move = b.move;
+            b.move = move;
+            double value = a.value;
+            a.value = b.value;
+            b.value = value;
+        }
+    }
+
+    /**
+     * Get the best instance any replica has seen
+     * @see opt.OptimizationAlgorithm#getOptimal()
+     */
+    public Instance getOptimal() {
+        Replica best = replicas[0];
+        for (int i = 1; i < replicas.length; i++) {
+            if (replicas[i].bestValue > best.bestValue) {
+                best = replicas[i];
+            }
+        }
+        return (Instance) best.best.copy();
+    }
+
+    /**
+     * Get the temperatures of the replicas, coldest first
+     * @return the temperatures
+     */
+    public double[] getTemperatures() {
+        double[] temperatures = new double[replicas.length];
+        for (int i = 0; i < replicas.length; i++) {
+            temperatures[i] = replicas[i].t;
+        }
+        return temperatures;
+    }
+
+    /**
+     * Get the current values of the replicas, coldest first
+     * @return the values
+     */
+    public double[] getValues() {
+        double[] values = new double[replicas.length];
+        for (int i = 0; i < replicas.length; i++) {
+            values[i] = replicas[i].value;
+        }
+        return values;
+    }
+
+    /**
+     * Get copies of the current instances of the replicas, coldest first
+     * @return the instances
+     */
+    public Instance[] getInstances() {
+        Instance[] instances = new Instance[replicas.length];
+        for (int i = 0; i < replicas.length; i++) {
+            instances[i] = (Instance) replicas[i].cur.copy();
+        }
+        return instances;
+    }
+
+    /**
+     * Get the fraction of exchanges that were accepted,
+     * a low rate means the temperatures are too far apart
+     * @return the acceptance rate
+     */
+    public double getExchangeRate() {
+        return exchanges == 0 ? 0 : (double) accepted / exchanges;
+    }
+
+    /**
+     * One replica of the search at a fixed temperature
+     */
+    private class Replica {
+        /**
+         * The temperature
+         */
+        private double t;
+
+        /**
+         * The current instance
+         */
+        private Instance cur;
+
+        /**
+         * The current value
+         */
+        private double value;
+
+        /**
+         * The best instance this replica has seen
+         */
+        private Instance best;
+
+        /**
+         * The best value this replica has seen
+         */
+        private double bestValue;
+
+        /**
+         * The random number generator
+         */
+        private Random random;
+
+        /**
+         * The reused move when moving in place, or null
+         */
+        private Move move;
+
+        /**
+         * Make a new replica
+         * @param t the temperature
+         * @param cur the starting instance
+         * @param random the random number generator
+         * @param inPlace whether to move in place
+         */
+        public Replica(double t, Instance cur, Random random, boolean inPlace) {
+            this.t = t;
+            this.cur = cur;
+            this.random = random;
+            if (inPlace) {
+                move = new Move();
+            }
+        }
+
+        /**
+         * Take the steps between exchanges
+         */
+        public void run() {
+            Random previous = Distribution.random.getThreadRandom();
+            Distribution.random.setThreadRandom(random);
+            try {
+                for (int i = 0; i < steps; i++) {
+                    step();
+                }
+            } finally {
+                Distribution.random.setThreadRandom(previous);
+            }
+        }
+
+        /**
+         * Take one Metropolis step
+         */
+        private void step() {
+            double neighVal;
+            if (move != null) {
+                InPlaceHillClimbingProblem p = (InPlaceHillClimbingProblem) getOptimizationProblem();
+                p.move(cur, move);
+                neighVal = p.value(cur, value, move);
+                if (neighVal > value || Distribution.random.nextDouble() <
+                        Math.exp((neighVal - value) / t)) {
+                    value = neighVal;
+                } else {
+                    move.undo(cur);
+                    return;
+                }
+            } else {
+                HillClimbingProblem p = (HillClimbingProblem) getOptimizationProblem();
+                Instance neigh = p.neighbor(cur);
+                neighVal = p.value(neigh);
+                if (neighVal > value || Distribution.random.nextDouble() <
+                        Math.exp((neighVal - value) / t)) {
+                    value = neighVal;
+                    cur = neigh;
+                } else {
+                    return;
+                }
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                best = (Instance) cur.copy();
+            }
+        }
+    }
+
+}
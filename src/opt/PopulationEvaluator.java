@@ -0,0 +1,129 @@
+package opt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import shared.Instance;
+import util.ParallelTasks;
+
+/**
+ * Evaluates many instances of an optimization problem at once,
+ * optionally spreading the evaluations over an executor.  The
+ * instances are split into contiguous chunks and each value is
+ * written to its own slot, so the results do not depend on
+ * the number of threads or the order the chunks finish in.
+ * Problems that can score a batch of instances together
+ * are handed each chunk whole.
+ * When an executor is used the problem's value method is called
+ * from several threads at once and must be safe to do so.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class PopulationEvaluator {
+    /**
+     * The number of chunks to make per processor,
+     * more than one so uneven evaluations balance out
+     */
+    private static final int CHUNKS_PER_PROCESSOR = 4;
+
+    /**
+     * The problem to evaluate
+     */
+    private OptimizationProblem op;
+
+    /**
+     * The executor, or null to evaluate on the calling thread
+     */
+    private ExecutorService executor;
+
+    /**
+     * Make a new population evaluator
+     * @param op the problem to evaluate
+     * @param executor the executor to evaluate on,
+     * null to evaluate on the calling thread
+     */
+    public PopulationEvaluator(OptimizationProblem op, ExecutorService executor) {
+        this.op = op;
+        this.executor = executor;
+    }
+
+    /**
+     * Make a new serial population evaluator
+     * @param op the problem to evaluate
+     */
+    public PopulationEvaluator(OptimizationProblem op) {
+        this(op, null);
+    }
+
+    /**
+     * Evaluate some of the instances
+     * @param instances the instances
+     * @param values the values to fill in
+     * @param indices the indices of the instances to evaluate
+     * @param count the number of indices to use
+     */
+    public void evaluate(final Instance[] instances, final double[] values,
+            final int[] indices, int count) {
+        int chunks = Math.min(count,
+            CHUNKS_PER_PROCESSOR * Runtime.getRuntime().availableProcessors());
+        if (executor == null || chunks <= 1) {
+            evaluate(instances, values, indices, 0, count);
+            return;
+        }
+        List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+        for (int i = 0; i < chunks; i++) {
+            final int start = (int) ((long) count * i / chunks);
+            final int end = (int) ((long) count * (i + 1) / chunks);
+            tasks.add(new Callable<Object>() {
+                public Object call() {
+                    evaluate(instances, values, indices, start, end);
+                    return null;
+                }
+            });
+        }
+        ParallelTasks.invokeAll(executor, tasks);
+    }
+
+    /**
+     * Evaluate all of the instances
+     * @param instances the instances
+     * @param values the values to fill in
+     */
+    public void evaluate(Instance[] instances, double[] values) {
+        int[] indices = new int[instances.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        evaluate(instances, values, indices, indices.length);
+    }
+
+    /**
+     * Evaluate a range of the indices on the calling thread
+     * @param instances the instances
+     * @param values the values to fill in
+     * @param indices the indices of the instances to evaluate
+     * @param start the first index to use (inclusive)
+     * @param end the last index to use (exclusive)
+     */
+    private void evaluate(Instance[] instances, double[] values,
+            int[] indices, int start, int end) {
+        if (op instanceof BatchOptimizationProblem) {
+            ((BatchOptimizationProblem) op).value(instances, values,
+                indices, start, end);
+            return;
+        }
+        for (int i = start; i < end; i++) {
+            values[indices[i]] = op.value(instances[indices[i]]);
+        }
+    }
+
+    /**
+     * Get the executor
+     * @return the executor, or null if evaluation is serial
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+}
@@ -0,0 +1,289 @@
+package opt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import dist.Distribution;
+import shared.Instance;
+import util.ParallelTasks;
+
+/**
+ * Runs a portfolio of independent optimization algorithms, such
+ * as restarts of one algorithm or a mix of different ones, under
+ * a shared budget and reports the best instance any of them found.
+ * All of the runs must count their evaluations with the same
+ * counter that keeps the best instance, which is how the runner
+ * measures the evaluations spent and finds the best instance
+ * reached.  That is the counter of a counting evaluation function
+ * the runs' problems are made with.  Runs that share
+ * mutable state, such as MIMIC runs sharing one distribution,
+ * should each be given a problem of their own.
+ * The runs go on an executor if one is given, otherwise one after
+ * another on the calling thread, and each is trained until it has
+ * done its iterations or the portfolio stops.  The portfolio stops
+ * as soon as the target value is reached or the time or evaluation
+ * budget is spent, checked between iterations, so runs still
+ * waiting to start never start.
+ * Each run draws its random numbers from a generator of its own
+ * seeded from Distribution.random when the portfolio is run.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class PortfolioRunner {
+    /**
+     * The runs
+     */
+    private OptimizationAlgorithm[] runs;
+
+    /**
+     * The counter all of the runs count their evaluations with
+     */
+    private EvaluationCounter counter;
+
+    /**
+     * The maximum number of iterations of each run
+     */
+    private int[] iterations;
+
+    /**
+     * The executor, or null to run on the calling thread
+     */
+    private ExecutorService executor;
+
+    /**
+     * The time budget in milliseconds
+     */
+    private long timeLimit = Long.MAX_VALUE;
+
+    /**
+     * The evaluation budget
+     */
+    private long evaluationLimit = Long.MAX_VALUE;
+
+    /**
+     * The value to stop at
+     */
+    private double target = Double.POSITIVE_INFINITY;
+
+    /**
+     * The number of iterations each run did
+     */
+    private int[] iterationsDone;
+
+    /**
+     * When the last run of the portfolio started
+     */
+    private long startTime;
+
+    /**
+     * The evaluation count when the last run of the portfolio started
+     */
+    private long startCount;
+
+    /**
+     * The time the last run of the portfolio took
+     */
+    private long elapsedTime;
+
+    /**
+     * Whether the portfolio has been told to stop
+     */
+    private volatile boolean stopped;
+
+    /**
+     * Make a new portfolio runner
+     * @param runs the algorithms to run
+     * @param counter the counter all of the runs count their evaluations with
+     * @param iterations the maximum number of iterations of each run,
+     * an iteration of one algorithm can be far more work than another's
+     * @param executor the executor to run on,
+     * null to run one after another on the calling thread
+     * @throws IllegalArgumentException if the counter does
+     * not keep the best instance
+     */
+    public PortfolioRunner(OptimizationAlgorithm[] runs,
+            EvaluationCounter counter, int[] iterations,
+            ExecutorService executor) {
+        if (!counter.isKeepingBest()) {
+            throw new IllegalArgumentException(
+                "The counter must keep the best instance");
+        }
+        this.runs = runs;
+        this.counter = counter;
+        this.iterations = iterations;
+        this.executor = executor;
+        this.iterationsDone = new int[runs.length];
+    }
+
+    /**
+     * Make a new portfolio runner giving every run the same number of iterations
+     * @param runs the algorithms to run
+     * @param counter the counter all of the runs count their evaluations with
+     * @param iterations the maximum number of iterations of each run
+     * @param executor the executor to run on,
+     * null to run one after another on the calling thread
+     */
+    public PortfolioRunner(OptimizationAlgorithm[] runs,
+            EvaluationCounter counter, int iterations,
+            ExecutorService executor) {
+        this(runs, counter, fill(runs.length, iterations), executor);
+    }
+
+    /**
+     * Make a new portfolio runner that runs on the calling thread
+     * @param runs the algorithms to run
+     * @param counter the counter all of the runs count their evaluations with
+     * @param iterations the maximum number of iterations of each run
+     */
+    public PortfolioRunner(OptimizationAlgorithm[] runs,
+            EvaluationCounter counter, int iterations) {
+        this(runs, counter, iterations, null);
+    }
+
+    /**
+     * Make an array all of one value
+     * @param length the length
+     * @param value the value
+     * @return the array
+     */
+    private static int[] fill(int length, int value) {
+        int[] a = new int[length];
+        Arrays.fill(a, value);
+        return a;
+    }
+
+    /**
+     * Set the time budget for the whole portfolio
+     * @param millis the budget in milliseconds
+     */
+    public void setTimeLimit(long millis) {
+        timeLimit = millis;
+    }
+
+    /**
+     * Set the evaluation budget for the whole portfolio
+     * @param evaluations the number of evaluations
+     */
+    public void setEvaluationLimit(long evaluations) {
+        evaluationLimit = evaluations;
+    }
+
+    /**
+     * Set the value to stop at
+     * @param target the target value
+     */
+    public void setTarget(double target) {
+        this.target = target;
+    }
+
+    /**
+     * Run the portfolio
+     * @return the best instance found
+     */
+    public Instance run() {
+        stopped = false;
+        startTime = System.currentTimeMillis();
+        startCount = counter.getCount();
+        long[] seeds = new long[runs.length];
+        for (int i = 0; i < runs.length; i++) {
+            iterationsDone[i] = 0;
+            seeds[i] = Distribution.random.nextLong();
+        }
+        if (executor == null) {
+            for (int i = 0; i < runs.length; i++) {
+                run(i, seeds[i]);
+            }
+        } else {
+            List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+            for (int i = 0; i < runs.length; i++) {
+                final int run = i;
+                final long seed = seeds[i];
+                tasks.add(new Callable<Object>() {
+                    public Object call() {
+                        run(run, seed);
+                        return null;
+                    }
+                });
+            }
+            ParallelTasks.invokeAll(executor, tasks);
+        }
+        elapsedTime = System.currentTimeMillis() - startTime;
+        return counter.getBest();
+    }
+
+    /**
+     * Train one run until it is done or the portfolio stops
+     * @param run the run
+     * @param seed the seed for its random numbers
+     */
+    private void run(int run, long seed) {
+        Random previous = Distribution.random.getThreadRandom();
+        Distribution.random.setThreadRandom(new Random(seed));
+        try {
+            while (iterationsDone[run] < iterations[run] && !shouldStop()) {
+                runs[run].train();
+                iterationsDone[run]++;
+            }
+        } finally {
+            Distribution.random.setThreadRandom(previous);
+        }
+    }
+
+    /**
+     * Check whether the portfolio should stop
+     * @return true if it should
+     */
+    private boolean shouldStop() {
+        if (!stopped && (isTargetReached()
+                || counter.getCount() - startCount >= evaluationLimit
+                || System.currentTimeMillis() - startTime >= timeLimit)) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    /**
+     * Whether the target value has been reached
+     * @return true if it has
+     */
+    public boolean isTargetReached() {
+        return counter.getBestValue() >= target;
+    }
+
+    /**
+     * Get the best value found
+     * @return the best value
+     */
+    public double getBestValue() {
+        return counter.getBestValue();
+    }
+
+    /**
+     * Get the number of evaluations the last run of the portfolio made
+     * @return the number of evaluations
+     */
+    public long getEvaluations() {
+        return counter.getCount() - startCount;
+    }
+
+    /**
+     * Get the time the last run of the portfolio took
+     * @return the time in milliseconds
+     */
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /**
+     * Get the number of iterations each run did
+     * @return the iterations
+     */
+    public int[] getIterations() {
+        return (int[]) iterationsDone.clone();
+    }
+
+}
@@ -20,18 +20,41 @@ public class RandomizedHillClimbing extends OptimizationAlgorithm {
     private double curVal;
     
     /**
-     * Make a new randomized hill climbing
+     * The reused move when moving in place, or null
+     */
+    private Move move;
+    
+    /**
+     * Make a new randomized hill climbing, problems that were
+     * made to move in place are searched without copying
+     * @param hcp the problem to solve
+     * @see opt.GenericHillClimbingProblem#GenericHillClimbingProblem(EvaluationFunction, dist.Distribution, NeighborFunction, boolean)
      */
     public RandomizedHillClimbing(HillClimbingProblem hcp) {
         super(hcp);
         cur = hcp.random();
         curVal = hcp.value(cur);
+        if (hcp instanceof InPlaceHillClimbingProblem
+                && ((InPlaceHillClimbingProblem) hcp).isInPlace()) {
+            move = new Move();
+        }
     }
 
     /**
      * @see shared.Trainer#train()
      */
     public double train() {
+        if (move != null) {
+            InPlaceHillClimbingProblem p = (InPlaceHillClimbingProblem) getOptimizationProblem();
+            p.move(cur, move);
+            double neighVal = p.value(cur, curVal, move);
+            if (neighVal > curVal) {
+                curVal = neighVal;
+            } else {
+                move.undo(cur);
+            }
+            return curVal;
+        }
         HillClimbingProblem hcp = (HillClimbingProblem) getOptimizationProblem();
         Instance neigh = hcp.neighbor(cur);
         double neighVal = hcp.value(neigh);
@@ -43,10 +66,12 @@ public class RandomizedHillClimbing extends OptimizationAlgorithm {
     }
 
     /**
+     * The current instance is changed by later moves when
+     * moving in place, so a copy is returned in that case
      * @see opt.OptimizationAlgorithm#getOptimalData()
      */
     public Instance getOptimal() {
-        return cur;
+        return move == null ? cur : (Instance) cur.copy();
     }
 
 }
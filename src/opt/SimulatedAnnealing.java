@@ -32,7 +32,13 @@ public class SimulatedAnnealing extends OptimizationAlgorithm {
     private double cooling;
     
     /**
-     * Make a new simulated annealing hill climbing
+     * The reused move when moving in place, or null
+     */
+    private Move move;
+    
+    /**
+     * Make a new simulated annealing hill climbing, problems
+     * that were made to move in place are searched without copying
      * @param t the starting temperature
      * @param cooling the cooling exponent
      * @param hcp the problem to solve
@@ -43,12 +49,29 @@ public class SimulatedAnnealing extends OptimizationAlgorithm {
         this.cooling = cooling;
         this.cur = hcp.random();
         this.curVal = hcp.value(cur);
+        if (hcp instanceof InPlaceHillClimbingProblem
+                && ((InPlaceHillClimbingProblem) hcp).isInPlace()) {
+            move = new Move();
+        }
     }
 
     /**
      * @see shared.Trainer#train()
      */
     public double train() {
+        if (move != null) {
+            InPlaceHillClimbingProblem p = (InPlaceHillClimbingProblem) getOptimizationProblem();
+            p.move(cur, move);
+            double neighVal = p.value(cur, curVal, move);
+            if (neighVal > curVal || Distribution.random.nextDouble() < 
+                    Math.exp((neighVal - curVal) / t)) {
+                curVal = neighVal;
+            } else {
+                move.undo(cur);
+            }
+            t *= cooling;
+            return curVal;
+        }
         HillClimbingProblem p = (HillClimbingProblem) getOptimizationProblem();
         Instance neigh = p.neighbor(cur);
         double neighVal = p.value(neigh);
@@ -62,10 +85,12 @@ public class SimulatedAnnealing extends OptimizationAlgorithm {
     }
 
     /**
+     * The current instance is changed by later moves when
+     * moving in place, so a copy is returned in that case
      * @see opt.OptimizationAlgorithm#getOptimal()
      */
     public Instance getOptimal() {
-        return cur;
+        return move == null ? cur : (Instance) cur.copy();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package opt;
+
+import shared.Instance;
+
+/**
+ * A base for delta evaluation functions whose value alone is not
+ * enough to score a move, like a knapsack that needs its total
+ * volume.  The running totals, the state, are kept in the move,
+ * which the search owns along with the instance it moves, so the
+ * state follows the instance whatever thread the search runs on.
+ * The state is computed from scratch the first time a move is
+ * scored and again after as many kept moves as the instance has
+ * indices, so totals summed in floating point do not drift.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public abstract class StatefulDeltaEvaluationFunction implements DeltaEvaluationFunction {
+
+    /**
+     * Compute the state of an instance from scratch
+     * @param d the instance
+     * @return the state
+     */
+    public abstract double[] state(Instance d);
+
+    /**
+     * Update a state for a move
+     * @param state the state before the move, updated in place
+     * @param d the instance after the move
+     * @param move the move
+     */
+    public abstract void update(double[] state, Instance d, Move move);
+
+    /**
+     * Get the value of a state
+     * @param state the state
+     * @param d the instance the state is of
+     * @return the value
+     */
+    public abstract double value(double[] state, Instance d);
+
+    /**
+     * @see opt.EvaluationFunction#value(shared.Instance)
+     */
+    public double value(Instance d) {
+        return value(state(d), d);
+    }
+
+    /**
+     * @see opt.DeltaEvaluationFunction#value(shared.Instance, double, opt.Move)
+     */
+    public double value(Instance d, double value, Move move) {
+        double[] before = move.getState(this);
+        if (before == null || move.getStateAge() >= d.size()) {
+            // score the instance as it was before the move from scratch
+            move.undo(d);
+            before = state(d);
+            move.redo(d);
+            move.setState(this, before);
+        }
+        double[] after = move.getNextState();
+        System.arraycopy(before, 0, after, 0, before.length);
+        update(after, d, move);
+        return value(after, d);
+    }
+}
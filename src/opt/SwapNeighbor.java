@@ -9,18 +9,26 @@ import shared.Instance;
  * @author Andrew Guillory gtg008g@mail.gatech.edu
  * @version 1.0
  */
-public class SwapNeighbor implements NeighborFunction {
+public class SwapNeighbor implements InPlaceNeighborFunction {
     
     /**
      * @see opt.ga.MutationFunction#mutate(opt.OptimizationData)
      */
     public Instance neighbor(Instance d) {
         Instance cod = (Instance) d.copy();
-        int i = Distribution.random.nextInt(cod.getData().size());
-        int j = Distribution.random.nextInt(cod.getData().size());
-        double temp = cod.getContinuous(i);
-        cod.getData().set(i, cod.getContinuous(j));
-        cod.getData().set(j, temp);
+        move(cod, new Move(2));
         return cod;
     }
+
+    /**
+     * @see opt.InPlaceNeighborFunction#move(shared.Instance, opt.Move)
+     */
+    public void move(Instance d, Move move) {
+        move.clear();
+        int i = Distribution.random.nextInt(d.getData().size());
+        int j = Distribution.random.nextInt(d.getData().size());
+        double temp = d.getContinuous(i);
+        move.set(d, i, d.getContinuous(j));
+        move.set(d, j, temp);
+    }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package opt.example;
 
+import util.linalg.BitVector;
 import util.linalg.Vector;
-import opt.EvaluationFunction;
+import opt.DeltaEvaluationFunction;
+import opt.Move;
 import shared.Instance;
 
 /**
@@ -9,12 +11,15 @@ import shared.Instance;
  * @author Andrew Guillory gtg008g@mail.gatech.edu
  * @version 1.0
  */
-public class CountOnesEvaluationFunction implements EvaluationFunction {
+public class CountOnesEvaluationFunction implements DeltaEvaluationFunction {
     /**
      * @see opt.EvaluationFunction#value(opt.OptimizationData)
      */
     public double value(Instance d) {
         Vector data = d.getData();
+        if (data instanceof BitVector) {
+            return ((BitVector) data).cardinality();
+        }
         double val = 0;
         for (int i = 0; i < data.size(); i++) {
             if (data.get(i) == 1) {
@@ -23,4 +28,22 @@ public class CountOnesEvaluationFunction implements EvaluationFunction {
         }
         return val;
     }
+
+    /**
+     * @see opt.DeltaEvaluationFunction#value(shared.Instance, double, opt.Move)
+     */
+    public double value(Instance d, double value, Move move) {
+        for (int k = 0; k < move.size(); k++) {
+            if (move.isFirst(k)) {
+                int i = move.getIndex(k);
+                if (move.getOldValue(k) == 1) {
+                    value--;
+                }
+                if (d.getContinuous(i) == 1) {
+                    value++;
+                }
+            }
+        }
+        return value;
+    }
 }
\ No newline at end of file
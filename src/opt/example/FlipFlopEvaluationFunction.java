@@ -1,5 +1,6 @@
 package opt.example;
 
+import util.linalg.BitVector;
 import util.linalg.Vector;
 import opt.EvaluationFunction;
 import shared.Instance;
@@ -15,6 +16,9 @@ public class FlipFlopEvaluationFunction implements EvaluationFunction {
      */
     public double value(Instance d) {
         Vector data = d.getData();
+        if (data instanceof BitVector) {
+            return value((BitVector) data);
+        }
         double val = 0;
         for (int i = 0; i < data.size() - 1; i++) {
             if (data.get(i) != data.get(i + 1)) {
@@ -23,4 +27,27 @@ public class FlipFlopEvaluationFunction implements EvaluationFunction {
         }
         return val;
     }
+
+    /**
+     * Count the flips in a bit string a word at a time by
+     * lining each word up against the next bit of the string
+     * @param data the bits
+     * @return the number of flips
+     */
+    private double value(BitVector data) {
+        if (data.size() == 0) {
+            return 0;
+        }
+        long[] words = data.getWords();
+        int val = 0;
+        for (int w = 0; w < words.length; w++) {
+            long next = words[w] >>> 1;
+            if (w + 1 < words.length) {
+                next |= words[w + 1] << 63;
+            }
+            val += Long.bitCount(words[w] ^ next);
+        }
+        // the last bit was compared against the zero past the end
+        return data.getBit(data.size() - 1) ? val - 1 : val;
+    }
 }
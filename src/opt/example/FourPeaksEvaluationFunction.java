@@ -1,7 +1,9 @@
 package opt.example;
 
+import util.linalg.BitVector;
 import util.linalg.Vector;
-import opt.EvaluationFunction;
+import opt.Move;
+import opt.StatefulDeltaEvaluationFunction;
 import shared.Instance;
 
 /**
@@ -9,7 +11,7 @@ import shared.Instance;
  * @author Andrew Guillory gtg008g@mail.gatech.edu
  * @version 1.0
  */
-public class FourPeaksEvaluationFunction implements EvaluationFunction {
+public class FourPeaksEvaluationFunction extends StatefulDeltaEvaluationFunction {
     /**
      * The t value
      */
@@ -28,22 +30,106 @@ public class FourPeaksEvaluationFunction implements EvaluationFunction {
      */
     public double value(Instance d) {
         Vector data = d.getData();
+        return value(head(data), tail(data), data.size());
+    }
+
+    /**
+     * The state is the number of leading ones and trailing zeros
+     * @see opt.StatefulDeltaEvaluationFunction#state(shared.Instance)
+     */
+    public double[] state(Instance d) {
+        Vector data = d.getData();
+        return new double[] { head(data), tail(data) };
+    }
+
+    /**
+     * Count the leading ones
+     * @param data the data
+     * @return the number of leading ones
+     */
+    private static int head(Vector data) {
+        if (data instanceof BitVector) {
+            return ((BitVector) data).nextClearBit(0);
+        }
         int i = 0;
         while (i < data.size() && data.get(i) == 1) {
             i++;
         }
-        int head = i;
-        i = data.size() - 1;
+        return i;
+    }
+
+    /**
+     * Count the trailing zeros
+     * @param data the data
+     * @return the number of trailing zeros
+     */
+    private static int tail(Vector data) {
+        int n = data.size();
+        if (data instanceof BitVector) {
+            return n - 1 - ((BitVector) data).previousSetBit(n - 1);
+        }
+        int i = n - 1;
         while (i >= 0 && data.get(i) == 0) {
             i--;
         }
-        int tail = data.size() - 1 - i;
+        return n - 1 - i;
+    }
+
+    /**
+     * Only scans past the old ends of the runs when a move
+     * extends them, so most moves take constant time
+     * @see opt.StatefulDeltaEvaluationFunction#update(double[], shared.Instance, opt.Move)
+     */
+    public void update(double[] state, Instance d, Move move) {
+        Vector data = d.getData();
+        int n = data.size();
+        int head = (int) state[0];
+        int tailStart = n - (int) state[1];
+        int newHead = head;
+        int newTailStart = tailStart;
+        for (int k = 0; k < move.size(); k++) {
+            int i = move.getIndex(k);
+            if (i < newHead && data.get(i) != 1) {
+                newHead = i;
+            }
+            if (i + 1 > newTailStart && data.get(i) != 0) {
+                newTailStart = i + 1;
+            }
+        }
+        if (newHead == head) {
+            while (newHead < n && data.get(newHead) == 1) {
+                newHead++;
+            }
+        }
+        if (newTailStart == tailStart) {
+            while (newTailStart > 0 && data.get(newTailStart - 1) == 0) {
+                newTailStart--;
+            }
+        }
+        state[0] = newHead;
+        state[1] = n - newTailStart;
+    }
+
+    /**
+     * @see opt.StatefulDeltaEvaluationFunction#value(double[], shared.Instance)
+     */
+    public double value(double[] state, Instance d) {
+        return value((int) state[0], (int) state[1], d.size());
+    }
+
+    /**
+     * Score the runs
+     * @param head the number of leading ones
+     * @param tail the number of trailing zeros
+     * @param n the size of the instance
+     * @return the value
+     */
+    private double value(int head, int tail, int n) {
         int r = 0;
         if (head > t && tail > t) {
-            r = data.size();
+            r = n;
         }
         return Math.max(tail, head) + r;
     }
-    
-    
+
 }
@@ -1,7 +1,9 @@
 package opt.example;
 
+import util.linalg.BitVector;
 import util.linalg.Vector;
-import opt.EvaluationFunction;
+import opt.Move;
+import opt.StatefulDeltaEvaluationFunction;
 import shared.Instance;
 
 /**
@@ -9,7 +11,7 @@ import shared.Instance;
  * @author Andrew Guillory gtg008g@mail.gatech.edu
  * @version 1.0
  */
-public class KnapsackEvaluationFunction implements EvaluationFunction {
+public class KnapsackEvaluationFunction extends StatefulDeltaEvaluationFunction {
     
     /**
      * The weights for the things that can be put in the sack
@@ -55,17 +57,79 @@ public class KnapsackEvaluationFunction implements EvaluationFunction {
         Vector data = d.getData();
         double volume = 0;
         double value = 0;
+        if (data instanceof BitVector) {
+            BitVector bits = (BitVector) data;
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                volume += volumes[i];
+                value += weights[i];
+            }
+        } else {
+            for (int i = 0; i < data.size(); i++) {
+                volume += volumes[i] * data.get(i);
+                value += weights[i] * data.get(i);
+            }
+        }
+        return value(volume, value);
+    }
+
+    /**
+     * The state is the total volume and the total value
+     * @see opt.StatefulDeltaEvaluationFunction#state(shared.Instance)
+     */
+    public double[] state(Instance d) {
+        Vector data = d.getData();
+        double volume = 0;
+        double value = 0;
+        if (data instanceof BitVector) {
+            BitVector bits = (BitVector) data;
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                volume += volumes[i];
+                value += weights[i];
+            }
+            return new double[] { volume, value };
+        }
         for (int i = 0; i < data.size(); i++) {
             volume += volumes[i] * data.get(i);
             value += weights[i] * data.get(i);
         }
+        return new double[] { volume, value };
+    }
+
+    /**
+     * @see opt.StatefulDeltaEvaluationFunction#update(double[], shared.Instance, opt.Move)
+     */
+    public void update(double[] state, Instance d, Move move) {
+        for (int k = 0; k < move.size(); k++) {
+            if (move.isFirst(k)) {
+                int i = move.getIndex(k);
+                double change = d.getContinuous(i) - move.getOldValue(k);
+                state[0] += volumes[i] * change;
+                state[1] += weights[i] * change;
+            }
+        }
+    }
+
+    /**
+     * @see opt.StatefulDeltaEvaluationFunction#value(double[], shared.Instance)
+     */
+    public double value(double[] state, Instance d) {
+        return value(state[0], state[1]);
+    }
+
+    /**
+     * Score the totals
+     * @param volume the total volume
+     * @param value the total value
+     * @return the value, or a small number
+     * falling with the volume if it is too large
+     */
+    private double value(double volume, double value) {
         if (volume > maxVolume) {
             double smallNumber = 1E-10;
             return smallNumber*(maxVolumeSum - volume);
         } else {
             return value;
         }
-        
     }
 
 }
@@ -1,14 +1,31 @@
 package opt.example;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import util.linalg.DenseVector;
 import util.linalg.Vector;
 import func.nn.NeuralNetwork;
+import func.nn.compiled.CompiledNetwork;
+import func.nn.compiled.NetworkBatch;
 import opt.EvaluationFunction;
+import shared.ColumnarDataSet;
 import shared.DataSet;
 import shared.ErrorMeasure;
 import shared.Instance;
 
 /**
- * An evaluation function that uses a neural network
+ * An evaluation function that uses a neural network.
+ * The network holds the state of a run, so threads other than
+ * the one that made this function each evaluate on their own
+ * copy of the network, which makes the function safe to use
+ * for parallel population evaluation.  A compiled network can
+ * also score many weight vectors at once, running a block of
+ * the examples through with each weight vector in turn while
+ * the block's inputs stay in cache.
  * @author Andrew Guillory gtg008g@mail.gatech.edu
  * @version 1.0
  */
@@ -26,6 +43,36 @@ public class NeuralNetworkEvaluationFunction implements EvaluationFunction {
      */
     private ErrorMeasure measure;
     
+    /**
+     * The thread that made this function, which uses the network itself
+     */
+    private Thread owner;
+    
+    /**
+     * The serialized network that copies are made from
+     */
+    private byte[] template;
+    
+    /**
+     * The copies of the network for other threads
+     */
+    private ThreadLocal<NeuralNetwork> copies = new ThreadLocal<NeuralNetwork>();
+
+    /**
+     * The number of examples run through a compiled network at once
+     */
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * The packed examples, when the network is compiled
+     */
+    private ColumnarDataSet packed;
+
+    /**
+     * The batch state for each thread, when the network is compiled
+     */
+    private ThreadLocal<NetworkBatch> batches = new ThreadLocal<NetworkBatch>();
+    
     /**
      * Make a new neural network evaluation function
      * @param network the network
@@ -37,12 +84,18 @@ public class NeuralNetworkEvaluationFunction implements EvaluationFunction {
         this.network = network;
         this.examples = examples;
         this.measure = measure;
+        this.owner = Thread.currentThread();
+        if (network instanceof CompiledNetwork) {
+            packed = examples instanceof ColumnarDataSet
+                ? (ColumnarDataSet) examples : new ColumnarDataSet(examples);
+        }
     }
 
     /**
      * @see opt.OptimizationProblem#value(opt.OptimizationData)
      */
     public double value(Instance d) {
+        NeuralNetwork network = getNetwork();
         // set the links
         Vector weights = d.getData();
         network.setWeights(weights);
@@ -57,4 +110,103 @@ public class NeuralNetworkEvaluationFunction implements EvaluationFunction {
         return 1 / error;
     }
 
+    /**
+     * Evaluate many weight vectors, with a compiled network
+     * as a batched product and otherwise one at a time
+     * @param instances the weight vectors
+     * @param values the values to fill in
+     * @param indices the indices of the weight vectors to evaluate
+     * @param start the first index to use (inclusive)
+     * @param end the last index to use (exclusive)
+     */
+    public void value(Instance[] instances, double[] values,
+            int[] indices, int start, int end) {
+        if (packed == null) {
+            for (int i = start; i < end; i++) {
+                values[indices[i]] = value(instances[indices[i]]);
+            }
+            return;
+        }
+        CompiledNetwork compiled = (CompiledNetwork) network;
+        NetworkBatch batch = batches.get();
+        if (batch == null) {
+            batch = compiled.createBatch(Math.max(1, Math.min(BATCH_SIZE, packed.size())));
+            batches.set(batch);
+        }
+        double[][] weights = new double[end - start][];
+        for (int i = start; i < end; i++) {
+            Vector data = instances[indices[i]].getData();
+            weights[i - start] = data instanceof DenseVector
+                ? ((DenseVector) data).getData() : copy(data);
+        }
+        double[] errors = new double[end - start];
+        for (int first = 0; first < packed.size(); first += batch.getCapacity()) {
+            int count = Math.min(batch.getCapacity(), packed.size() - first);
+            batch.setInputs(packed.getData(), first, count);
+            for (int i = 0; i < weights.length; i++) {
+                compiled.run(batch, weights[i]);
+                errors[i] += batch.getError(measure, packed, first);
+            }
+        }
+        for (int i = start; i < end; i++) {
+            values[indices[i]] = 1 / errors[i - start];
+        }
+    }
+
+    /**
+     * Copy a vector into an array
+     * @param vector the vector
+     * @return the array
+     */
+    private static double[] copy(Vector vector) {
+        double[] data = new double[vector.size()];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = vector.get(i);
+        }
+        return data;
+    }
+
+    /**
+     * Get the network for the calling thread
+     * @return the network
+     */
+    private NeuralNetwork getNetwork() {
+        if (Thread.currentThread() == owner) {
+            return network;
+        }
+        NeuralNetwork copy = copies.get();
+        if (copy == null) {
+            copy = copyNetwork();
+            copies.set(copy);
+        }
+        return copy;
+    }
+
+    /**
+     * Make a new copy of the network, the weights of the
+     * copy do not matter since they are set before each run
+     * @return the copy
+     */
+    private NeuralNetwork copyNetwork() {
+        try {
+            synchronized (this) {
+                if (template == null) {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    ObjectOutputStream out = new ObjectOutputStream(bytes);
+                    out.writeObject(network);
+                    out.close();
+                    template = bytes.toByteArray();
+                }
+            }
+            ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(template));
+            NeuralNetwork copy = (NeuralNetwork) in.readObject();
+            in.close();
+            return copy;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not copy the network: " + e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Could not copy the network: " + e);
+        }
+    }
+
 }
@@ -2,8 +2,10 @@ package opt.example;
 
 import dist.Distribution;
 
+import opt.BatchOptimizationProblem;
 import opt.ContinuousAddOneNeighbor;
-import opt.EvaluationFunction;
+import opt.CountingOptimizationProblem;
+import opt.EvaluationCounter;
 import opt.HillClimbingProblem;
 import opt.NeighborFunction;
 import opt.ga.ContinuousAddOneMutation;
@@ -22,12 +24,14 @@ import func.nn.NeuralNetwork;
  * @author Andrew Guillory gtg008g@mail.gatech.edu
  * @version 1.0
  */
-public class NeuralNetworkOptimizationProblem implements HillClimbingProblem, GeneticAlgorithmProblem {
+public class NeuralNetworkOptimizationProblem implements HillClimbingProblem,
+        GeneticAlgorithmProblem, CountingOptimizationProblem,
+        BatchOptimizationProblem {
 
     /**
      * The evaluation function
      */
-    private EvaluationFunction eval;
+    private NeuralNetworkEvaluationFunction eval;
     /**
      * The cross over function
      */
@@ -44,6 +48,10 @@ public class NeuralNetworkOptimizationProblem implements HillClimbingProblem, Ge
      * The distribution
      */
     private Distribution dist;
+    /**
+     * The evaluation counter
+     */
+    private EvaluationCounter counter = new EvaluationCounter();
     
     /**
      * Make a new neural network optimization
@@ -64,7 +72,18 @@ public class NeuralNetworkOptimizationProblem implements HillClimbingProblem, Ge
      * @see opt.OptimizationProblem#value(opt.OptimizationData)
      */
     public double value(Instance d) {
-        return eval.value(d);
+        return counter.record(d, eval.value(d));
+    }
+
+    /**
+     * @see opt.BatchOptimizationProblem#value(shared.Instance[], double[], int[], int, int)
+     */
+    public void value(Instance[] instances, double[] values,
+            int[] indices, int start, int end) {
+        eval.value(instances, values, indices, start, end);
+        for (int i = start; i < end; i++) {
+            counter.record(instances[indices[i]], values[indices[i]]);
+        }
     }
 
     /**
@@ -96,4 +115,11 @@ public class NeuralNetworkOptimizationProblem implements HillClimbingProblem, Ge
         mutate.mutate(d);
     }
 
+    /**
+     * @see opt.CountingOptimizationProblem#getEvaluationCounter()
+     */
+    public EvaluationCounter getEvaluationCounter() {
+        return counter;
+    }
+
 }
@@ -1,5 +1,7 @@
 package opt.example;
 
+import opt.DeltaEvaluationFunction;
+import opt.Move;
 import shared.Instance;
 
 /**
@@ -10,7 +12,8 @@ import shared.Instance;
  * @author Andrew Guillory gtg008g@mail.gatech.edu
  * @version 1.0
  */
-public class TravelingSalesmanRouteEvaluationFunction extends TravelingSalesmanEvaluationFunction {
+public class TravelingSalesmanRouteEvaluationFunction extends TravelingSalesmanEvaluationFunction
+        implements DeltaEvaluationFunction {
 
     /**
      * Make a new route evaluation function
@@ -24,13 +27,75 @@ public class TravelingSalesmanRouteEvaluationFunction extends TravelingSalesmanE
      * @see opt.EvaluationFunction#value(opt.OptimizationData)
      */
     public double value(Instance d) {
+        return 1/distance(d);
+    }
+
+    /**
+     * Get the length of a route
+     * @param d the route
+     * @return the length
+     */
+    private double distance(Instance d) {
         double distance = 0;
         for (int i = 0; i < d.size() - 1; i++) {
             distance += getDistance(d.getDiscrete(i), d.getDiscrete(i+1));
         }
         distance += getDistance(d.getDiscrete(d.size() - 1), d.getDiscrete(0));
-        return 1/distance;
+        return distance;
     }
 
+    /**
+     * Only the edges next to the changed positions are looked at.
+     * The length of the route is kept in the move and adjusted
+     * for each move rather than taken from the value, and it is
+     * summed from scratch once every n kept moves so that the
+     * rounding of the adjustments does not build up.
+     * @see opt.DeltaEvaluationFunction#value(shared.Instance, double, opt.Move)
+     */
+    public double value(Instance d, double value, Move move) {
+        int n = d.size();
+        double[] before = move.getState(this);
+        if (before == null || move.getStateAge() >= n) {
+            move.undo(d);
+            before = new double[] { distance(d) };
+            move.redo(d);
+            move.setState(this, before);
+        }
+        double distance = before[0];
+        // the edges that changed, edge e runs from position e to e + 1
+        int[] edges = move.getScratch(2 * move.size());
+        int count = 0;
+        for (int k = 0; k < move.size(); k++) {
+            int i = move.getIndex(k);
+            count = addEdge(edges, count, (i + n - 1) % n);
+            count = addEdge(edges, count, i);
+        }
+        for (int k = 0; k < count; k++) {
+            int a = edges[k];
+            int b = (a + 1) % n;
+            distance -= getDistance((int) move.getValueBefore(d, a),
+                (int) move.getValueBefore(d, b));
+            distance += getDistance(d.getDiscrete(a), d.getDiscrete(b));
+        }
+        move.getNextState()[0] = distance;
+        return 1 / distance;
+    }
+
+    /**
+     * Add an edge to a list if it is not there already
+     * @param edges the list
+     * @param count the size of the list
+     * @param edge the edge
+     * @return the new size
+     */
+    private static int addEdge(int[] edges, int count, int edge) {
+        for (int k = 0; k < count; k++) {
+            if (edges[k] == edge) {
+                return count;
+            }
+        }
+        edges[count] = edge;
+        return count + 1;
+    }
 
 }
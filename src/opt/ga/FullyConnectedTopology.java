@@ -0,0 +1,24 @@
+package opt.ga;
+
+/**
+ * A topology where each island sends migrants to every other
+ * island, so good individuals spread immediately
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class FullyConnectedTopology implements MigrationTopology {
+
+    /**
+     * @see opt.ga.MigrationTopology#destinations(int, int)
+     */
+    public int[] destinations(int island, int islands) {
+        int[] result = new int[Math.max(0, islands - 1)];
+        for (int i = 0, j = 0; i < islands; i++) {
+            if (i != island) {
+                result[j++] = i;
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,276 @@
+package opt.ga;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import dist.Distribution;
+
+import opt.OptimizationAlgorithm;
+import shared.Instance;
+import util.ParallelTasks;
+
+/**
+ * An island model genetic algorithm.  Several populations, the
+ * islands, evolve independently, each as a standard genetic
+ * algorithm, and every so often the best few individuals of each
+ * island are copied to its neighbors in the migration topology,
+ * replacing their worst individuals.  Keeping the populations
+ * mostly apart holds on to more diversity than one big population,
+ * which helps on deceptive problems, and the islands can evolve
+ * on separate threads.
+ * Each island draws its random numbers from a generator of its own
+ * seeded from Distribution.random when the algorithm is made, so a
+ * seeded run gives the same result whatever the number of threads.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class IslandGeneticAlgorithm extends OptimizationAlgorithm {
+    /**
+     * The islands
+     */
+    private StandardGeneticAlgorithm[] islands;
+
+    /**
+     * The random number generators of the islands
+     */
+    private Random[] randoms;
+
+    /**
+     * The results of the last generation on each island
+     */
+    private double[] results;
+
+    /**
+     * The number of generations between migrations
+     */
+    private int migrationInterval;
+
+    /**
+     * The number of individuals each island sends
+     */
+    private int migrants;
+
+    /**
+     * The migration topology
+     */
+    private MigrationTopology topology;
+
+    /**
+     * The executor the islands run on, or null
+     */
+    private ExecutorService executor;
+
+    /**
+     * Make a new island genetic algorithm
+     * @param islandCount the number of islands
+     * @param populationSize the population size of each island
+     * @param toMate the number to mate each generation on each island
+     * @param toMutate the number to mutate each generation on each island
+     * @param gap the problem to solve
+     * @param migrationInterval the number of generations between migrations
+     * @param migrants the number of individuals each island sends
+     * @param topology the migration topology
+     * @param executor the executor to run the islands on, or null
+     * to run them on the calling thread
+     */
+    public IslandGeneticAlgorithm(int islandCount, final int populationSize,
+            final int toMate, final int toMutate, final GeneticAlgorithmProblem gap,
+            int migrationInterval, int migrants, MigrationTopology topology,
+            ExecutorService executor) {
+        super(gap);
+        this.migrationInterval = migrationInterval;
+        this.migrants = Math.min(migrants, populationSize);
+        this.topology = topology;
+        this.executor = executor;
+        islands = new StandardGeneticAlgorithm[islandCount];
+        randoms = new Random[islandCount];
+        results = new double[islandCount];
+        for (int i = 0; i < islandCount; i++) {
+            randoms[i] = new Random(Distribution.random.nextLong());
+        }
+        runIslands(new IslandTask() {
+            public void run(int island) {
+                islands[island] = new StandardGeneticAlgorithm(
+                    populationSize, toMate, toMutate, gap);
+            }
+        });
+    }
+
+    /**
+     * Make a new island genetic algorithm with a ring topology
+     * @param islandCount the number of islands
+     * @param populationSize the population size of each island
+     * @param toMate the number to mate each generation on each island
+     * @param toMutate the number to mutate each generation on each island
+     * @param gap the problem to solve
+     * @param migrationInterval the number of generations between migrations
+     * @param migrants the number of individuals each island sends
+     * @param executor the executor to run the islands on, or null
+     */
+    public IslandGeneticAlgorithm(int islandCount, int populationSize,
+            int toMate, int toMutate, GeneticAlgorithmProblem gap,
+            int migrationInterval, int migrants, ExecutorService executor) {
+        this(islandCount, populationSize, toMate, toMutate, gap,
+            migrationInterval, migrants, new RingTopology(), executor);
+    }
+
+    /**
+     * Run every island for the migration interval's number of
+     * generations and then migrate
+     * @return the average of the islands' average values
+     * @see shared.Trainer#train()
+     */
+    public double train() {
+        runIslands(new IslandTask() {
+            public void run(int island) {
+                for (int i = 0; i < migrationInterval; i++) {
+                    results[island] = islands[island].train();
+                }
+            }
+        });
+        migrate();
+        double sum = 0;
+        for (int i = 0; i < results.length; i++) {
+            sum += results[i];
+        }
+        return sum / results.length;
+    }
+
+    /**
+     * Copy the best individuals of each island over the
+     * worst individuals of its destinations
+     */
+    private void migrate() {
+        if (migrants == 0 || islands.length < 2) {
+            return;
+        }
+        List<List<Instance>> incoming = new ArrayList<List<Instance>>();
+        List<List<Double>> incomingValues = new ArrayList<List<Double>>();
+        for (int i = 0; i < islands.length; i++) {
+            incoming.add(new ArrayList<Instance>());
+            incomingValues.add(new ArrayList<Double>());
+        }
+        for (int i = 0; i < islands.length; i++) {
+            Instance[] population = islands[i].getPopulation();
+            double[] values = islands[i].getValues();
+            Integer[] order = order(values);
+            int[] destinations = topology.destinations(i, islands.length);
+            for (int j = 0; j < destinations.length; j++) {
+                for (int k = 0; k < migrants; k++) {
+                    int best = order[order.length - 1 - k].intValue();
+                    incoming.get(destinations[j]).add((Instance) population[best].copy());
+                    incomingValues.get(destinations[j]).add(Double.valueOf(values[best]));
+                }
+            }
+        }
+        for (int i = 0; i < islands.length; i++) {
+            Integer[] order = order(islands[i].getValues());
+            int count = Math.min(incoming.get(i).size(), order.length);
+            for (int k = 0; k < count; k++) {
+                islands[i].replace(order[k].intValue(), incoming.get(i).get(k),
+                    incomingValues.get(i).get(k).doubleValue());
+            }
+        }
+    }
+
+    /**
+     * Order the indices of a population from worst to best,
+     * ties keep their index order so migration is repeatable
+     * @param values the values of the population
+     * @return the ordered indices
+     */
+    private static Integer[] order(final double[] values) {
+        Integer[] order = new Integer[values.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = Integer.valueOf(i);
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            public int compare(Integer a, Integer b) {
+                return Double.compare(values[a.intValue()], values[b.intValue()]);
+            }
+        });
+        return order;
+    }
+
+    /**
+     * Run a task once for each island, each with the island's
+     * own random number generator installed
+     * @param task the task
+     */
+    private void runIslands(final IslandTask task) {
+        if (executor == null) {
+            for (int i = 0; i < islands.length; i++) {
+                runIsland(task, i);
+            }
+            return;
+        }
+        List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+        for (int i = 0; i < islands.length; i++) {
+            final int island = i;
+            tasks.add(new Callable<Object>() {
+                public Object call() {
+                    runIsland(task, island);
+                    return null;
+                }
+            });
+        }
+        ParallelTasks.invokeAll(executor, tasks);
+    }
+
+    /**
+     * Run a task for one island on the calling thread
+     * @param task the task
+     * @param island the island
+     */
+    private void runIsland(IslandTask task, int island) {
+        Random previous = Distribution.random.getThreadRandom();
+        Distribution.random.setThreadRandom(randoms[island]);
+        try {
+            task.run(island);
+        } finally {
+            Distribution.random.setThreadRandom(previous);
+        }
+    }
+
+    /**
+     * @see opt.OptimizationAlgorithm#getOptimal()
+     */
+    public Instance getOptimal() {
+        Instance best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < islands.length; i++) {
+            double[] values = islands[i].getValues();
+            for (int j = 0; j < values.length; j++) {
+                if (best == null || values[j] > bestValue) {
+                    best = islands[i].getPopulation()[j];
+                    bestValue = values[j];
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Get the islands
+     * @return the islands
+     */
+    public StandardGeneticAlgorithm[] getIslands() {
+        return islands;
+    }
+
+    /**
+     * Something done to each island
+     */
+    private static abstract class IslandTask {
+        /**
+         * Do the task for an island
+         * @param island the island
+         */
+        public abstract void run(int island);
+    }
+}
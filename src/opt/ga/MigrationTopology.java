@@ -0,0 +1,18 @@
+package opt.ga;
+
+/**
+ * Decides which islands an island sends its migrants to
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public interface MigrationTopology {
+
+    /**
+     * Get the islands an island sends migrants to
+     * @param island the sending island
+     * @param islands the total number of islands
+     * @return the receiving islands
+     */
+    public abstract int[] destinations(int island, int islands);
+
+}
@@ -0,0 +1,27 @@
+package opt.ga;
+
+import dist.Distribution;
+
+/**
+ * A topology where each island sends migrants to one other
+ * island chosen at random at every migration
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class RandomTopology implements MigrationTopology {
+
+    /**
+     * @see opt.ga.MigrationTopology#destinations(int, int)
+     */
+    public int[] destinations(int island, int islands) {
+        if (islands < 2) {
+            return new int[0];
+        }
+        int destination = Distribution.random.nextInt(islands - 1);
+        if (destination >= island) {
+            destination++;
+        }
+        return new int[] { destination };
+    }
+
+}
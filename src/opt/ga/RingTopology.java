@@ -0,0 +1,21 @@
+package opt.ga;
+
+/**
+ * A topology where each island sends migrants to the next,
+ * so good individuals spread slowly around the ring
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class RingTopology implements MigrationTopology {
+
+    /**
+     * @see opt.ga.MigrationTopology#destinations(int, int)
+     */
+    public int[] destinations(int island, int islands) {
+        if (islands < 2) {
+            return new int[0];
+        }
+        return new int[] { (island + 1) % islands };
+    }
+
+}
@@ -3,6 +3,7 @@ package opt.ga;
 import dist.Distribution;
 
 import shared.Instance;
+import util.linalg.BitVector;
 
 /**
  * A single point cross over function
@@ -15,8 +16,11 @@ public class SingleCrossOver implements CrossoverFunction {
      * @see opt.CrossOverFunction#mate(opt.OptimizationData, opt.OptimizationData)
      */
     public Instance mate(Instance a, Instance b) {
+        int point = Distribution.random.nextInt(a.size() + 1);
+        if (a.getData() instanceof BitVector && b.getData() instanceof BitVector) {
+            return mate((BitVector) a.getData(), (BitVector) b.getData(), point);
+        }
         double[] newData = new double[a.size()];
-        int point = Distribution.random.nextInt(newData.length + 1);
         for (int i = 0; i < newData.length; i++) {
             if (i >= point) {
                 newData[i] = a.getContinuous(i);
@@ -27,4 +31,29 @@ public class SingleCrossOver implements CrossoverFunction {
         return new Instance(newData);
     }
 
+    /**
+     * Mate two bit strings a word at a time
+     * @param a the parent to take the bits from point on from
+     * @param b the parent to take the bits before point from
+     * @param point the crossover point
+     * @return the child
+     */
+    private Instance mate(BitVector a, BitVector b, int point) {
+        long[] x = a.getWords();
+        long[] y = b.getWords();
+        long[] child = new long[x.length];
+        for (int w = 0; w < child.length; w++) {
+            int start = w << 6;
+            if (start >= point) {
+                child[w] = x[w];
+            } else if (start + 64 <= point) {
+                child[w] = y[w];
+            } else {
+                long mask = -1L << (point - start);
+                child[w] = (x[w] & mask) | (y[w] & ~mask);
+            }
+        }
+        return new Instance(new BitVector(child, a.size()));
+    }
+
 }
\ No newline at end of file
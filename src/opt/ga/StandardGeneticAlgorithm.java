@@ -1,10 +1,12 @@
 package opt.ga;
 
-import java.util.Random;
+import java.util.concurrent.ExecutorService;
 
 import dist.DiscreteDistribution;
+import dist.Distribution;
 
 import opt.OptimizationAlgorithm;
+import opt.PopulationEvaluator;
 import shared.Instance;
 
 
@@ -16,11 +18,6 @@ import shared.Instance;
  */
 public class StandardGeneticAlgorithm extends OptimizationAlgorithm {
     
-    /**
-     * The random number generator
-     */
-    private static final Random random = new Random();
-    
     /**
      * The population size
      */
@@ -49,25 +46,47 @@ public class StandardGeneticAlgorithm extends OptimizationAlgorithm {
     private double[] values;
     
     /**
-     * Make a new genetic algorithm
+     * The evaluator for the population
+     */
+    private PopulationEvaluator evaluator;
+    
+    /**
+     * Make a new genetic algorithm that evaluates the population
+     * on the given executor.  All random choices are still made on
+     * the calling thread, so a seeded run gives the same result
+     * whatever the number of threads, as long as the problem's
+     * value method is safe to call from several threads.
      * @param populationSize the size
      * @param toMate the number to mate each iteration
      * @param toMutate the number to mutate each iteration
      * @param gap the problem to solve
+     * @param executor the executor to evaluate on, or null
+     * to evaluate on the calling thread
      */
-    public StandardGeneticAlgorithm(int populationSize, int toMate, int toMutate, GeneticAlgorithmProblem gap) {
+    public StandardGeneticAlgorithm(int populationSize, int toMate, int toMutate,
+            GeneticAlgorithmProblem gap, ExecutorService executor) {
         super(gap);
         this.toMate = toMate;
         this.toMutate = toMutate;
         this.populationSize = populationSize;
+        this.evaluator = new PopulationEvaluator(gap, executor);
         population = new Instance[populationSize];
         for (int i = 0; i < population.length; i++) {
             population[i] = gap.random();
         }
         values = new double[populationSize];
-        for (int i = 0; i < values.length; i++) {
-            values[i] = gap.value(population[i]);
-        }
+        evaluator.evaluate(population, values);
+    }
+    
+    /**
+     * Make a new genetic algorithm
+     * @param populationSize the size
+     * @param toMate the number to mate each iteration
+     * @param toMutate the number to mutate each iteration
+     * @param gap the problem to solve
+     */
+    public StandardGeneticAlgorithm(int populationSize, int toMate, int toMutate, GeneticAlgorithmProblem gap) {
+        this(populationSize, toMate, toMutate, gap, null);
     }
 
     /**
@@ -109,21 +128,51 @@ public class StandardGeneticAlgorithm extends OptimizationAlgorithm {
         }
         // mutate
         for (int i = 0; i < toMutate; i++) {
-            ga.mutate(newPopulation[random.nextInt(newPopulation.length)]);
+            ga.mutate(newPopulation[Distribution.random.nextInt(newPopulation.length)]);
             newValues[i] = -1;
         }
         // calculate the new values
+        int[] toEvaluate = new int[newValues.length];
+        int count = 0;
         for (int i = 0; i < newValues.length; i++) {
             if (newValues[i] == -1) {
-                newValues[i] = ga.value(newPopulation[i]);
+                toEvaluate[count++] = i;
             }
         }
+        evaluator.evaluate(newPopulation, newValues, toEvaluate, count);
         // the new generation
         population = newPopulation;
         values = newValues;
         return sum / populationSize;
     }
 
+    /**
+     * Get the current population
+     * @return the population
+     */
+    public Instance[] getPopulation() {
+        return population;
+    }
+
+    /**
+     * Get the values of the current population
+     * @return the values
+     */
+    public double[] getValues() {
+        return values;
+    }
+
+    /**
+     * Replace a member of the population
+     * @param i the index to replace
+     * @param instance the new member
+     * @param value the value of the new member
+     */
+    void replace(int i, Instance instance, double value) {
+        population[i] = instance;
+        values[i] = value;
+    }
+
     /**
      * @see opt.OptimizationAlgorithm#getOptimalData()
      */
@@ -1,6 +1,7 @@
 package opt.ga;
 
 import shared.Instance;
+import util.linalg.BitVector;
 
 import dist.Distribution;
 
@@ -15,6 +16,9 @@ public class UniformCrossOver implements CrossoverFunction {
      * @see opt.CrossOverFunction#mate(opt.OptimizationData, opt.OptimizationData)
      */
     public Instance mate(Instance a, Instance b) {
+        if (a.getData() instanceof BitVector && b.getData() instanceof BitVector) {
+            return mate((BitVector) a.getData(), (BitVector) b.getData());
+        }
         double[] newData = new double[a.size()];
         for (int i = 0; i < newData.length; i++) {
             if (Distribution.random.nextBoolean()) {
@@ -26,4 +30,22 @@ public class UniformCrossOver implements CrossoverFunction {
         return new Instance(newData);
     }
 
+    /**
+     * Mate two bit strings a word at a time, each random
+     * word picks which parent each bit comes from
+     * @param a the first parent
+     * @param b the second parent
+     * @return the child
+     */
+    private Instance mate(BitVector a, BitVector b) {
+        long[] x = a.getWords();
+        long[] y = b.getWords();
+        long[] child = new long[x.length];
+        for (int w = 0; w < child.length; w++) {
+            long mask = Distribution.random.nextLong();
+            child[w] = (x[w] & mask) | (y[w] & ~mask);
+        }
+        return new Instance(new BitVector(child, a.size()));
+    }
+
 }
\ No newline at end of file
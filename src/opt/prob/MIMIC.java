@@ -1,22 +1,43 @@
 package opt.prob;
 
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
 import dist.Distribution;
 import opt.OptimizationAlgorithm;
 import opt.OptimizationProblem;
 import shared.DataSet;
 import shared.Instance;
 import util.ABAGAILArrays;
+import util.ParallelTasks;
 
 /**
  * Based on the MIMIC algorithm
  * J. S. De Bonet, C. L. Isbell, and P. Viola (1997). 
  * MIMIC: Finding Optima by Estimating Probability Densities, 
  * Advances in Neural Information Processing Systems, Vol. 9 .
+ * Given an executor the samples are drawn and scored in parallel.
+ * The samples are split into a fixed number of chunks and each
+ * chunk draws from its own random stream seeded from
+ * Distribution.random, so a seeded run gives the same samples
+ * whatever the number of threads.  The distribution's sample
+ * method and the problem's value method are then called from
+ * several threads at once and must be safe to do so.
  * @author Andrew Guillory gtg008g@mail.gatech.edu
  * @version 1.0
  */
 public class MIMIC extends OptimizationAlgorithm {
+    /**
+     * The number of chunks to split the samples into
+     * when running in parallel
+     */
+    private static final int CHUNKS = 64;
+
     /**
      * The current distribution
      */
@@ -32,6 +53,11 @@ public class MIMIC extends OptimizationAlgorithm {
      */
     private int tokeep;
 
+    /**
+     * The executor, or null to run on the calling thread
+     */
+    private ExecutorService executor;
+
     /**
      * Make a new mimic
      * @param samples the number of samples to take each iteration
@@ -40,11 +66,15 @@ public class MIMIC extends OptimizationAlgorithm {
      * @param increment the increment
      * @param stoppingCount the minimum number of good samples needed to continue
      * @param op the problem
+     * @param executor the executor to sample and score on,
+     * null to run on the calling thread
      */
-    public MIMIC(int samples, int tokeep, ProbabilisticOptimizationProblem op) {
+    public MIMIC(int samples, int tokeep, ProbabilisticOptimizationProblem op,
+            ExecutorService executor) {
         super(op);
         this.tokeep = tokeep;
         this.samples = samples;
+        this.executor = executor;
         Instance[] data = new Instance[samples];
         for (int i = 0; i < data.length; i++) {
             data[i] = op.random();
@@ -53,21 +83,28 @@ public class MIMIC extends OptimizationAlgorithm {
         distribution.estimate(new DataSet(data));
     }
 
+    /**
+     * Make a new mimic
+     * @param samples the number of samples to take each iteration
+     * @param tokeep the number of samples to keep
+     * @param op the problem
+     */
+    public MIMIC(int samples, int tokeep, ProbabilisticOptimizationProblem op) {
+        this(samples, tokeep, op, null);
+    }
+
     /**
      * @see opt.OptimizationAlgorithm#getOptimal()
      */
     public Instance getOptimal() {
-        OptimizationProblem op = getOptimizationProblem();
         Instance[] data = new Instance[samples];
-        for (int i = 0; i < data.length; i++) {
-            data[i] = distribution.sample(null);
-        } 
-        double bestVal = op.value(data[0]);
+        double[] values = new double[data.length];
+        sample(data, values);
+        double bestVal = values[0];
         Instance best = data[0];
         for (int i = 1; i < data.length; i++) {
-            double value = op.value(data[i]);
-            if (value > bestVal) {
-                bestVal = value;
+            if (values[i] > bestVal) {
+                bestVal = values[i];
                 best = data[i];
             }
         }
@@ -78,18 +115,10 @@ public class MIMIC extends OptimizationAlgorithm {
      * @see shared.Trainer#train()
      */
     public double train() {
-        ProbabilisticOptimizationProblem op = (ProbabilisticOptimizationProblem) getOptimizationProblem();
         Instance[] data = new Instance[samples];
-        for (int i = 0; i < data.length; i++) {
-            data[i] = distribution.sample(null);
-        } 
         double[] values = new double[data.length];
-        for (int i = 0; i < data.length; i++) {
-            values[i] = op.value(data[i]);
-        }
-        double[] temp = new double[values.length];
-        System.arraycopy(values, 0, temp, 0, temp.length);
-        double cutoff = ABAGAILArrays.randomizedSelect(temp, temp.length - tokeep);
+        sample(data, values);
+        double cutoff = cutoff(values);
         int j = 0;
         Instance[] kept = new Instance[tokeep];
         for (int i = 0; i < data.length && j < kept.length; i++) {
@@ -102,4 +131,95 @@ public class MIMIC extends OptimizationAlgorithm {
         return cutoff;
     }
 
+    /**
+     * Draw and score a full set of samples
+     * @param data the array to fill with samples
+     * @param values the array to fill with their values
+     */
+    private void sample(final Instance[] data, final double[] values) {
+        final OptimizationProblem op = getOptimizationProblem();
+        if (executor == null) {
+            for (int i = 0; i < data.length; i++) {
+                data[i] = distribution.sample(null);
+            }
+            for (int i = 0; i < data.length; i++) {
+                values[i] = op.value(data[i]);
+            }
+            return;
+        }
+        int chunks = Math.min(CHUNKS, data.length);
+        List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+        for (int c = 0; c < chunks; c++) {
+            final int start = (int) ((long) data.length * c / chunks);
+            final int end = (int) ((long) data.length * (c + 1) / chunks);
+            final long seed = Distribution.random.nextLong();
+            tasks.add(new Callable<Object>() {
+                public Object call() {
+                    Random previous = Distribution.random.getThreadRandom();
+                    Distribution.random.setThreadRandom(new Random(seed));
+                    try {
+                        for (int i = start; i < end; i++) {
+                            data[i] = distribution.sample(null);
+                            values[i] = op.value(data[i]);
+                        }
+                    } finally {
+                        Distribution.random.setThreadRandom(previous);
+                    }
+                    return null;
+                }
+            });
+        }
+        ParallelTasks.invokeAll(executor, tasks);
+    }
+
+    /**
+     * Find the cutoff value for the samples to keep, the
+     * (tokeep + 1)th largest value just as the serial
+     * selection picks it
+     * @param values the sample values
+     * @return the cutoff
+     */
+    private double cutoff(final double[] values) {
+        if (executor == null) {
+            double[] temp = new double[values.length];
+            System.arraycopy(values, 0, temp, 0, temp.length);
+            return ABAGAILArrays.randomizedSelect(temp, temp.length - tokeep);
+        }
+        // sort the chunks in parallel then merge down from the top
+        int chunks = Math.min(CHUNKS, values.length);
+        final double[][] sorted = new double[chunks][];
+        List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+        for (int c = 0; c < chunks; c++) {
+            final int chunk = c;
+            final int start = (int) ((long) values.length * c / chunks);
+            final int end = (int) ((long) values.length * (c + 1) / chunks);
+            tasks.add(new Callable<Object>() {
+                public Object call() {
+                    sorted[chunk] = Arrays.copyOfRange(values, start, end);
+                    Arrays.sort(sorted[chunk]);
+                    return null;
+                }
+            });
+        }
+        ParallelTasks.invokeAll(executor, tasks);
+        int[] heads = new int[chunks];
+        for (int c = 0; c < chunks; c++) {
+            heads[c] = sorted[c].length - 1;
+        }
+        int count = Math.min(tokeep + 1, values.length);
+        double cutoff = Double.NaN;
+        for (int taken = 0; taken < count; taken++) {
+            int best = -1;
+            for (int c = 0; c < chunks; c++) {
+                if (heads[c] >= 0 && (best == -1
+                        || sorted[c][heads[c]] > sorted[best][heads[best]])) {
+                    best = c;
+                }
+            }
+            cutoff = sorted[best][heads[best]];
+            heads[best]--;
+        }
+        return cutoff;
+    }
+
 }
@@ -0,0 +1,109 @@
+package opt.test;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import dist.Distribution;
+import func.nn.compiled.CompiledNetwork;
+import func.nn.compiled.CompiledNetworkFactory;
+import opt.PopulationEvaluator;
+import opt.example.NeuralNetworkOptimizationProblem;
+import opt.ga.StandardGeneticAlgorithm;
+import shared.DataSet;
+import shared.FixedIterationTrainer;
+import shared.Instance;
+import shared.SumOfSquaresError;
+
+/**
+ * Scores a population of weight vectors for a compiled network
+ * one at a time and batched, serially and on threads, then
+ * runs a genetic algorithm on a larger data set
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class BatchedNeuralNetworkEvaluationTest {
+    /**
+     * The number of inputs
+     */
+    private static final int INPUTS = 10;
+
+    /**
+     * The test main
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        Random random = new Random(13);
+        Instance[] patterns = new Instance[5000];
+        for (int i = 0; i < patterns.length; i++) {
+            double[] x = new double[INPUTS];
+            for (int j = 0; j < x.length; j++) {
+                x[j] = random.nextDouble() < .5 ? 1 : 0;
+            }
+            patterns[i] = new Instance(x);
+            patterns[i].setLabel(new Instance(new double[] { (int) x[0] | (int) x[1] }));
+        }
+        DataSet set = new DataSet(patterns);
+        CompiledNetwork network = new CompiledNetworkFactory()
+            .createClassificationNetwork(new int[] { INPUTS, 8, 1 });
+        NeuralNetworkOptimizationProblem nnop = new NeuralNetworkOptimizationProblem(
+            set, network, new SumOfSquaresError());
+
+        Distribution.random.setSeed(1);
+        Instance[] population = new Instance[200];
+        for (int i = 0; i < population.length; i++) {
+            population[i] = nnop.random();
+        }
+        double[] single = new double[population.length];
+        double[] batched = new double[population.length];
+        // warm up both paths before timing them
+        for (int i = 0; i < 20; i++) {
+            nnop.value(population[i]);
+        }
+        new PopulationEvaluator(nnop).evaluate(population, batched);
+        long start = System.nanoTime();
+        for (int i = 0; i < population.length; i++) {
+            single[i] = nnop.value(population[i]);
+        }
+        long singleTime = System.nanoTime() - start;
+        start = System.nanoTime();
+        new PopulationEvaluator(nnop).evaluate(population, batched);
+        long batchedTime = System.nanoTime() - start;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        double[] threaded = new double[population.length];
+        start = System.nanoTime();
+        new PopulationEvaluator(nnop, executor).evaluate(population, threaded);
+        long threadedTime = System.nanoTime() - start;
+        double difference = 0;
+        boolean same = true;
+        for (int i = 0; i < population.length; i++) {
+            difference = Math.max(difference, Math.abs(single[i] - batched[i]) / single[i]);
+            same = same && batched[i] == threaded[i];
+        }
+        System.out.println("Largest relative difference one at a time / batched "
+            + difference + ", batched serial / threaded identical " + same);
+        System.out.println("One at a time " + singleTime / 1000000 + " ms, batched "
+            + batchedTime / 1000000 + " ms, batched on 4 threads "
+            + threadedTime / 1000000 + " ms");
+
+        Distribution.random.setSeed(2);
+        StandardGeneticAlgorithm ga = new StandardGeneticAlgorithm(100, 50, 10, nnop, executor);
+        FixedIterationTrainer fit = new FixedIterationTrainer(ga, 100);
+        start = System.nanoTime();
+        fit.train();
+        network.setWeights(ga.getOptimal().getData());
+        int correct = 0;
+        for (int i = 0; i < patterns.length; i++) {
+            network.setInputValues(patterns[i].getData());
+            network.run();
+            if (network.getBinaryOutputValue() == patterns[i].getLabel().getContinuous() > .5) {
+                correct++;
+            }
+        }
+        System.out.println("GA of 100 for 100 generations on " + patterns.length
+            + " examples: " + (System.nanoTime() - start) / 1000000 + " ms, "
+            + correct + " correct, " + nnop.getEvaluationCounter().getCount()
+            + " evaluations");
+        executor.shutdown();
+    }
+}
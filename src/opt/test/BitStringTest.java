@@ -0,0 +1,126 @@
+package opt.test;
+
+import java.util.Arrays;
+
+import dist.DiscreteUniformDistribution;
+import dist.Distribution;
+import dist.UniformBitStringDistribution;
+import opt.EvaluationFunction;
+import opt.example.CountOnesEvaluationFunction;
+import opt.example.FlipFlopEvaluationFunction;
+import opt.example.FourPeaksEvaluationFunction;
+import opt.example.KnapsackEvaluationFunction;
+import opt.ga.CrossoverFunction;
+import opt.ga.DiscreteChangeOneMutation;
+import opt.ga.GenericGeneticAlgorithmProblem;
+import opt.ga.SingleCrossOver;
+import opt.ga.StandardGeneticAlgorithm;
+import opt.ga.UniformCrossOver;
+import shared.FixedIterationTrainer;
+import shared.Instance;
+import util.linalg.BitVector;
+import util.linalg.DenseVector;
+
+/**
+ * Tests the bit vector representation of bit strings against
+ * the dense representation and runs a genetic algorithm on it
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class BitStringTest {
+    /** The number of bits */
+    private static final int N = 1000;
+    /** The number of random strings to check */
+    private static final int TRIALS = 1000;
+    /** The population size for the memory check */
+    private static final int POPULATION = 100000;
+
+    /**
+     * The test main
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        Distribution.random.setSeed(1234);
+        double[] weights = new double[N];
+        double[] volumes = new double[N];
+        int[] copies = new int[N];
+        for (int i = 0; i < N; i++) {
+            weights[i] = Distribution.random.nextDouble() * 50;
+            volumes[i] = Distribution.random.nextDouble() * 50;
+            copies[i] = 1;
+        }
+        EvaluationFunction[] efs = {
+            new CountOnesEvaluationFunction(),
+            new FlipFlopEvaluationFunction(),
+            new FourPeaksEvaluationFunction(N / 10),
+            new KnapsackEvaluationFunction(weights, volumes, N * 10, copies)
+        };
+        UniformBitStringDistribution bitStrings = new UniformBitStringDistribution(N);
+        boolean same = true;
+        for (int t = 0; t < TRIALS; t++) {
+            Instance bits = bitStrings.sample(null);
+            // runs of ones and zeros at the ends exercise four peaks
+            if (t % 4 == 1) {
+                Arrays.fill(((BitVector) bits.getData()).getWords(), 0, t % 16, -1L);
+            } else if (t % 4 == 2) {
+                long[] words = ((BitVector) bits.getData()).getWords();
+                Arrays.fill(words, words.length - t % 16, words.length, 0L);
+            }
+            DenseVector values = new DenseVector(N);
+            for (int i = 0; i < N; i++) {
+                values.set(i, bits.getContinuous(i));
+            }
+            Instance dense = new Instance(values);
+            same &= bits.getData().equals(values) && values.equals(bits.getData())
+                && bits.getData().hashCode() == values.hashCode();
+            for (int i = 0; i < efs.length; i++) {
+                same &= efs[i].value(bits) == efs[i].value(dense);
+            }
+        }
+        System.out.println("Bit and dense vectors are equal, hash alike and"
+            + " have the same values: " + same);
+
+        CrossoverFunction[] cfs = { new SingleCrossOver(), new UniformCrossOver() };
+        boolean valid = true;
+        for (int t = 0; t < TRIALS; t++) {
+            Instance a = bitStrings.sample(null);
+            Instance b = bitStrings.sample(null);
+            for (int c = 0; c < cfs.length; c++) {
+                Instance child = cfs[c].mate(a, b);
+                for (int i = 0; i < N; i++) {
+                    double bit = child.getContinuous(i);
+                    valid &= bit == a.getContinuous(i) || bit == b.getContinuous(i);
+                }
+            }
+        }
+        System.out.println("Crossover children come from their parents: " + valid);
+
+        int[] ranges = new int[N];
+        Arrays.fill(ranges, 2);
+        for (int r = 0; r < 2; r++) {
+            Distribution.random.setSeed(1234);
+            Distribution odd = r == 0 ? (Distribution) new DiscreteUniformDistribution(ranges)
+                : bitStrings;
+            GenericGeneticAlgorithmProblem gap = new GenericGeneticAlgorithmProblem(
+                efs[2], odd, new DiscreteChangeOneMutation(ranges), new UniformCrossOver());
+            long start = System.currentTimeMillis();
+            StandardGeneticAlgorithm ga = new StandardGeneticAlgorithm(200, 100, 20, gap);
+            new FixedIterationTrainer(ga, 200).train();
+            System.out.println((r == 0 ? "Dense" : "Bits ") + " four peaks: "
+                + efs[2].value(ga.getOptimal()) + " in "
+                + (System.currentTimeMillis() - start) + " ms");
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        Instance[] population = new Instance[POPULATION];
+        for (int i = 0; i < population.length; i++) {
+            population[i] = bitStrings.sample(null);
+        }
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        System.out.println("About " + (after - before) / population.length
+            + " bytes per " + N + " bit individual");
+    }
+}
@@ -0,0 +1,98 @@
+package opt.test;
+
+import java.util.Arrays;
+
+import dist.DiscreteDependencyTree;
+import dist.DiscreteUniformDistribution;
+import dist.Distribution;
+
+import opt.CachingEvaluationFunction;
+import opt.EvaluationFunction;
+import opt.example.FourPeaksEvaluationFunction;
+import opt.ga.CrossoverFunction;
+import opt.ga.DiscreteChangeOneMutation;
+import opt.ga.GenericGeneticAlgorithmProblem;
+import opt.ga.GeneticAlgorithmProblem;
+import opt.ga.MutationFunction;
+import opt.ga.SingleCrossOver;
+import opt.ga.StandardGeneticAlgorithm;
+import opt.prob.GenericProbabilisticOptimizationProblem;
+import opt.prob.MIMIC;
+import opt.prob.ProbabilisticOptimizationProblem;
+import shared.FixedIterationTrainer;
+import shared.Instance;
+import util.linalg.BitVector;
+
+/**
+ * Tests the caching evaluation function on four peaks, the
+ * cached genetic algorithm run should match the uncached one
+ * exactly while calling the real function far less often
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class CachingEvaluationFunctionTest {
+    /** The n value */
+    private static final int N = 50;
+    /** The t value */
+    private static final int T = N / 10;
+    /** The number of calls to the real function */
+    private static int calls;
+
+    /**
+     * The test main
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        int[] ranges = new int[N];
+        Arrays.fill(ranges, 2);
+        final EvaluationFunction fourPeaks = new FourPeaksEvaluationFunction(T);
+        EvaluationFunction counted = new EvaluationFunction() {
+            public double value(Instance d) {
+                calls++;
+                return fourPeaks.value(d);
+            }
+        };
+        CachingEvaluationFunction cached = new CachingEvaluationFunction(counted, 10000);
+        EvaluationFunction[] functions = { counted, cached };
+        for (int i = 0; i < functions.length; i++) {
+            calls = 0;
+            Distribution.random.setSeed(7);
+            MutationFunction mf = new DiscreteChangeOneMutation(ranges);
+            CrossoverFunction cf = new SingleCrossOver();
+            GeneticAlgorithmProblem gap = new GenericGeneticAlgorithmProblem(functions[i],
+                new DiscreteUniformDistribution(ranges), mf, cf);
+            StandardGeneticAlgorithm ga = new StandardGeneticAlgorithm(200, 100, 10, gap);
+            new FixedIterationTrainer(ga, 500).train();
+            System.out.println("GA value " + fourPeaks.value(ga.getOptimal())
+                + " with " + calls + " evaluations");
+        }
+        System.out.println(cached);
+        cached.clear();
+        for (int i = 0; i < functions.length; i++) {
+            calls = 0;
+            Distribution.random.setSeed(7);
+            ProbabilisticOptimizationProblem pop = new GenericProbabilisticOptimizationProblem(
+                functions[i], new DiscreteUniformDistribution(ranges),
+                new DiscreteDependencyTree(.1, ranges));
+            MIMIC mimic = new MIMIC(200, 20, pop);
+            new FixedIterationTrainer(mimic, 100).train();
+            System.out.println("MIMIC value " + fourPeaks.value(mimic.getOptimal())
+                + " with " + calls + " evaluations");
+        }
+        System.out.println(cached);
+        // keys pack bits, small counts and doubles, a bit vector
+        // and a dense vector of the same bits are the same key
+        cached.clear();
+        BitVector bits = new BitVector(N);
+        bits.setBit(3, true);
+        cached.value(new Instance(bits));
+        double[] fourths = { 1, 2, 1.5, -0.0, 0 };
+        for (int i = 0; i < fourths.length; i++) {
+            double[] data = new double[N];
+            data[3] = fourths[i];
+            cached.value(new Instance(data));
+        }
+        System.out.println("Keys: " + cached.getHits() + " hit, expected 1, "
+            + cached.size() + " values, expected 5");
+    }
+}
@@ -0,0 +1,140 @@
+package opt.test;
+
+import java.util.Arrays;
+
+import dist.DiscretePermutationDistribution;
+import dist.DiscreteUniformDistribution;
+import dist.Distribution;
+
+import opt.DeltaEvaluationFunction;
+import opt.DiscreteChangeOneNeighbor;
+import opt.EvaluationFunction;
+import opt.GenericHillClimbingProblem;
+import opt.HillClimbingProblem;
+import opt.InPlaceNeighborFunction;
+import opt.Move;
+import opt.RandomizedHillClimbing;
+import opt.SwapNeighbor;
+import opt.example.CountOnesEvaluationFunction;
+import opt.example.FourPeaksEvaluationFunction;
+import opt.example.KnapsackEvaluationFunction;
+import opt.example.TravelingSalesmanRouteEvaluationFunction;
+import shared.FixedIterationTrainer;
+import shared.Instance;
+import util.ABAGAILArrays;
+
+/**
+ * Tests that delta evaluation of in place moves agrees with
+ * full evaluation, with moves randomly kept or undone, and
+ * times hill climbing with and without it
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class DeltaEvaluationTest {
+    /** The problem size */
+    private static final int N = 200;
+    /** The number of moves to check */
+    private static final int MOVES = 100000;
+
+    /**
+     * Make random moves, check the delta values against
+     * full evaluation and print the largest difference
+     * @param name the name of the function
+     * @param ef the function
+     * @param nf the neighbor function
+     * @param d the starting instance
+     */
+    private static void check(String name, DeltaEvaluationFunction ef,
+            InPlaceNeighborFunction nf, Instance d) {
+        Move move = new Move();
+        double value = ef.value(d);
+        double worst = 0;
+        for (int i = 0; i < MOVES; i++) {
+            nf.move(d, move);
+            double delta = ef.value(d, value, move);
+            double full = ef.value(d);
+            worst = Math.max(worst, Math.abs(delta - full) / Math.max(1, Math.abs(full)));
+            if (Distribution.random.nextBoolean()) {
+                value = delta;
+            } else {
+                move.undo(d);
+            }
+        }
+        System.out.println(name + " largest relative difference " + worst);
+    }
+
+    /**
+     * Time randomized hill climbing with in place moves
+     * and with the copying neighbor function
+     * @param name the name of the function
+     * @param ef the function
+     * @param nf the neighbor function
+     * @param initial the starting distribution
+     */
+    private static void time(String name, EvaluationFunction ef,
+            InPlaceNeighborFunction nf, Distribution initial) {
+        // routes are shuffled with the array utilities' generator
+        Distribution.random.setSeed(3);
+        ABAGAILArrays.random.setSeed(3);
+        long start = System.nanoTime();
+        HillClimbingProblem hcp = new GenericHillClimbingProblem(ef, initial, nf, true);
+        RandomizedHillClimbing rhc = new RandomizedHillClimbing(hcp);
+        new FixedIterationTrainer(rhc, MOVES).train();
+        long inPlace = System.nanoTime() - start;
+        double inPlaceValue = ef.value(rhc.getOptimal());
+        Distribution.random.setSeed(3);
+        ABAGAILArrays.random.setSeed(3);
+        start = System.nanoTime();
+        // without asking to move in place the problem copies
+        hcp = new GenericHillClimbingProblem(ef, initial, nf);
+        rhc = new RandomizedHillClimbing(hcp);
+        new FixedIterationTrainer(rhc, MOVES).train();
+        long copying = System.nanoTime() - start;
+        System.out.println(name + " in place " + inPlace / 1000000 + " ms, value " + inPlaceValue
+            + "; copying " + copying / 1000000 + " ms, value " + ef.value(rhc.getOptimal()));
+    }
+
+    /**
+     * The test main
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        int[] binary = new int[N];
+        Arrays.fill(binary, 2);
+        int[] copies = new int[N];
+        Arrays.fill(copies, 4);
+        int[] counts = new int[N];
+        Arrays.fill(counts, 5);
+        double[] weights = new double[N];
+        double[] volumes = new double[N];
+        double[][] points = new double[N][2];
+        for (int i = 0; i < N; i++) {
+            weights[i] = Distribution.random.nextDouble() * 50;
+            volumes[i] = Distribution.random.nextDouble() * 50;
+            points[i][0] = Distribution.random.nextDouble();
+            points[i][1] = Distribution.random.nextDouble();
+        }
+        CountOnesEvaluationFunction countOnes = new CountOnesEvaluationFunction();
+        FourPeaksEvaluationFunction fourPeaks = new FourPeaksEvaluationFunction(N / 10);
+        KnapsackEvaluationFunction knapsack = new KnapsackEvaluationFunction(
+            weights, volumes, 50 * N * 4 * .4, copies);
+        TravelingSalesmanRouteEvaluationFunction salesman =
+            new TravelingSalesmanRouteEvaluationFunction(points);
+        Distribution bits = new DiscreteUniformDistribution(binary);
+        Distribution items = new DiscreteUniformDistribution(counts);
+        Distribution routes = new DiscretePermutationDistribution(N);
+        InPlaceNeighborFunction changeBit = new DiscreteChangeOneNeighbor(binary);
+        InPlaceNeighborFunction changeCount = new DiscreteChangeOneNeighbor(counts);
+        InPlaceNeighborFunction swap = new SwapNeighbor();
+
+        check("Count ones", countOnes, changeBit, bits.sample(null));
+        check("Four peaks", fourPeaks, changeBit, bits.sample(null));
+        check("Knapsack", knapsack, changeCount, items.sample(null));
+        check("Traveling salesman", salesman, swap, routes.sample(null));
+
+        time("Count ones", countOnes, changeBit, bits);
+        time("Four peaks", fourPeaks, changeBit, bits);
+        time("Knapsack", knapsack, changeCount, items);
+        time("Traveling salesman", salesman, swap, routes);
+    }
+}
@@ -0,0 +1,82 @@
+package opt.test;
+
+import java.util.Arrays;
+
+import dist.DiscreteDependencyTree;
+import dist.DiscreteUniformDistribution;
+import dist.Distribution;
+import opt.BudgetTrainer;
+import opt.DiscreteChangeOneNeighbor;
+import opt.EvaluationFunction;
+import opt.GenericHillClimbingProblem;
+import opt.OptimizationAlgorithm;
+import opt.RandomizedHillClimbing;
+import opt.SimulatedAnnealing;
+import opt.example.FourPeaksEvaluationFunction;
+import opt.ga.DiscreteChangeOneMutation;
+import opt.ga.GenericGeneticAlgorithmProblem;
+import opt.ga.SingleCrossOver;
+import opt.ga.StandardGeneticAlgorithm;
+import opt.prob.GenericProbabilisticOptimizationProblem;
+import opt.prob.MIMIC;
+
+/**
+ * Compares the algorithms on the four peaks problem at an equal
+ * number of evaluations, then under a time limit and a target
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class EvaluationBudgetTest {
+    /** The n value */
+    private static final int N = 80;
+    /** The t value */
+    private static final int T = N / 10;
+    /** The evaluation budget */
+    private static final long EVALUATIONS = 100000;
+
+    /**
+     * The test main
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        int[] ranges = new int[N];
+        Arrays.fill(ranges, 2);
+        EvaluationFunction ef = new FourPeaksEvaluationFunction(T);
+        Distribution odd = new DiscreteUniformDistribution(ranges);
+        String[] names = { "RHC", "SA", "GA", "MIMIC" };
+        for (int limit = 0; limit < 3; limit++) {
+            for (int i = 0; i < names.length; i++) {
+                Distribution.random.setSeed(1234);
+                // fresh problems so each algorithm's count starts at zero
+                GenericHillClimbingProblem hcp = new GenericHillClimbingProblem(
+                    ef, odd, new DiscreteChangeOneNeighbor(ranges));
+                OptimizationAlgorithm[] algorithms = {
+                    new RandomizedHillClimbing(hcp),
+                    new SimulatedAnnealing(100, .95, hcp),
+                    new StandardGeneticAlgorithm(200, 100, 10,
+                        new GenericGeneticAlgorithmProblem(ef, odd,
+                            new DiscreteChangeOneMutation(ranges), new SingleCrossOver())),
+                    new MIMIC(200, 20, new GenericProbabilisticOptimizationProblem(
+                        ef, odd, new DiscreteDependencyTree(.1, ranges)))
+                };
+                BudgetTrainer trainer;
+                if (limit == 0) {
+                    trainer = new BudgetTrainer(algorithms[i], EVALUATIONS);
+                } else if (limit == 1) {
+                    trainer = new BudgetTrainer(algorithms[i], Long.MAX_VALUE,
+                        200, Double.POSITIVE_INFINITY);
+                } else {
+                    trainer = new BudgetTrainer(algorithms[i], 10 * EVALUATIONS,
+                        Long.MAX_VALUE, N + T + 1);
+                }
+                trainer.train();
+                System.out.println((limit == 0 ? "Budget " : limit == 1 ? "Time   " : "Target ")
+                    + names[i] + ": " + ef.value(algorithms[i].getOptimal())
+                    + " after " + trainer.getIterations() + " iterations, "
+                    + trainer.getEvaluations() + " evaluations, "
+                    + trainer.getElapsedTime() + " ms"
+                    + (limit == 2 ? ", reached: " + trainer.isTargetReached() : ""));
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package opt.test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import dist.DiscreteUniformDistribution;
+import dist.Distribution;
+
+import opt.EvaluationFunction;
+import opt.example.FourPeaksEvaluationFunction;
+import opt.ga.CrossoverFunction;
+import opt.ga.DiscreteChangeOneMutation;
+import opt.ga.GenericGeneticAlgorithmProblem;
+import opt.ga.GeneticAlgorithmProblem;
+import opt.ga.IslandGeneticAlgorithm;
+import opt.ga.MutationFunction;
+import opt.ga.SingleCrossOver;
+import opt.ga.StandardGeneticAlgorithm;
+import shared.FixedIterationTrainer;
+
+/**
+ * Compares the island genetic algorithm to the standard one
+ * on four peaks and checks that seeded runs are repeatable
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class IslandGeneticAlgorithmTest {
+    /** The n value */
+    private static final int N = 60;
+    /** The t value */
+    private static final int T = N / 10;
+    /** The number of islands */
+    private static final int ISLANDS = 8;
+    /** The population of each island */
+    private static final int POPULATION = 50;
+    /** The number of generations between migrations */
+    private static final int INTERVAL = 10;
+    /** The number of generations */
+    private static final int GENERATIONS = 500;
+
+    /**
+     * The test main
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        int[] ranges = new int[N];
+        Arrays.fill(ranges, 2);
+        EvaluationFunction ef = new FourPeaksEvaluationFunction(T);
+        MutationFunction mf = new DiscreteChangeOneMutation(ranges);
+        CrossoverFunction cf = new SingleCrossOver();
+        GeneticAlgorithmProblem gap = new GenericGeneticAlgorithmProblem(ef,
+            new DiscreteUniformDistribution(ranges), mf, cf);
+
+        Distribution.random.setSeed(42);
+        long start = System.currentTimeMillis();
+        StandardGeneticAlgorithm ga = new StandardGeneticAlgorithm(
+            ISLANDS * POPULATION, ISLANDS * POPULATION / 2, ISLANDS * POPULATION / 20, gap);
+        new FixedIterationTrainer(ga, GENERATIONS).train();
+        System.out.println("Standard: " + ef.value(ga.getOptimal()) + " in "
+            + (System.currentTimeMillis() - start) + " ms");
+
+        Distribution.random.setSeed(42);
+        start = System.currentTimeMillis();
+        IslandGeneticAlgorithm serial = new IslandGeneticAlgorithm(ISLANDS, POPULATION,
+            POPULATION / 2, POPULATION / 20, gap, INTERVAL, 2, null);
+        new FixedIterationTrainer(serial, GENERATIONS / INTERVAL).train();
+        double serialValue = ef.value(serial.getOptimal());
+        System.out.println("Islands, serial: " + serialValue + " in "
+            + (System.currentTimeMillis() - start) + " ms");
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()));
+        Distribution.random.setSeed(42);
+        start = System.currentTimeMillis();
+        IslandGeneticAlgorithm parallel = new IslandGeneticAlgorithm(ISLANDS, POPULATION,
+            POPULATION / 2, POPULATION / 20, gap, INTERVAL, 2, executor);
+        new FixedIterationTrainer(parallel, GENERATIONS / INTERVAL).train();
+        double parallelValue = ef.value(parallel.getOptimal());
+        System.out.println("Islands, parallel: " + parallelValue + " in "
+            + (System.currentTimeMillis() - start) + " ms");
+        executor.shutdown();
+        System.out.println("Same result: " + (serialValue == parallelValue));
+    }
+}
@@ -0,0 +1,76 @@
+package opt.test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import dist.Distribution;
+import func.nn.feedfwd.FeedForwardNetwork;
+import func.nn.feedfwd.FeedForwardNeuralNetworkFactory;
+import opt.example.NeuralNetworkOptimizationProblem;
+import opt.ga.StandardGeneticAlgorithm;
+import shared.DataSet;
+import shared.FixedIterationTrainer;
+import shared.Instance;
+import shared.SumOfSquaresError;
+
+/**
+ * Tests that evaluating the genetic algorithm's population in
+ * parallel gives the same result as evaluating it serially
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class ParallelGeneticAlgorithmTest {
+    /** The number of examples */
+    private static final int EXAMPLES = 200;
+    /** The number of attributes */
+    private static final int ATTRIBUTES = 10;
+    /** The population size */
+    private static final int POPULATION = 200;
+    /** The number of generations */
+    private static final int GENERATIONS = 20;
+
+    /**
+     * The test main
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        Instance[] patterns = new Instance[EXAMPLES];
+        for (int i = 0; i < patterns.length; i++) {
+            double[] data = new double[ATTRIBUTES];
+            double sum = 0;
+            for (int j = 0; j < data.length; j++) {
+                data[j] = Distribution.random.nextDouble();
+                sum += data[j];
+            }
+            patterns[i] = new Instance(data);
+            patterns[i].setLabel(new Instance(sum > ATTRIBUTES / 2 ? 1 : 0));
+        }
+        FeedForwardNeuralNetworkFactory factory = new FeedForwardNeuralNetworkFactory();
+        FeedForwardNetwork network = factory.createClassificationNetwork(
+            new int[] { ATTRIBUTES, 8, 1 });
+        NeuralNetworkOptimizationProblem nno = new NeuralNetworkOptimizationProblem(
+            new DataSet(patterns), network, new SumOfSquaresError());
+
+        Distribution.random.setSeed(1234);
+        long start = System.currentTimeMillis();
+        StandardGeneticAlgorithm serial = new StandardGeneticAlgorithm(
+            POPULATION, POPULATION / 2, POPULATION / 10, nno);
+        new FixedIterationTrainer(serial, GENERATIONS).train();
+        double serialValue = nno.value(serial.getOptimal());
+        System.out.println("Serial:   " + serialValue + " in "
+            + (System.currentTimeMillis() - start) + " ms");
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()));
+        Distribution.random.setSeed(1234);
+        start = System.currentTimeMillis();
+        StandardGeneticAlgorithm parallel = new StandardGeneticAlgorithm(
+            POPULATION, POPULATION / 2, POPULATION / 10, nno, executor);
+        new FixedIterationTrainer(parallel, GENERATIONS).train();
+        double parallelValue = nno.value(parallel.getOptimal());
+        System.out.println("Parallel: " + parallelValue + " in "
+            + (System.currentTimeMillis() - start) + " ms");
+        executor.shutdown();
+        System.out.println("Same result: " + (serialValue == parallelValue));
+    }
+}
@@ -0,0 +1,68 @@
+package opt.test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import dist.DiscreteDependencyTree;
+import dist.DiscreteUniformDistribution;
+import dist.Distribution;
+import opt.EvaluationFunction;
+import opt.example.FourPeaksEvaluationFunction;
+import opt.prob.GenericProbabilisticOptimizationProblem;
+import opt.prob.MIMIC;
+import opt.prob.ProbabilisticOptimizationProblem;
+import shared.FixedIterationTrainer;
+
+/**
+ * Runs MIMIC on the four peaks problem serially and with the
+ * sampling and scoring spread over executors of different sizes
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class ParallelMIMICTest {
+    /** The n value */
+    private static final int N = 80;
+    /** The t value */
+    private static final int T = N / 10;
+    /** The number of samples per iteration */
+    private static final int SAMPLES = 2000;
+    /** The number of samples to keep */
+    private static final int TO_KEEP = 200;
+    /** The number of iterations */
+    private static final int ITERATIONS = 50;
+
+    /**
+     * The test main
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        int[] ranges = new int[N];
+        Arrays.fill(ranges, 2);
+        EvaluationFunction ef = new FourPeaksEvaluationFunction(T);
+        Distribution odd = new DiscreteUniformDistribution(ranges);
+        Distribution df = new DiscreteDependencyTree(.1, ranges);
+        ProbabilisticOptimizationProblem pop =
+            new GenericProbabilisticOptimizationProblem(ef, odd, df);
+
+        Distribution.random.setSeed(1234);
+        long start = System.currentTimeMillis();
+        MIMIC serial = new MIMIC(SAMPLES, TO_KEEP, pop);
+        new FixedIterationTrainer(serial, ITERATIONS).train();
+        System.out.println("Serial:    " + ef.value(serial.getOptimal()) + " in "
+            + (System.currentTimeMillis() - start) + " ms");
+
+        int[] threads = { 1, Math.max(4, Runtime.getRuntime().availableProcessors()) };
+        for (int i = 0; i < threads.length; i++) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads[i]);
+            Distribution.random.setSeed(1234);
+            start = System.currentTimeMillis();
+            MIMIC parallel = new MIMIC(SAMPLES, TO_KEEP, pop, executor);
+            new FixedIterationTrainer(parallel, ITERATIONS).train();
+            System.out.println("Threads " + threads[i] + ": "
+                + ef.value(parallel.getOptimal()) + " in "
+                + (System.currentTimeMillis() - start) + " ms");
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package opt.test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import dist.DiscreteUniformDistribution;
+import dist.Distribution;
+import opt.BudgetTrainer;
+import opt.DiscreteChangeOneNeighbor;
+import opt.EvaluationFunction;
+import opt.HillClimbingProblem;
+import opt.GenericHillClimbingProblem;
+import opt.OptimizationAlgorithm;
+import opt.ParallelTempering;
+import opt.SimulatedAnnealing;
+import opt.example.ContinuousPeaksEvaluationFunction;
+import opt.example.FourPeaksEvaluationFunction;
+import opt.example.KnapsackEvaluationFunction;
+import shared.Instance;
+
+/**
+ * Compares simulated annealing and parallel tempering on the
+ * continuous peaks problem at an equal number of evaluations,
+ * then checks that replicas scored incrementally on threads
+ * keep the values full evaluation gives
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class ParallelTemperingTest {
+    /** The n value */
+    private static final int N = 60;
+    /** The t value */
+    private static final int T = N / 10;
+    /** The evaluation budget */
+    private static final long EVALUATIONS = 200000;
+    /** The number of seeds to average over */
+    private static final int SEEDS = 10;
+
+    /** The number of rounds of steps to check */
+    private static final int ROUNDS = 2000;
+
+    /**
+     * Run parallel tempering on an executor, after every round
+     * comparing each replica's value with a full evaluation of its
+     * instance, and print the number that differ and whether the
+     * run ends where the same run without threads does
+     * @param name the name of the problem
+     * @param ef the evaluation function
+     * @param hcp the problem
+     * @param executor the executor
+     */
+    private static void check(String name, EvaluationFunction ef,
+            HillClimbingProblem hcp, ExecutorService executor) {
+        Distribution.random.setSeed(1);
+        ParallelTempering serial = new ParallelTempering(8, 1, 50, 5, hcp, null);
+        for (int i = 0; i < ROUNDS; i++) {
+            serial.train();
+        }
+        Distribution.random.setSeed(1);
+        ParallelTempering threaded = new ParallelTempering(8, 1, 50, 5, hcp, executor);
+        int wrong = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            threaded.train();
+            double[] values = threaded.getValues();
+            Instance[] instances = threaded.getInstances();
+            for (int j = 0; j < values.length; j++) {
+                double full = ef.value(instances[j]);
+                if (Math.abs(values[j] - full) > 1E-9 * Math.max(1, Math.abs(full))) {
+                    wrong++;
+                }
+            }
+        }
+        System.out.println(name + ": " + wrong + " replica values differ from full evaluation, "
+            + "same as serial " + Arrays.equals(serial.getValues(), threaded.getValues()));
+    }
+
+    /**
+     * The test main
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        int[] ranges = new int[N];
+        Arrays.fill(ranges, 2);
+        EvaluationFunction ef = new ContinuousPeaksEvaluationFunction(T);
+        Distribution odd = new DiscreteUniformDistribution(ranges);
+        ExecutorService executor = Executors.newFixedThreadPool(
+            Math.max(4, Runtime.getRuntime().availableProcessors()));
+        String[] names = { "SA", "PT serial", "PT parallel" };
+        for (int a = 0; a < names.length; a++) {
+            double sum = 0;
+            long time = 0;
+            for (int seed = 0; seed < SEEDS; seed++) {
+                Distribution.random.setSeed(seed);
+                GenericHillClimbingProblem hcp = new GenericHillClimbingProblem(
+                    ef, odd, new DiscreteChangeOneNeighbor(ranges), true);
+                OptimizationAlgorithm algorithm;
+                if (a == 0) {
+                    algorithm = new SimulatedAnnealing(1E11, .95, hcp);
+                } else {
+                    algorithm = new ParallelTempering(8, .5, 20, 100, hcp,
+                        a == 1 ? null : executor);
+                }
+                BudgetTrainer trainer = new BudgetTrainer(algorithm, EVALUATIONS);
+                trainer.train();
+                sum += ef.value(algorithm.getOptimal());
+                time += trainer.getElapsedTime();
+            }
+            System.out.println(names[a] + ": average " + sum / SEEDS + " of "
+                + (2 * N - T - 1) + " in " + time / SEEDS + " ms");
+        }
+
+        int[] counts = new int[N];
+        Arrays.fill(counts, 5);
+        int[] copies = new int[N];
+        Arrays.fill(copies, 4);
+        double[] weights = new double[N];
+        double[] volumes = new double[N];
+        Distribution.random.setSeed(0);
+        for (int i = 0; i < N; i++) {
+            weights[i] = Distribution.random.nextDouble() * 50;
+            volumes[i] = Distribution.random.nextDouble() * 50;
+        }
+        EvaluationFunction fourPeaks = new FourPeaksEvaluationFunction(T);
+        check("Four peaks", fourPeaks, new GenericHillClimbingProblem(fourPeaks,
+            odd, new DiscreteChangeOneNeighbor(ranges), true), executor);
+        EvaluationFunction knapsack = new KnapsackEvaluationFunction(
+            weights, volumes, 50 * N * 4 * .4, copies);
+        check("Knapsack", knapsack, new GenericHillClimbingProblem(knapsack,
+            new DiscreteUniformDistribution(counts), new DiscreteChangeOneNeighbor(counts), true),
+            executor);
+        executor.shutdown();
+    }
+}
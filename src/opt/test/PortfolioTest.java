@@ -0,0 +1,104 @@
+package opt.test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import dist.DiscreteDependencyTree;
+import dist.DiscreteUniformDistribution;
+import dist.Distribution;
+import opt.BudgetTrainer;
+import opt.CountingEvaluationFunction;
+import opt.DiscreteChangeOneNeighbor;
+import opt.GenericHillClimbingProblem;
+import opt.OptimizationAlgorithm;
+import opt.PortfolioRunner;
+import opt.RandomizedHillClimbing;
+import opt.SimulatedAnnealing;
+import opt.example.FourPeaksEvaluationFunction;
+import opt.ga.DiscreteChangeOneMutation;
+import opt.ga.GenericGeneticAlgorithmProblem;
+import opt.ga.SingleCrossOver;
+import opt.ga.StandardGeneticAlgorithm;
+import opt.prob.GenericProbabilisticOptimizationProblem;
+import opt.prob.MIMIC;
+import shared.Instance;
+
+/**
+ * Runs a portfolio of hill climbers, annealers, genetic algorithms
+ * and MIMIC on the four peaks problem under a shared budget
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class PortfolioTest {
+    /** The n value */
+    private static final int N = 80;
+    /** The t value */
+    private static final int T = N / 5;
+    /** The number of restarts of each algorithm */
+    private static final int RESTARTS = 4;
+
+    /**
+     * The test main
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        int[] ranges = new int[N];
+        Arrays.fill(ranges, 2);
+        ExecutorService executor = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()));
+        for (int p = 0; p < 2; p++) {
+            Distribution.random.setSeed(1234);
+            CountingEvaluationFunction ef = new CountingEvaluationFunction(
+                new FourPeaksEvaluationFunction(T));
+            Distribution odd = new DiscreteUniformDistribution(ranges);
+            OptimizationAlgorithm[] runs = new OptimizationAlgorithm[4 * RESTARTS];
+            int[] iterations = new int[runs.length];
+            for (int i = 0; i < RESTARTS; i++) {
+                GenericHillClimbingProblem hcp = new GenericHillClimbingProblem(
+                    ef, odd, new DiscreteChangeOneNeighbor(ranges));
+                runs[4 * i] = new RandomizedHillClimbing(hcp);
+                iterations[4 * i] = 20000;
+                runs[4 * i + 1] = new SimulatedAnnealing(100, .95, hcp);
+                iterations[4 * i + 1] = 20000;
+                runs[4 * i + 2] = new StandardGeneticAlgorithm(200, 100, 10,
+                    new GenericGeneticAlgorithmProblem(ef, odd,
+                        new DiscreteChangeOneMutation(ranges), new SingleCrossOver()));
+                iterations[4 * i + 2] = 500;
+                // each mimic needs a distribution of its own
+                runs[4 * i + 3] = new MIMIC(200, 20,
+                    new GenericProbabilisticOptimizationProblem(ef, odd,
+                        new DiscreteDependencyTree(.1, ranges)));
+                iterations[4 * i + 3] = 100;
+            }
+            PortfolioRunner portfolio = new PortfolioRunner(runs,
+                ef.getEvaluationCounter(), iterations, executor);
+            portfolio.setTimeLimit(20000);
+            if (p == 0) {
+                portfolio.setEvaluationLimit(200000);
+            } else {
+                // the smallest value with both peaks' reward
+                portfolio.setTarget(N + T + 1);
+            }
+            Instance best = portfolio.run();
+            System.out.println((p == 0 ? "Budget: " : "Target: ")
+                + ef.getFunction().value(best) + " after "
+                + portfolio.getEvaluations() + " evaluations in "
+                + portfolio.getElapsedTime() + " ms, target reached: "
+                + portfolio.isTargetReached());
+            System.out.println("Iterations per run: "
+                + Arrays.toString(portfolio.getIterations()));
+        }
+        // a budget on a problem made with a counting function counts the same evaluations
+        CountingEvaluationFunction ef = new CountingEvaluationFunction(
+            new FourPeaksEvaluationFunction(T));
+        BudgetTrainer trainer = new BudgetTrainer(new RandomizedHillClimbing(
+            new GenericHillClimbingProblem(ef, new DiscreteUniformDistribution(ranges),
+                new DiscreteChangeOneNeighbor(ranges))), 5000);
+        long before = ef.getCount();
+        trainer.train();
+        System.out.println("Budget trainer counted " + trainer.getEvaluations()
+            + " evaluations, the function " + (ef.getCount() - before));
+        executor.shutdown();
+    }
+}
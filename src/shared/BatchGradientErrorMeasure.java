@@ -0,0 +1,27 @@
+package shared;
+
+/**
+ * An error measure whose value and gradient can be computed
+ * for a whole batch of outputs held in flat arrays, without
+ * making an instance for each output
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public interface BatchGradientErrorMeasure extends GradientErrorMeasure {
+
+    /**
+     * Compute the error and its gradient for a batch of outputs
+     * @param outputs the outputs, row major with a row per pattern
+     * @param labels the labels of all of the patterns, row major
+     * @param weights the weights of all of the patterns
+     * @param start the pattern the first row of outputs is for
+     * @param count the number of patterns in the batch
+     * @param size the number of outputs per pattern
+     * @param gradient the array to fill with the gradient,
+     * in the same layout as outputs
+     * @return the summed error of the batch
+     */
+    public abstract double gradient(double[] outputs, double[] labels,
+        double[] weights, int start, int count, int size, double[] gradient);
+
+}
@@ -0,0 +1,99 @@
+package shared;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * A class for writing data sets in a compact binary format
+ * that can be memory mapped by the binary data set reader.
+ * The file is a fixed size header followed by one fixed size
+ * record per instance.  The header holds the magic number, the
+ * format version, the number of instances, the number of
+ * attributes and the number of label values (0 if unlabeled),
+ * padded to a multiple of eight bytes.  Each record holds the
+ * attribute values, then the label values, then the weight,
+ * all as big endian doubles.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class BinaryDataSetWriter {
+    /**
+     * The magic number at the start of every file
+     */
+    public static final int MAGIC = 0x41424744;
+    
+    /**
+     * The version of the format
+     */
+    public static final int VERSION = 1;
+    
+    /**
+     * The size of the header in bytes
+     */
+    public static final int HEADER_SIZE = 24;
+    
+    /**
+     * The data set
+     */
+    private DataSet set;
+    
+    /**
+     * The file name
+     */
+    private String filename;
+
+    /**
+     * Make a new binary data set writer
+     * @param set the data set to write
+     * @param filename the file to write to
+     */
+    public BinaryDataSetWriter(DataSet set, String filename) {
+        this.set = set;
+        this.filename = filename;
+    }
+    
+    /**
+     * Write the file out
+     * @throws IOException when something goes bad
+     */
+    public void write() throws IOException {
+        int attributeCount = set.size() == 0 ? 0 : set.get(0).size();
+        Instance firstLabel = set.size() == 0 ? null : set.get(0).getLabel();
+        int labelCount = firstLabel == null ? 0 : firstLabel.size();
+        DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(new FileOutputStream(filename), 1 << 16));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(set.size());
+            out.writeInt(attributeCount);
+            out.writeInt(labelCount);
+            out.writeInt(0);
+            for (int i = 0; i < set.size(); i++) {
+                Instance instance = set.get(i);
+                if (instance.size() != attributeCount) {
+                    throw new IOException("Instance " + i + " has " + instance.size()
+                        + " attributes, expected " + attributeCount);
+                }
+                for (int j = 0; j < attributeCount; j++) {
+                    out.writeDouble(instance.getContinuous(j));
+                }
+                Instance label = instance.getLabel();
+                if (labelCount > 0) {
+                    if (label == null || label.size() != labelCount) {
+                        throw new IOException("Instance " + i 
+                            + " does not have " + labelCount + " label values");
+                    }
+                    for (int j = 0; j < labelCount; j++) {
+                        out.writeDouble(label.getContinuous(j));
+                    }
+                }
+                out.writeDouble(instance.getWeight());
+            }
+        } finally {
+            out.close();
+        }
+    }
+}
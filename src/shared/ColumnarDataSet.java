@@ -0,0 +1,477 @@
+package shared;
+
+import java.util.Arrays;
+
+import util.linalg.StridedVector;
+import util.linalg.Vector;
+
+/**
+ * A data set that packs all of its instances into flat
+ * primitive arrays instead of holding an array of instance
+ * objects.  The attribute values are stored row major in a
+ * single array, the labels (if any) in a second array and
+ * the weights in a third.  Instances handed out by get are
+ * light weight views onto the arrays, so reading and writing
+ * through them reads and writes the data set itself.  A view
+ * only makes its vectors when they are asked for, and a scan
+ * can move one view from row to row instead of making a view
+ * for every row.
+ * Filters that change the number of attributes in place
+ * should be run before packing the data set.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class ColumnarDataSet extends DataSet {
+
+    /**
+     * The attribute values, row major
+     */
+    private double[] data;
+
+    /**
+     * The number of attributes per instance
+     */
+    private int attributeCount;
+
+    /**
+     * The label values, row major, or null if there are none
+     */
+    private double[] labels;
+
+    /**
+     * The number of label values per instance
+     */
+    private int labelCount;
+
+    /**
+     * The weights of the instances
+     */
+    private double[] weights;
+
+    /**
+     * The number of instances
+     */
+    private int size;
+
+    /**
+     * Make a new columnar data set from raw arrays
+     * @param data the attribute values, row major
+     * @param attributeCount the number of attributes per instance
+     * @param labels the label values, row major, may be null
+     * @param labelCount the number of label values per instance
+     * @param weights the weights, may be null for all ones
+     * @param description the description, may be null
+     */
+    public ColumnarDataSet(double[] data, int attributeCount,
+            double[] labels, int labelCount, double[] weights,
+            DataSetDescription description) {
+        this.data = data;
+        this.attributeCount = attributeCount;
+        this.labels = labels;
+        this.labelCount = labels == null ? 0 : labelCount;
+        this.size = attributeCount == 0 ? 0 : data.length / attributeCount;
+        if (weights == null) {
+            weights = new double[size];
+            Arrays.fill(weights, 1.0);
+        }
+        this.weights = weights;
+        setDescription(description);
+    }
+
+    /**
+     * Make a new columnar data set without labels
+     * @param data the attribute values, row major
+     * @param attributeCount the number of attributes per instance
+     */
+    public ColumnarDataSet(double[] data, int attributeCount) {
+        this(data, attributeCount, null, 0, null, null);
+    }
+
+    /**
+     * Pack the given data set into columnar form, the data
+     * set is copied and not modified
+     * @param set the data set to pack
+     */
+    public ColumnarDataSet(DataSet set) {
+        pack(set.getInstances());
+        setDescription(set.getDescription());
+    }
+
+    /**
+     * Copy the given instances into the arrays, all instances
+     * must have the same size and label size as the first
+     * @param instances the instances
+     */
+    private void pack(Instance[] instances) {
+        size = instances.length;
+        attributeCount = size == 0 ? 0 : instances[0].size();
+        Instance firstLabel = size == 0 ? null : instances[0].getLabel();
+        labelCount = firstLabel == null ? 0 : firstLabel.size();
+        data = new double[size * attributeCount];
+        labels = firstLabel == null ? null : new double[size * labelCount];
+        weights = new double[size];
+        for (int i = 0; i < size; i++) {
+            copyInto(i, instances[i]);
+        }
+    }
+
+    /**
+     * Copy an instance into the given row
+     * @param i the row
+     * @param instance the instance
+     */
+    private void copyInto(int i, Instance instance) {
+        if (instance.size() != attributeCount) {
+            throw new IllegalArgumentException("Instance has " + instance.size()
+                + " attributes, expected " + attributeCount);
+        }
+        int base = i * attributeCount;
+        for (int j = 0; j < attributeCount; j++) {
+            data[base + j] = instance.getContinuous(j);
+        }
+        if (labels != null) {
+            copyLabelInto(i, instance.getLabel());
+        }
+        weights[i] = instance.getWeight();
+    }
+
+    /**
+     * Copy a label into the given row
+     * @param i the row
+     * @param label the label
+     */
+    private void copyLabelInto(int i, Instance label) {
+        if (labels == null || label == null || label.size() != labelCount) {
+            throw new IllegalArgumentException("Label does not match the "
+                + labelCount + " label values of this data set");
+        }
+        int base = i * labelCount;
+        for (int j = 0; j < labelCount; j++) {
+            labels[base + j] = label.getContinuous(j);
+        }
+    }
+
+    /**
+     * @see shared.DataSet#size()
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get a view of the ith instance, the view
+     * reads and writes the data set directly
+     * @see shared.DataSet#get(int)
+     */
+    public Instance get(int i) {
+        return new RowInstance(i);
+    }
+
+    /**
+     * Get a view of the ith instance, moving the given view to that
+     * row instead of making a new one if it is a view of this data
+     * set, so a scan can read every row through one object.  The
+     * view no longer shows the row it was on before.
+     * @see shared.DataSet#get(int, shared.Instance)
+     */
+    public Instance get(int i, Instance view) {
+        if (view instanceof RowInstance && ((RowInstance) view).getDataSet() == this) {
+            ((RowInstance) view).setRow(i);
+            return view;
+        }
+        return new RowInstance(i);
+    }
+
+    /**
+     * Get an attribute value without going through a view
+     * @param i the row
+     * @param j the attribute
+     * @return the value
+     */
+    public double getContinuous(int i, int j) {
+        return data[i * attributeCount + j];
+    }
+
+    /**
+     * Copy the values of the given instance into row i
+     * @see shared.DataSet#set(int, shared.Instance)
+     */
+    public void set(int i, Instance instance) {
+        copyInto(i, instance);
+    }
+
+    /**
+     * Swap the values of two rows, a view of either
+     * row shows the other row's values afterwards
+     * @see shared.DataSet#swap(int, int)
+     */
+    public void swap(int i, int j) {
+        swap(data, i * attributeCount, j * attributeCount, attributeCount);
+        if (labels != null) {
+            swap(labels, i * labelCount, j * labelCount, labelCount);
+        }
+        swap(weights, i, j, 1);
+    }
+
+    /**
+     * Swap two ranges of an array
+     * @param a the array
+     * @param i the start of the first range
+     * @param j the start of the second range
+     * @param length the length of the ranges
+     */
+    private static void swap(double[] a, int i, int j, int length) {
+        for (int k = 0; k < length; k++) {
+            double temp = a[i + k];
+            a[i + k] = a[j + k];
+            a[j + k] = temp;
+        }
+    }
+
+    /**
+     * Get views of all of the instances
+     * @see shared.DataSet#getInstances()
+     */
+    public Instance[] getInstances() {
+        Instance[] instances = new Instance[size];
+        for (int i = 0; i < size; i++) {
+            instances[i] = new RowInstance(i);
+        }
+        return instances;
+    }
+
+    /**
+     * Repack the data set from the given instances
+     * @see shared.DataSet#setInstances(shared.Instance[])
+     */
+    public void setInstances(Instance[] instances) {
+        pack(instances);
+    }
+
+    /**
+     * Get the labels as a columnar data set sharing
+     * the label and weight arrays of this data set
+     * @see shared.DataSet#getLabelDataSet()
+     */
+    public DataSet getLabelDataSet() {
+        if (labels == null) {
+            return null;
+        }
+        DataSetDescription labelDescription = null;
+        if (getDescription() != null) {
+            labelDescription = getDescription().getLabelDescription();
+        }
+        return new ColumnarDataSet(labels, labelCount, null, 0,
+            weights, labelDescription);
+    }
+
+    /**
+     * @see shared.DataSet#setLabelDataSet(shared.DataSet)
+     */
+    public void setLabelDataSet(DataSet labelSet) {
+        Instance first = labelSet.get(0);
+        if (labels == null || first.size() != labelCount) {
+            labelCount = first.size();
+            labels = new double[size * labelCount];
+        }
+        for (int i = 0; i < size; i++) {
+            copyLabelInto(i, labelSet.get(i));
+        }
+    }
+
+    /**
+     * Get the attribute value array, row major
+     * @return the data
+     */
+    public double[] getData() {
+        return data;
+    }
+
+    /**
+     * Get the label value array, row major
+     * @return the labels, or null
+     */
+    public double[] getLabels() {
+        return labels;
+    }
+
+    /**
+     * Get the weight array
+     * @return the weights
+     */
+    public double[] getWeights() {
+        return weights;
+    }
+
+    /**
+     * Get the number of attributes per instance
+     * @return the attribute count
+     */
+    public int getAttributeCount() {
+        return attributeCount;
+    }
+
+    /**
+     * Get the number of label values per instance
+     * @return the label count
+     */
+    public int getLabelCount() {
+        return labelCount;
+    }
+
+    /**
+     * An instance that is a view onto one row of the data set
+     */
+    private class RowInstance extends Instance {
+
+        /**
+         * The row of this instance
+         */
+        private int row;
+
+        /**
+         * The index of the first value of the row in the data
+         */
+        private int offset;
+
+        /**
+         * The view of the attribute values, made when first asked for
+         */
+        private StridedVector vector;
+
+        /**
+         * The view of the label, made when first asked for
+         */
+        private Instance label;
+
+        /**
+         * Make a new row view
+         * @param row the row
+         */
+        public RowInstance(int row) {
+            super(null, null, 0);
+            this.row = row;
+            offset = row * attributeCount;
+        }
+
+        /**
+         * Get the data set this is a view of
+         * @return the data set
+         */
+        public ColumnarDataSet getDataSet() {
+            return ColumnarDataSet.this;
+        }
+
+        /**
+         * Move the view to another row
+         * @param row the row
+         */
+        public void setRow(int row) {
+            this.row = row;
+            offset = row * attributeCount;
+            if (vector != null) {
+                vector.setOffset(offset);
+            }
+            if (label != null) {
+                ((StridedVector) label.getData()).setOffset(row * labelCount);
+            }
+        }
+
+        /**
+         * @see shared.Instance#getData()
+         */
+        public Vector getData() {
+            if (vector == null) {
+                vector = new StridedVector(data, offset, attributeCount);
+            }
+            return vector;
+        }
+
+        /**
+         * @see shared.Instance#getLabel()
+         */
+        public Instance getLabel() {
+            if (labels == null) {
+                return null;
+            }
+            if (label == null) {
+                label = new Instance(new StridedVector(labels, row * labelCount, labelCount));
+            }
+            return label;
+        }
+
+        /**
+         * @see shared.Instance#getContinuous(int)
+         */
+        public double getContinuous(int i) {
+            return data[offset + i];
+        }
+
+        /**
+         * @see shared.Instance#getDiscrete(int)
+         */
+        public int getDiscrete(int i) {
+            return (int) data[offset + i];
+        }
+
+        /**
+         * @see shared.Instance#size()
+         */
+        public int size() {
+            return attributeCount;
+        }
+
+        /**
+         * @see shared.Instance#getWeight()
+         */
+        public double getWeight() {
+            return weights[row];
+        }
+
+        /**
+         * @see shared.Instance#setWeight(double)
+         */
+        public void setWeight(double d) {
+            weights[row] = d;
+        }
+
+        /**
+         * Copy the vector into the row, the size must not change
+         * @see shared.Instance#setData(util.linalg.Vector)
+         */
+        public void setData(Vector vector) {
+            if (vector.size() != attributeCount) {
+                throw new UnsupportedOperationException(
+                    "Cannot resize a row of a columnar data set");
+            }
+            for (int j = 0; j < attributeCount; j++) {
+                data[offset + j] = vector.get(j);
+            }
+        }
+
+        /**
+         * Copy the label into the row, the size must not change
+         * @see shared.Instance#setLabel(shared.Instance)
+         */
+        public void setLabel(Instance instance) {
+            copyLabelInto(row, instance);
+        }
+
+        /**
+         * @see shared.Instance#copy()
+         */
+        public Copyable copy() {
+            Instance label = getLabel();
+            return new Instance((Vector) getData().copy(),
+                label == null ? null : (Instance) label.copy(), getWeight());
+        }
+
+        /**
+         * @see java.lang.Object#toString()
+         */
+        public String toString() {
+            return new Instance(getData(), getLabel(), getWeight()).toString();
+        }
+    }
+
+}
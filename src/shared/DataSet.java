@@ -17,6 +17,13 @@ public class DataSet {
      */
     private DataSetDescription description;
     
+    /**
+     * Make a new data set for subclasses that
+     * store their instances some other way
+     */
+    protected DataSet() {
+    }
+    
     /**
      * Make a new data set from the given instances
      * @param instances the instances
@@ -51,6 +58,29 @@ public class DataSet {
     public Instance get(int i) {
         return instances[i];
     }
+
+    /**
+     * Get the ith instance, letting data sets that hand out
+     * views move the given view there instead of making a new
+     * one, so a scan can read every instance through one object
+     * @param i the index
+     * @param view an instance from an earlier call, may be null
+     * @return the instance
+     */
+    public Instance get(int i, Instance view) {
+        return get(i);
+    }
+
+    /**
+     * Swap two instances
+     * @param i the first index
+     * @param j the second index
+     */
+    public void swap(int i, int j) {
+        Instance temp = get(i);
+        set(i, get(j));
+        set(j, temp);
+    }
     
     /**
      * Set the ith instance
@@ -98,12 +128,13 @@ public class DataSet {
      * @return the label {@linkplain DataSet}
      */
     public DataSet getLabelDataSet() {
-    	if (instances[0].getLabel() != null) {
-	        Instance[] labels = new Instance[instances.length];
+    	if (get(0).getLabel() != null) {
+	        Instance[] labels = new Instance[size()];
 	        for (int i = 0; i < labels.length; i++) {
-	            labels[i] = instances[i].getLabel();
+	            Instance instance = get(i);
+	            labels[i] = instance.getLabel();
 	            if (labels[i].getWeight() == 1.0) {
-	                labels[i].setWeight(instances[i].getWeight());
+	                labels[i].setWeight(instance.getWeight());
 	            }
 	        }
 	        DataSetDescription labelDescription = null;
@@ -120,9 +151,8 @@ public class DataSet {
      * @param labels the labels to set
      */
     public void setLabelDataSet(DataSet labelSet) {
-    	Instance[] labels = labelSet.getInstances();
-    	for (int i = 0; i < labels.length; i++) {
-    		instances[i].setLabel(labels[i]);
+    	for (int i = 0; i < labelSet.size(); i++) {
+    		get(i).setLabel(labelSet.get(i));
     	}
     }
     
@@ -131,8 +161,8 @@ public class DataSet {
      */
     public String toString() {
         String result = "Description:\n" + description + "\n";
-        for (int i = 0; i < instances.length; i++) {
-            result += instances[i] + "\n";
+        for (int i = 0; i < size(); i++) {
+            result += get(i) + "\n";
         }
         return result;
     }
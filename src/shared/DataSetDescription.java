@@ -261,8 +261,9 @@ public class DataSetDescription implements Serializable {
             types = new AttributeType[data.get(i).size()];
             Arrays.fill(types, AttributeType.BINARY);
         }
+        Instance cur = null;
         for (; i < data.size(); i++) {
-            Instance cur = data.get(i);
+            cur = data.get(i, cur);
             if (cur == null) {
                 continue;
             }
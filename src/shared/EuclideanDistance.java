@@ -1,5 +1,6 @@
 package shared;
 
+import util.linalg.SparseVector;
 
 /**
  * The standard euclidean distance measure
@@ -12,6 +13,11 @@ public class EuclideanDistance extends AbstractDistanceMeasure {
      * @see memory.DistanceMeasure#distanceSquared(shared.Instance, shared.Instance)
      */
     public double value(Instance va, Instance vb) {
+        if (va.getData() instanceof SparseVector) {
+            return ((SparseVector) va.getData()).distanceSquared(vb.getData());
+        } else if (vb.getData() instanceof SparseVector) {
+            return ((SparseVector) vb.getData()).distanceSquared(va.getData());
+        }
         double sum = 0;
         for (int i = 0; i < va.size(); i++) {
             sum += (va.getContinuous(i) - vb.getContinuous(i)) 
@@ -11,7 +11,7 @@ package shared;
  * @version 1.0
  */
 public class SumOfSquaresError extends AbstractErrorMeasure
-        implements GradientErrorMeasure {
+        implements BatchGradientErrorMeasure {
 
     /**
      * @see nn.error.ErrorMeasure#error(double[], nn.Pattern[], int)
@@ -40,4 +40,24 @@ public class SumOfSquaresError extends AbstractErrorMeasure
         return errorArray;
     }
 
+    /**
+     * @see shared.BatchGradientErrorMeasure#gradient(double[], double[], double[], int, int, int, double[])
+     */
+    public double gradient(double[] outputs, double[] labels,
+            double[] weights, int start, int count, int size, double[] gradient) {
+        double error = 0;
+        for (int b = 0; b < count; b++) {
+            double weight = weights[start + b];
+            int row = b * size, labelRow = (start + b) * size;
+            double sum = 0;
+            for (int i = 0; i < size; i++) {
+                double difference = outputs[row + i] - labels[labelRow + i];
+                sum += difference * difference * weight;
+                gradient[row + i] = difference * weight;
+            }
+            error += .5 * sum;
+        }
+        return error;
+    }
+
 }
@@ -5,6 +5,8 @@ import shared.DataSet;
 import shared.DataSetDescription;
 import shared.Instance;
 import util.linalg.DenseVector;
+import util.linalg.SparseVector;
+import util.linalg.Vector;
 
 /**
  * A filter that changes attributes from discrete to binary
@@ -13,6 +15,27 @@ import util.linalg.DenseVector;
  */
 public class DiscreteToBinaryFilter implements DataSetFilter {
 
+    /**
+     * Whether to produce sparse vectors
+     */
+    private boolean sparse;
+
+    /**
+     * Make a new discrete to binary filter
+     * @param sparse whether to store the new data in sparse vectors,
+     * which is much smaller when there are many binary attributes
+     */
+    public DiscreteToBinaryFilter(boolean sparse) {
+        this.sparse = sparse;
+    }
+
+    /**
+     * Make a new discrete to binary filter producing dense vectors
+     */
+    public DiscreteToBinaryFilter() {
+        this(false);
+    }
+
     /**
      * @see shared.filt.DataSetFilter#filter(shared.DataSet)
      */
@@ -37,17 +60,18 @@ public class DiscreteToBinaryFilter implements DataSetFilter {
         for (int i = 0; i < dataSet.size(); i++) {
             Instance instance = dataSet.get(i);
             int k = 0;
-            double[] data = new double[newAttributeCount];
+            Vector data = sparse ? (Vector) new SparseVector(newAttributeCount)
+                : new DenseVector(newAttributeCount);
             for (int j = 0; j < oldDescription.getAttributeTypes().length; j++) {
                 if (oldDescription.getAttributeTypes()[j] == AttributeType.DISCRETE) {
-                    data[k + instance.getDiscrete(j)] = 1;
+                    data.set(k + instance.getDiscrete(j), 1);
                     k += oldDescription.getDiscreteRange(j);
                 } else {
-                    data[k] = instance.getContinuous(j);
+                    data.set(k, instance.getContinuous(j));
                     k++;
                 }
             }
-            instance.setData(new DenseVector(data));
+            instance.setData(data);
         }
         // the description is no longer valid
         dataSet.setDescription(null);
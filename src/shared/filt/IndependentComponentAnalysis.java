@@ -103,20 +103,19 @@ public class IndependentComponentAnalysis implements ReversibleFilter {
                 for (int j = 0; j < dataSet.size(); j++) {
                       Vector x = dataSet.get(j).getData();
                       double dotProduct = wv.dotProduct(x);
-                      Vector xg = x.times(cf.g(dotProduct));
-                      exg.plusEquals(xg);
+                      double g = cf.g(dotProduct);
+                      exg.plusTimesEquals(g, x);
                       egprime += cf.gprime(dotProduct);
-                      beta += wv.dotProduct(xg);
+                      beta += dotProduct * g;
                 }
                 exg.timesEquals(1.0/dataSet.size());
                 beta *= 1.0/dataSet.size();
                 egprime *= 1.0/dataSet.size();
 
                 // the change in w
-                Vector dw = exg.minus(wv.times(beta));
-                dw.timesEquals(-mu/(egprime - beta));
-                // apply the change
-                wv.plusEquals(dw);
+                // apply the change, wv += (exg - beta * wv) * scale
+                double scale = -mu/(egprime - beta);
+                wv.timesPlusEquals(1 - beta * scale, scale, exg);
                 // normalize
                 wv.timesEquals(1/wv.norm());
                 w.setColumn(i, wv);
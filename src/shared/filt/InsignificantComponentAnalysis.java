@@ -3,9 +3,11 @@ package shared.filt;
 import dist.MultivariateGaussian;
 import shared.DataSet;
 import shared.Instance;
+import util.linalg.DenseVector;
 import util.linalg.Matrix;
 import util.linalg.RectangularMatrix;
 import util.linalg.SymmetricEigenvalueDecomposition;
+import util.linalg.TruncatedSymmetricEigenvalueDecomposition;
 import util.linalg.Vector;
 
 /**
@@ -40,8 +42,11 @@ public class InsignificantComponentAnalysis implements ReversibleFilter {
      * Make a new PCA filter
      * @param toKeep the number of components to keep
      * @param dataSet the set form which to estimate components
+     * @param threshold the eigenvalue threshold
+     * @param truncated true to find only the smallest toKeep
+     * eigenvalues, much faster when few of many components are kept
      */
-    public InsignificantComponentAnalysis(DataSet dataSet, int toKeep, double threshold) {
+    public InsignificantComponentAnalysis(DataSet dataSet, int toKeep, double threshold, boolean truncated) {
         MultivariateGaussian mg = new MultivariateGaussian();
         mg.estimate(dataSet);
         Matrix covarianceMatrix = mg.getCovarianceMatrix();
@@ -49,10 +54,18 @@ public class InsignificantComponentAnalysis implements ReversibleFilter {
         if (toKeep == -1) {
             toKeep = mean.size();
         }
-        SymmetricEigenvalueDecomposition sed = 
-            new SymmetricEigenvalueDecomposition(covarianceMatrix);
-        Matrix eigenVectors = sed.getU();
-        eigenValues = sed.getD();
+        Matrix eigenVectors;
+        if (truncated && toKeep < mean.size()) {
+            TruncatedSymmetricEigenvalueDecomposition sed =
+                new TruncatedSymmetricEigenvalueDecomposition(covarianceMatrix, toKeep, false);
+            eigenVectors = sed.getU();
+            eigenValues = sed.getD();
+        } else {
+            SymmetricEigenvalueDecomposition sed = 
+                new SymmetricEigenvalueDecomposition(covarianceMatrix);
+            eigenVectors = sed.getU();
+            eigenValues = sed.getD();
+        }
         int belowThreshold = 0;
         while (belowThreshold < toKeep && 
                  eigenValues.get(eigenValues.m() - belowThreshold - 1, 
@@ -61,11 +74,21 @@ public class InsignificantComponentAnalysis implements ReversibleFilter {
         }
         toKeep = Math.min(toKeep, belowThreshold);
         projection = new RectangularMatrix(toKeep, eigenVectors.m());
-        for (int i = eigenVectors.m() - 1; eigenVectors.m() - i  - 1 < toKeep; i--) {
-            projection.setRow(eigenVectors.m() - i - 1, eigenVectors.getColumn(i));
+        for (int i = 0; i < toKeep; i++) {
+            projection.setRow(i, eigenVectors.getColumn(eigenValues.m() - i - 1));
         }
     }
     
+    /**
+     * Make a new PCA filter
+     * @param toKeep the number of components to keep
+     * @param dataSet the set form which to estimate components
+     * @param threshold the eigenvalue threshold
+     */
+    public InsignificantComponentAnalysis(DataSet dataSet, int toKeep, double threshold) {
+        this(dataSet, toKeep, threshold, false);
+    }
+    
     /**
      * Make a new PCA filter
      * @param numberOfComponents the number to keep
@@ -88,10 +111,11 @@ public class InsignificantComponentAnalysis implements ReversibleFilter {
      * @see shared.filt.DataSetFilter#filter(shared.DataSet)
      */
     public void filter(DataSet dataSet) {
+        Vector centered = new DenseVector(mean.size());
         for (int i = 0; i < dataSet.size(); i++) {
             Instance instance = dataSet.get(i);
-            instance.setData(instance.getData().minus(mean));
-            instance.setData(projection.times(instance.getData()));
+            instance.getData().minus(mean, centered);
+            instance.setData(projection.times(centered));
         }
         dataSet.setDescription(null);
     }
@@ -3,9 +3,11 @@ package shared.filt;
 import dist.MultivariateGaussian;
 import shared.DataSet;
 import shared.Instance;
+import util.linalg.DenseVector;
 import util.linalg.Matrix;
 import util.linalg.RectangularMatrix;
 import util.linalg.SymmetricEigenvalueDecomposition;
+import util.linalg.TruncatedSymmetricEigenvalueDecomposition;
 import util.linalg.Vector;
 
 /**
@@ -38,8 +40,11 @@ public class PrincipalComponentAnalysis implements ReversibleFilter {
      * Make a new PCA filter
      * @param toKeep the number of components to keep
      * @param dataSet the set form which to estimate components
+     * @param threshold the eigenvalue threshold
+     * @param truncated true to find only the largest toKeep
+     * eigenvalues, much faster when few of many components are kept
      */
-    public PrincipalComponentAnalysis(DataSet dataSet, int toKeep, double threshold) {
+    public PrincipalComponentAnalysis(DataSet dataSet, int toKeep, double threshold, boolean truncated) {
         MultivariateGaussian mg = new MultivariateGaussian();
         mg.estimate(dataSet);
         Matrix covarianceMatrix = mg.getCovarianceMatrix();
@@ -47,10 +52,18 @@ public class PrincipalComponentAnalysis implements ReversibleFilter {
         if (toKeep == -1) {
             toKeep = mean.size();
         }
-        SymmetricEigenvalueDecomposition sed = 
-            new SymmetricEigenvalueDecomposition(covarianceMatrix);
-        Matrix eigenVectors = sed.getU();
-        eigenValues = sed.getD();
+        Matrix eigenVectors;
+        if (truncated && toKeep < mean.size()) {
+            TruncatedSymmetricEigenvalueDecomposition sed =
+                new TruncatedSymmetricEigenvalueDecomposition(covarianceMatrix, toKeep, true);
+            eigenVectors = sed.getU();
+            eigenValues = sed.getD();
+        } else {
+            SymmetricEigenvalueDecomposition sed = 
+                new SymmetricEigenvalueDecomposition(covarianceMatrix);
+            eigenVectors = sed.getU();
+            eigenValues = sed.getD();
+        }
         int aboveThreshold = 0;
         while (aboveThreshold < toKeep && 
                  eigenValues.get(aboveThreshold, aboveThreshold) > threshold) {
@@ -63,6 +76,16 @@ public class PrincipalComponentAnalysis implements ReversibleFilter {
         }
     }
     
+    /**
+     * Make a new PCA filter
+     * @param toKeep the number of components to keep
+     * @param dataSet the set form which to estimate components
+     * @param threshold the eigenvalue threshold
+     */
+    public PrincipalComponentAnalysis(DataSet dataSet, int toKeep, double threshold) {
+        this(dataSet, toKeep, threshold, false);
+    }
+    
     /**
      * Make a new PCA filter
      * @param numberOfComponents the number to keep
@@ -85,10 +108,11 @@ public class PrincipalComponentAnalysis implements ReversibleFilter {
      * @see shared.filt.DataSetFilter#filter(shared.DataSet)
      */
     public void filter(DataSet dataSet) {
+        Vector centered = new DenseVector(mean.size());
         for (int i = 0; i < dataSet.size(); i++) {
             Instance instance = dataSet.get(i);
-            instance.setData(instance.getData().minus(mean));
-            instance.setData(projection.times(instance.getData()));
+            instance.getData().minus(mean, centered);
+            instance.setData(projection.times(centered));
         }
         dataSet.setDescription(null);
     }
@@ -1,17 +1,12 @@
 package shared.reader;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
 
-import shared.DataSet;
-import shared.DataSetDescription;
 import shared.Instance;
 /**
  * Class to read in data from a ARFF file
@@ -19,30 +14,24 @@ import shared.Instance;
  * @author Alex Linton <https://github.com/lexlinton>
  * @date 2013-03-05
  */
-public class ArffDataSetReader extends DataSetReader {
+public class ArffDataSetReader extends TextDataSetReader {
 
 	private final String DATA_TAG = "@data";
 	private final String ATTRIBUTE_TAG = "@attribute";
 	private final int SPLIT_LIMIT = 3;
 
-	
+	/**
+	 * The attribute value maps read from the header
+	 */
+	private List<Map<String, Double>> attributes;
+
 	public ArffDataSetReader(String file) {
 		super(file);
 	}
 
 	@Override
-	public DataSet read() throws Exception {
-		BufferedReader in = new BufferedReader(new FileReader(file));
-		try {
-    		List<Map<String, Double>> attributes = processAttributes(in);
-    		Instance[] instances = processInstances(in, attributes);
-    		DataSet set = new DataSet(instances);
-    		set.setDescription(new DataSetDescription(set));
-    		return set;
-		} finally {
-    		// don't forget to close the buffer
-    		in.close();
-		}
+	protected void readHeader(BufferedReader in) throws IOException {
+		attributes = processAttributes(in);
 	}
 
 	/**
@@ -78,43 +67,40 @@ public class ArffDataSetReader extends DataSetReader {
 		return attributes;
 	}
 
-	private Instance[] processInstances(BufferedReader in,
-			List<Map<String, Double>> valueMaps) throws IOException {
-		List<Instance> instances = new ArrayList<Instance>();
-		String line = in.readLine();
-		Pattern pattern = Pattern.compile("[ ,]+");
-		while (line != null) {
-			if (!line.isEmpty() && line.charAt(0) != '%') {
-				String[] values = pattern.split(line.trim());
-				double[] ins = new double[values.length-1];
-				double label = 0;
-				for (int i = 0; i < values.length; i++) {
-					String v = values[i];
-					// defaulting to 0 if attribute value unknown.
-					double d = 0;
-					try {
-	                	d = Double.parseDouble(v);
-	                }
-	                catch(NumberFormatException e){
-	                	if (valueMaps.get(i).containsKey(v)) {
-							d = valueMaps.get(i).get(v);
-						}
-	                }
-					
-					if (i == values.length-1) {
-						label = d;
-					} else {
-						ins[i] = d;
-					}
+	@Override
+	protected Instance parse(String line, LineTokenizer tokens) {
+		if (line.isEmpty() || line.charAt(0) == '%') {
+			return null;
+		}
+		int count = tokens.tokenize(line);
+		if (count == 0) {
+			return null;
+		}
+		double[] ins = new double[count-1];
+		double label = 0;
+		for (int i = 0; i < count; i++) {
+			// defaulting to 0 if attribute value unknown.
+			double d = 0;
+			try {
+            	d = tokens.getDouble(i);
+            }
+            catch(NumberFormatException e){
+            	String v = tokens.token(i);
+            	if (attributes.get(i).containsKey(v)) {
+					d = attributes.get(i).get(v);
 				}
-				Instance l = new Instance(label);
-				Instance i = new Instance(ins);
-				i.setLabel(l);
-				instances.add(i);
+            }
+			
+			if (i == count-1) {
+				label = d;
+			} else {
+				ins[i] = d;
 			}
-			line = in.readLine();
 		}
-		return instances.toArray(new Instance[instances.size()]);
+		Instance l = new Instance(label);
+		Instance i = new Instance(ins);
+		i.setLabel(l);
+		return i;
 	}
 
 }
@@ -0,0 +1,75 @@
+package shared.reader;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import shared.BinaryDataSetWriter;
+import shared.DataSet;
+
+/**
+ * Class to read data sets written by the binary data set writer.
+ * Nothing is parsed, the file is memory mapped and instances
+ * are served straight from the mapping, so reading is close to
+ * instant and data sets bigger than the heap can be used.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class BinaryDataSetReader extends DataSetReader {
+
+    /**
+     * The largest segment to map at once
+     */
+    private static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+    /**
+     * Make a new binary data set reader
+     * @param file the file to read from
+     */
+    public BinaryDataSetReader(String file) {
+        super(file);
+    }
+
+    /**
+     * @see shared.reader.DataSetReader#read()
+     */
+    public DataSet read() throws Exception {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY,
+                0, BinaryDataSetWriter.HEADER_SIZE);
+            if (header.getInt() != BinaryDataSetWriter.MAGIC) {
+                throw new IOException(file + " is not a binary data set");
+            }
+            int version = header.getInt();
+            if (version != BinaryDataSetWriter.VERSION) {
+                throw new IOException("Unsupported binary data set version " + version);
+            }
+            int size = header.getInt();
+            int attributeCount = header.getInt();
+            int labelCount = header.getInt();
+            long recordSize = (attributeCount + labelCount + 1) * 8L;
+            if (channel.size() < BinaryDataSetWriter.HEADER_SIZE + size * recordSize) {
+                throw new IOException(file + " is truncated");
+            }
+            int recordsPerSegment = (int) Math.max(1, MAX_SEGMENT_SIZE / recordSize);
+            int segmentCount = size == 0 ? 0 : (size - 1) / recordsPerSegment + 1;
+            ByteBuffer[] segments = new ByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long start = BinaryDataSetWriter.HEADER_SIZE 
+                    + (long) i * recordsPerSegment * recordSize;
+                int records = Math.min(recordsPerSegment, size - i * recordsPerSegment);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                    start, records * recordSize);
+            }
+            // the mappings stay valid after the channel is closed
+            return new MappedDataSet(segments, recordsPerSegment, size,
+                attributeCount, labelCount);
+        } finally {
+            raf.close();
+        }
+    }
+
+}
@@ -1,10 +1,16 @@
 package shared.reader;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import shared.DataSet;
 import shared.DataSetDescription;
@@ -14,33 +20,188 @@ import shared.Instance;
  * @author Tim Swihart <https://github.com/chronoslynx>
  * @date 2013-03-05
  */
-public class CSVDataSetReader extends DataSetReader {
+public class CSVDataSetReader extends TextDataSetReader {
+
+    /**
+     * The target size of the byte range parsed by each task
+     */
+    private static final int RANGE_SIZE = 1 << 25;
+
+    /**
+     * The number of threads to parse with
+     */
+    private int threads;
 
 	public CSVDataSetReader(String file) {
-		super(file);
-		// TODO Auto-generated constructor stub
+		this(file, 1);
 	}
 
+    /**
+     * Make a new reader that parses in parallel, the file
+     * is split into byte ranges on line boundaries, each range
+     * is parsed on a worker thread and the results are put
+     * back together in file order
+     * @param file the file to read from
+     * @param threads the number of threads to parse with
+     */
+    public CSVDataSetReader(String file, int threads) {
+        super(file);
+        this.threads = threads;
+    }
+
 	@Override
-	public DataSet read() throws Exception {
-        BufferedReader br = new BufferedReader(new FileReader(file));
-        String line;
-        List<Instance> data = new ArrayList<Instance>();
-        Pattern pattern = Pattern.compile("[ ,]+");
-        while ((line = br.readLine()) != null) {
-            String[] split = pattern.split(line.trim());
-            double[] input = new double[split.length];
-            for (int i = 0; i < input.length; i++) {
-                input[i] = Double.parseDouble(split[i]);
-            }
-            Instance instance = new Instance(input);
-            data.add(instance);
-        }
-        br.close();
-        Instance[] instances = (Instance[]) data.toArray(new Instance[0]);
-        DataSet set = new DataSet(instances);
-        set.setDescription(new DataSetDescription(set));
-        return set;
+	protected Instance parse(String line, LineTokenizer tokens) {
+        int count = tokens.tokenize(line);
+        if (count == 0) {
+            return null;
+        }
+        double[] input = new double[count];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = tokens.getDouble(i);
+        }
+        return new Instance(input);
 	}
 
+    @Override
+    public DataSet read() throws Exception {
+        if (threads <= 1) {
+            return super.read();
+        }
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final FileChannel channel = raf.getChannel();
+            long[] bounds = lineBoundaries(channel);
+            List<Future<List<Instance>>> results = new ArrayList<Future<List<Instance>>>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                final long start = bounds[i];
+                final long end = bounds[i + 1];
+                results.add(executor.submit(new Callable<List<Instance>>() {
+                    public List<Instance> call() throws IOException {
+                        return parseRange(channel, start, end);
+                    }
+                }));
+            }
+            List<Instance> instances = new ArrayList<Instance>();
+            for (Future<List<Instance>> result : results) {
+                try {
+                    instances.addAll(result.get());
+                } catch (ExecutionException e) {
+                    // fail with the same exception a serial read would
+                    if (e.getCause() instanceof Exception) {
+                        throw (Exception) e.getCause();
+                    }
+                    throw e;
+                }
+            }
+            DataSet set = new DataSet(instances.toArray(new Instance[instances.size()]));
+            set.setDescription(new DataSetDescription(set));
+            return set;
+        } finally {
+            executor.shutdownNow();
+            raf.close();
+        }
+    }
+
+    /**
+     * Split the file into ranges that start at the beginning of a line
+     * @param channel the file
+     * @return the range boundaries, from 0 to the file size
+     * @throws IOException when something goes wrong
+     */
+    private long[] lineBoundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int ranges = (int) Math.max(threads, (size + RANGE_SIZE - 1) / RANGE_SIZE);
+        List<Long> bounds = new ArrayList<Long>();
+        bounds.add(0L);
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        for (int i = 1; i < ranges; i++) {
+            long position = Math.max(size / ranges * i, bounds.get(bounds.size() - 1));
+            boolean found = false;
+            while (!found && position < size) {
+                buffer.clear();
+                int read = channel.read(buffer, position);
+                for (int j = 0; j < read && !found; j++) {
+                    position++;
+                    found = buffer.get(j) == '\n';
+                }
+            }
+            if (position >= size) {
+                break;
+            }
+            if (position > bounds.get(bounds.size() - 1)) {
+                bounds.add(position);
+            }
+        }
+        bounds.add(size);
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Parse the lines in a range of the file
+     * @param channel the file
+     * @param start the start of the range, at the start of a line
+     * @param end the end of the range, at the start of a line or the end
+     * @return the parsed instances
+     * @throws IOException when something goes wrong
+     */
+    private List<Instance> parseRange(FileChannel channel, long start, long end)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                break;
+            }
+        }
+        byte[] bytes = buffer.array();
+        int length = buffer.position();
+        List<Instance> instances = new ArrayList<Instance>();
+        double[] values = new double[16];
+        int i = 0;
+        while (i < length) {
+            int count = 0;
+            while (i < length && bytes[i] != '\n') {
+                while (i < length && bytes[i] != '\n' && isSeparator(bytes[i])) {
+                    i++;
+                }
+                int tokenStart = i;
+                while (i < length && !isSeparator(bytes[i])) {
+                    i++;
+                }
+                if (i > tokenStart) {
+                    if (count == values.length) {
+                        double[] grown = new double[count * 2];
+                        System.arraycopy(values, 0, grown, 0, count);
+                        values = grown;
+                    }
+                    values[count++] = NumberParser.parse(bytes, tokenStart, i);
+                }
+            }
+            i++;
+            if (count > 0) {
+                double[] input = new double[count];
+                System.arraycopy(values, 0, input, 0, count);
+                instances.add(new Instance(input));
+            }
+        }
+        return instances;
+    }
+
+    /**
+     * Check if a byte separates tokens, the same test the line
+     * tokenizer makes on characters.  Bytes are signed, so the
+     * bytes of non ascii characters are masked to keep them from
+     * looking like white space.
+     * @param b the byte
+     * @return true if it is a separator
+     */
+    private static boolean isSeparator(byte b) {
+        int c = b & 0xFF;
+        return c <= ' ' || c == ',';
+    }
+
 }
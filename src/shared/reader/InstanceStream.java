@@ -0,0 +1,183 @@
+package shared.reader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import shared.DataSet;
+import shared.Instance;
+
+/**
+ * A stream of instances parsed lazily from a text file.
+ * A background thread parses the file a chunk at a time and
+ * hands the chunks over through a bounded queue, so at most a
+ * fixed number of chunks are ever held in memory and consumers
+ * can start working as soon as the first chunk is ready.
+ * Instances can be taken one at a time or a chunk at a time.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class InstanceStream {
+
+    /**
+     * The chunk that marks the end of the stream
+     */
+    private static final Instance[] END = new Instance[0];
+
+    /**
+     * The chunks waiting to be consumed
+     */
+    private BlockingQueue<Instance[]> chunks;
+
+    /**
+     * The parsing thread
+     */
+    private Thread parser;
+
+    /**
+     * The error that stopped the parser, if any
+     */
+    private volatile Throwable error;
+
+    /**
+     * The chunk currently being consumed
+     */
+    private Instance[] current;
+
+    /**
+     * The position in the current chunk
+     */
+    private int position;
+
+    /**
+     * Whether the end has been reached
+     */
+    private boolean done;
+
+    /**
+     * Make a new stream and start parsing
+     * @param reader the reader to parse lines with
+     * @param in the input, positioned at the first data line
+     * @param chunkSize the number of instances per chunk
+     * @param chunksAhead the number of chunks to parse ahead
+     */
+    public InstanceStream(final TextDataSetReader reader, final BufferedReader in,
+            final int chunkSize, int chunksAhead) {
+        chunks = new ArrayBlockingQueue<Instance[]>(chunksAhead);
+        parser = new Thread(new Runnable() {
+            public void run() {
+                LineTokenizer tokens = new LineTokenizer();
+                Instance[] chunk = new Instance[chunkSize];
+                int count = 0;
+                boolean interrupted = false;
+                try {
+                    String line;
+                    while ((line = in.readLine()) != null) {
+                        Instance instance = reader.parse(line, tokens);
+                        if (instance == null) {
+                            continue;
+                        }
+                        chunk[count++] = instance;
+                        if (count == chunkSize) {
+                            chunks.put(chunk);
+                            chunk = new Instance[chunkSize];
+                            count = 0;
+                        }
+                    }
+                    if (count > 0) {
+                        Instance[] last = new Instance[count];
+                        System.arraycopy(chunk, 0, last, 0, count);
+                        chunks.put(last);
+                    }
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (Throwable e) {
+                    error = e;
+                } finally {
+                    try {
+                        in.close();
+                    } catch (IOException e) {
+                    }
+                    // the consumer waits for the end whatever stopped the parser
+                    if (!interrupted) {
+                        try {
+                            chunks.put(END);
+                        } catch (InterruptedException e) {
+                        }
+                    }
+                }
+            }
+        }, "InstanceStream");
+        parser.setDaemon(true);
+        parser.start();
+    }
+
+    /**
+     * Get the next chunk of instances, blocking until it is parsed
+     * @return the chunk, or null at the end of the stream
+     * @throws IOException if parsing failed
+     */
+    public DataSet nextChunk() throws IOException {
+        if (current != null && position < current.length) {
+            Instance[] rest = new Instance[current.length - position];
+            System.arraycopy(current, position, rest, 0, rest.length);
+            current = null;
+            return new DataSet(rest);
+        }
+        Instance[] chunk = take();
+        return chunk == null ? null : new DataSet(chunk);
+    }
+
+    /**
+     * Get the next instance, blocking until it is parsed
+     * @return the instance, or null at the end of the stream
+     * @throws IOException if parsing failed
+     */
+    public Instance next() throws IOException {
+        if (current == null || position >= current.length) {
+            current = take();
+            position = 0;
+            if (current == null) {
+                return null;
+            }
+        }
+        return current[position++];
+    }
+
+    /**
+     * Take the next parsed chunk from the queue
+     * @return the chunk or null at the end
+     * @throws IOException if parsing failed
+     */
+    private Instance[] take() throws IOException {
+        if (done) {
+            return null;
+        }
+        Instance[] chunk;
+        try {
+            chunk = chunks.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for instances");
+        }
+        if (chunk == END) {
+            done = true;
+            if (error != null) {
+                throw new IOException("Parsing failed", error);
+            }
+            return null;
+        }
+        return chunk;
+    }
+
+    /**
+     * Stop parsing and release the file
+     */
+    public void close() {
+        done = true;
+        parser.interrupt();
+        chunks.clear();
+    }
+
+}
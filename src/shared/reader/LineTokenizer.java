@@ -0,0 +1,105 @@
+package shared.reader;
+
+/**
+ * A reusable tokenizer that splits a line on runs of white
+ * space and commas.  The token boundaries are kept in arrays that
+ * are grown as needed and reused from line to line, so a
+ * tokenizer can be kept for the whole of a read.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class LineTokenizer {
+
+    /**
+     * The current line
+     */
+    private String line;
+
+    /**
+     * The start of each token
+     */
+    private int[] starts = new int[16];
+
+    /**
+     * The end of each token (exclusive)
+     */
+    private int[] ends = new int[16];
+
+    /**
+     * The number of tokens in the current line
+     */
+    private int count;
+
+    /**
+     * Split the given line into tokens
+     * @param line the line
+     * @return the number of tokens
+     */
+    public int tokenize(String line) {
+        this.line = line;
+        count = 0;
+        int length = line.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && isSeparator(line.charAt(i))) {
+                i++;
+            }
+            if (i >= length) {
+                break;
+            }
+            int start = i;
+            while (i < length && !isSeparator(line.charAt(i))) {
+                i++;
+            }
+            if (count == starts.length) {
+                int[] newStarts = new int[count * 2];
+                int[] newEnds = new int[count * 2];
+                System.arraycopy(starts, 0, newStarts, 0, count);
+                System.arraycopy(ends, 0, newEnds, 0, count);
+                starts = newStarts;
+                ends = newEnds;
+            }
+            starts[count] = start;
+            ends[count] = i;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Check if a character separates tokens
+     * @param c the character
+     * @return true if it is a separator
+     */
+    private static boolean isSeparator(char c) {
+        return c <= ' ' || c == ',';
+    }
+
+    /**
+     * Get the number of tokens in the current line
+     * @return the count
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Get the ith token as a string
+     * @param i the token index
+     * @return the token
+     */
+    public String token(int i) {
+        return line.substring(starts[i], ends[i]);
+    }
+
+    /**
+     * Parse the ith token as a double
+     * @param i the token index
+     * @return the value
+     * @throws NumberFormatException if the token is not a number
+     */
+    public double getDouble(int i) {
+        return Double.parseDouble(token(i));
+    }
+
+}
@@ -0,0 +1,149 @@
+package shared.reader;
+
+import java.nio.ByteBuffer;
+
+import shared.DataSet;
+import shared.DataSetDescription;
+import shared.Instance;
+
+/**
+ * A read only data set whose instances are served directly
+ * out of memory mapped binary records, so the data set never
+ * has to fit on the heap.  The file is mapped as a number of
+ * segments, each holding a whole number of records, to get
+ * around the two gigabyte limit on a single mapping.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class MappedDataSet extends DataSet {
+
+    /**
+     * The mapped segments
+     */
+    private ByteBuffer[] segments;
+
+    /**
+     * The number of records in each segment
+     */
+    private int recordsPerSegment;
+
+    /**
+     * The number of instances
+     */
+    private int size;
+
+    /**
+     * The number of attributes
+     */
+    private int attributeCount;
+
+    /**
+     * The number of label values
+     */
+    private int labelCount;
+
+    /**
+     * The size of a record in bytes
+     */
+    private int recordSize;
+
+    /**
+     * Make a new mapped data set
+     * @param segments the mapped segments
+     * @param recordsPerSegment the number of records per segment
+     * @param size the number of instances
+     * @param attributeCount the number of attributes
+     * @param labelCount the number of label values
+     */
+    public MappedDataSet(ByteBuffer[] segments, int recordsPerSegment,
+            int size, int attributeCount, int labelCount) {
+        this.segments = segments;
+        this.recordsPerSegment = recordsPerSegment;
+        this.size = size;
+        this.attributeCount = attributeCount;
+        this.labelCount = labelCount;
+        this.recordSize = (attributeCount + labelCount + 1) * 8;
+    }
+
+    /**
+     * @see shared.DataSet#size()
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the ith instance, read straight from the mapping
+     * @see shared.DataSet#get(int)
+     */
+    public Instance get(int i) {
+        ByteBuffer buffer = segments[i / recordsPerSegment];
+        int position = (i % recordsPerSegment) * recordSize;
+        Instance label = null;
+        if (labelCount > 0) {
+            label = new Instance(new MappedVector(buffer,
+                position + attributeCount * 8, labelCount));
+        }
+        double weight = buffer.getDouble(position + recordSize - 8);
+        return new Instance(new MappedVector(buffer, position, attributeCount),
+            label, weight);
+    }
+
+    /**
+     * Mapped data sets are read only
+     * @see shared.DataSet#set(int, shared.Instance)
+     */
+    public void set(int i, Instance instance) {
+        throw new UnsupportedOperationException("Mapped data sets are read only");
+    }
+
+    /**
+     * Get all of the instances, this only creates
+     * the views and does not copy the data
+     * @see shared.DataSet#getInstances()
+     */
+    public Instance[] getInstances() {
+        Instance[] instances = new Instance[size];
+        for (int i = 0; i < size; i++) {
+            instances[i] = get(i);
+        }
+        return instances;
+    }
+
+    /**
+     * Mapped data sets are read only
+     * @see shared.DataSet#setInstances(shared.Instance[])
+     */
+    public void setInstances(Instance[] instances) {
+        throw new UnsupportedOperationException("Mapped data sets are read only");
+    }
+
+    /**
+     * Get the description, inducing it with a pass
+     * over the data the first time it is asked for
+     * @see shared.DataSet#getDescription()
+     */
+    public DataSetDescription getDescription() {
+        if (super.getDescription() == null && size > 0) {
+            setDescription(new DataSetDescription(this));
+        }
+        return super.getDescription();
+    }
+
+    /**
+     * Get the number of attributes
+     * @return the attribute count
+     */
+    public int getAttributeCount() {
+        return attributeCount;
+    }
+
+    /**
+     * Get the number of label values
+     * @return the label count
+     */
+    public int getLabelCount() {
+        return labelCount;
+    }
+
+}
@@ -0,0 +1,64 @@
+package shared.reader;
+
+import java.nio.ByteBuffer;
+
+import util.linalg.Vector;
+
+/**
+ * A read only vector that reads its values directly out
+ * of a memory mapped buffer
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+class MappedVector extends Vector {
+
+    /**
+     * The buffer holding the values
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * The byte position of the first value
+     */
+    private int position;
+
+    /**
+     * The number of values
+     */
+    private int size;
+
+    /**
+     * Make a new mapped vector
+     * @param buffer the buffer
+     * @param position the byte position of the first value
+     * @param size the number of values
+     */
+    public MappedVector(ByteBuffer buffer, int position, int size) {
+        this.buffer = buffer;
+        this.position = position;
+        this.size = size;
+    }
+
+    /**
+     * @see util.linalg.Vector#size()
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @see util.linalg.Vector#get(int)
+     */
+    public double get(int i) {
+        return buffer.getDouble(position + (i << 3));
+    }
+
+    /**
+     * Mapped vectors are read only, copy the vector to modify it
+     * @see util.linalg.Vector#set(int, double)
+     */
+    public void set(int i, double d) {
+        throw new UnsupportedOperationException("Mapped vectors are read only");
+    }
+
+}
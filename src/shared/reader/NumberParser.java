@@ -0,0 +1,125 @@
+package shared.reader;
+
+/**
+ * A parser for decimal numbers stored as ASCII bytes that does
+ * not allocate.  Plain decimal numbers with at most eighteen
+ * significant digits and a small exponent are converted exactly
+ * with a single correctly rounded multiply or divide; anything
+ * else (long mantissas, huge exponents, NaN, Infinity) falls
+ * back to Double.parseDouble so the result always matches it.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class NumberParser {
+
+    /**
+     * The powers of ten that are exactly representable
+     */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+        1e21, 1e22
+    };
+
+    /**
+     * The largest mantissa that is exactly representable
+     */
+    private static final long MAX_EXACT = 1L << 53;
+
+    /**
+     * Parse the number in the given range of bytes
+     * @param bytes the bytes
+     * @param start the start of the number (inclusive)
+     * @param end the end of the number (exclusive)
+     * @return the value
+     * @throws NumberFormatException if the bytes are not a number
+     */
+    public static double parse(byte[] bytes, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean any = false;
+        for (; i < end && bytes[i] >= '0' && bytes[i] <= '9'; i++) {
+            any = true;
+            if (digits > 0 || bytes[i] != '0') {
+                if (digits >= 18) {
+                    return slowParse(bytes, start, end);
+                }
+                mantissa = mantissa * 10 + (bytes[i] - '0');
+                digits++;
+            }
+        }
+        if (i < end && bytes[i] == '.') {
+            i++;
+            for (; i < end && bytes[i] >= '0' && bytes[i] <= '9'; i++) {
+                any = true;
+                if (digits > 0 || bytes[i] != '0') {
+                    if (digits >= 18) {
+                        return slowParse(bytes, start, end);
+                    }
+                    mantissa = mantissa * 10 + (bytes[i] - '0');
+                    digits++;
+                }
+                exponent--;
+            }
+        }
+        if (!any) {
+            return slowParse(bytes, start, end);
+        }
+        if (i < end && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+                negativeExponent = bytes[i] == '-';
+                i++;
+            }
+            if (i == end) {
+                return slowParse(bytes, start, end);
+            }
+            int value = 0;
+            for (; i < end && bytes[i] >= '0' && bytes[i] <= '9'; i++) {
+                if (value > 100000) {
+                    return slowParse(bytes, start, end);
+                }
+                value = value * 10 + (bytes[i] - '0');
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        if (i != end || mantissa > MAX_EXACT) {
+            return slowParse(bytes, start, end);
+        }
+        double result = mantissa;
+        if (mantissa == 0) {
+            result = 0;
+        } else if (exponent < 0 && exponent >= -22) {
+            result = result / POWERS_OF_TEN[-exponent];
+        } else if (exponent >= 0 && exponent <= 22) {
+            result = result * POWERS_OF_TEN[exponent];
+        } else {
+            return slowParse(bytes, start, end);
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * Parse the number with the full library parser
+     * @param bytes the bytes
+     * @param start the start of the number (inclusive)
+     * @param end the end of the number (exclusive)
+     * @return the value
+     */
+    private static double slowParse(byte[] bytes, int start, int end) {
+        char[] chars = new char[end - start];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) (bytes[start + i] & 0xff);
+        }
+        return Double.parseDouble(new String(chars));
+    }
+
+}
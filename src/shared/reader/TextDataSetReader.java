@@ -0,0 +1,102 @@
+package shared.reader;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import shared.DataSet;
+import shared.DataSetDescription;
+import shared.Instance;
+
+/**
+ * A data set reader for text files with one instance per line.
+ * Subclasses read whatever header the format has and turn a
+ * single line into an instance; this class takes care of
+ * reading the whole file, or of streaming it a chunk at a time
+ * on a background thread.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public abstract class TextDataSetReader extends DataSetReader {
+
+    /**
+     * Make a new text data set reader
+     * @param file the file to read from
+     */
+    public TextDataSetReader(String file) {
+        super(file);
+    }
+
+    /**
+     * Read the header of the file, if the format has one,
+     * leaving the reader at the first data line
+     * @param in the reader
+     * @throws IOException when something goes wrong
+     */
+    protected void readHeader(BufferedReader in) throws IOException {
+    }
+
+    /**
+     * Parse a line into an instance
+     * @param line the line
+     * @param tokens a tokenizer that may be reused for the line
+     * @return the instance, or null if the line holds no instance
+     */
+    protected abstract Instance parse(String line, LineTokenizer tokens);
+
+    /**
+     * @see shared.reader.DataSetReader#read()
+     */
+    public DataSet read() throws Exception {
+        BufferedReader in = new BufferedReader(new FileReader(file));
+        try {
+            readHeader(in);
+            LineTokenizer tokens = new LineTokenizer();
+            List<Instance> instances = new ArrayList<Instance>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                Instance instance = parse(line, tokens);
+                if (instance != null) {
+                    instances.add(instance);
+                }
+            }
+            DataSet set = new DataSet(instances.toArray(new Instance[instances.size()]));
+            set.setDescription(new DataSetDescription(set));
+            return set;
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Start streaming the file, parsing on a background thread
+     * @param chunkSize the number of instances per chunk
+     * @param chunksAhead the number of parsed chunks that may
+     * be waiting to be consumed, which bounds the memory used
+     * @return the stream
+     * @throws IOException when the file can't be opened
+     */
+    public InstanceStream stream(int chunkSize, int chunksAhead) throws IOException {
+        BufferedReader in = new BufferedReader(new FileReader(file));
+        try {
+            readHeader(in);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return new InstanceStream(this, in, chunkSize, chunksAhead);
+    }
+
+    /**
+     * Start streaming the file in chunks of 1000 instances
+     * with up to 4 chunks parsed ahead
+     * @return the stream
+     * @throws IOException when the file can't be opened
+     */
+    public InstanceStream stream() throws IOException {
+        return stream(1000, 4);
+    }
+
+}
@@ -0,0 +1,44 @@
+package shared.test;
+
+import java.io.File;
+
+import shared.BinaryDataSetWriter;
+import shared.DataSet;
+import shared.filt.LabelSplitFilter;
+import shared.reader.BinaryDataSetReader;
+import shared.reader.CSVDataSetReader;
+import shared.reader.DataSetReader;
+
+/**
+ * A test of writing and memory mapping binary data sets
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class BinaryDataSetReaderTest {
+    /**
+     * The test main
+     * @param args ignored parameters
+     */
+    public static void main(String[] args) throws Exception {
+        DataSetReader dsr = new CSVDataSetReader(new File("").getAbsolutePath() + "/src/shared/test/abalone.data");
+        DataSet ds = dsr.read();
+        LabelSplitFilter lsf = new LabelSplitFilter();
+        lsf.filter(ds);
+        File file = File.createTempFile("abalone", ".bin");
+        file.deleteOnExit();
+        new BinaryDataSetWriter(ds, file.getAbsolutePath()).write();
+        long start = System.nanoTime();
+        DataSet mapped = new BinaryDataSetReader(file.getAbsolutePath()).read();
+        System.out.println("Mapped " + mapped.size() + " instances in "
+            + (System.nanoTime() - start) / 1e6 + " ms");
+        boolean same = mapped.size() == ds.size();
+        for (int i = 0; i < ds.size() && same; i++) {
+            same = mapped.get(i).getData().equals(ds.get(i).getData())
+                && mapped.get(i).getLabel().getData().equals(ds.get(i).getLabel().getData())
+                && mapped.get(i).getWeight() == ds.get(i).getWeight();
+        }
+        System.out.println("Mapped matches original: " + same);
+        System.out.println(mapped.get(0));
+        System.out.println(mapped.getDescription());
+    }
+}
@@ -0,0 +1,196 @@
+package shared.test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Random;
+
+import shared.ColumnarDataSet;
+import shared.DataSet;
+import shared.DataSetDescription;
+import shared.EuclideanDistance;
+import shared.Instance;
+import shared.filt.LabelSplitFilter;
+import shared.filt.RandomOrderFilter;
+import shared.reader.CSVDataSetReader;
+import shared.reader.DataSetReader;
+
+/**
+ * A test of the columnar data set
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class ColumnarDataSetTest {
+    /** The number of copies of the rows to scan */
+    private static final int COPIES = 50;
+    /** The number of times to repeat each scan in a round */
+    private static final int SCANS = 10;
+    /** The number of rounds */
+    private static final int ROUNDS = 5;
+
+    /**
+     * Sum the distances from the first instance to all of them
+     * @param scan how to read the instances, from the instance
+     * objects, a view per row, one moving view or the values
+     * @param ds the data set
+     * @param cds the data set packed
+     * @param distance the distance measure
+     * @return the sum
+     */
+    private static double scan(int scan, DataSet ds, ColumnarDataSet cds,
+            EuclideanDistance distance) {
+        switch (scan) {
+        case 0:
+            return scanInstances(ds, distance);
+        case 1:
+            return scanViews(cds, distance);
+        case 2:
+            return scanOneView(cds, distance);
+        default:
+            return scanValues(cds);
+        }
+    }
+
+    /**
+     * Scan the instance objects
+     * @param ds the data set
+     * @param distance the distance measure
+     * @return the sum of the distances
+     */
+    private static double scanInstances(DataSet ds, EuclideanDistance distance) {
+        double sum = 0;
+        for (int i = 0; i < ds.size(); i++) {
+            sum += distance.value(ds.get(0), ds.get(i));
+        }
+        return sum;
+    }
+
+    /**
+     * Scan with a new view for every row
+     * @param cds the data set
+     * @param distance the distance measure
+     * @return the sum of the distances
+     */
+    private static double scanViews(ColumnarDataSet cds, EuclideanDistance distance) {
+        double sum = 0;
+        for (int i = 0; i < cds.size(); i++) {
+            sum += distance.value(cds.get(0), cds.get(i));
+        }
+        return sum;
+    }
+
+    /**
+     * Scan moving one view from row to row
+     * @param cds the data set
+     * @param distance the distance measure
+     * @return the sum of the distances
+     */
+    private static double scanOneView(ColumnarDataSet cds, EuclideanDistance distance) {
+        double sum = 0;
+        Instance first = cds.get(0);
+        Instance view = null;
+        for (int i = 0; i < cds.size(); i++) {
+            view = cds.get(i, view);
+            sum += distance.value(first, view);
+        }
+        return sum;
+    }
+
+    /**
+     * Scan reading the values straight from the data set
+     * @param cds the data set
+     * @return the sum of the distances
+     */
+    private static double scanValues(ColumnarDataSet cds) {
+        double sum = 0;
+        int n = cds.getAttributeCount();
+        for (int i = 0; i < cds.size(); i++) {
+            for (int j = 0; j < n; j++) {
+                double d = cds.getContinuous(0, j) - cds.getContinuous(i, j);
+                sum += d * d;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Get the heap in use after collecting garbage
+     * @return the bytes in use
+     */
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * The test main
+     * @param args ignored parameters
+     */
+    public static void main(String[] args) throws Exception {
+        DataSetReader dsr = new CSVDataSetReader(new File("").getAbsolutePath() + "/src/shared/test/abalone.data");
+        DataSet ds = dsr.read();
+        LabelSplitFilter lsf = new LabelSplitFilter();
+        lsf.filter(ds);
+        ColumnarDataSet cds = new ColumnarDataSet(ds);
+        boolean same = cds.size() == ds.size();
+        for (int i = 0; i < ds.size() && same; i++) {
+            same = cds.get(i).getData().equals(ds.get(i).getData())
+                && cds.get(i).getLabel().getData().equals(ds.get(i).getLabel().getData());
+        }
+        System.out.println("Packed matches original: " + same);
+        // time scans of a larger data set drawn from the rows in a random order
+        Random random = new Random(1);
+        long before = usedMemory();
+        Instance[] rows = new Instance[ds.size() * COPIES];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = (Instance) ds.get(random.nextInt(ds.size())).copy();
+        }
+        DataSet large = new DataSet(rows);
+        long instanceMemory = usedMemory() - before;
+        before = usedMemory();
+        ColumnarDataSet packed = new ColumnarDataSet(large);
+        long packedMemory = usedMemory() - before;
+        System.out.println(large.size() + " rows of " + packed.getAttributeCount()
+            + " attributes and " + packed.getLabelCount() + " label: Instance[] "
+            + instanceMemory / 1024 + " KB, packed " + packedMemory / 1024 + " KB");
+        EuclideanDistance distance = new EuclideanDistance();
+        // each scan is repeated in rounds and the best round kept
+        long[] times = new long[4];
+        Arrays.fill(times, Long.MAX_VALUE);
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int scan = 0; scan < times.length; scan++) {
+                long start = System.nanoTime();
+                for (int k = 0; k < SCANS; k++) {
+                    scan(scan, large, packed, distance);
+                }
+                times[scan] = Math.min(times[scan], System.nanoTime() - start);
+            }
+        }
+        String[] names = { "Instance", "Columnar view per row", "Columnar one view",
+            "Columnar values" };
+        for (int scan = 0; scan < times.length; scan++) {
+            System.out.println(names[scan] + " scan of " + large.size() + " rows "
+                + scan(scan, large, packed, distance) + " in " + times[scan] / SCANS / 1e6 + " ms");
+        }
+        // shuffling swaps the rows instead of copying one over another
+        double total = 0;
+        for (int i = 0; i < packed.getData().length; i++) {
+            total += packed.getData()[i];
+        }
+        new RandomOrderFilter().filter(packed);
+        double shuffled = 0;
+        for (int i = 0; i < packed.getData().length; i++) {
+            shuffled += packed.getData()[i];
+        }
+        System.out.println("Shuffled keeps the values: "
+            + (Math.abs(shuffled - total) < 1e-9 * total));
+        // writes through a view show up in the data set
+        Instance view = cds.get(0);
+        view.getData().set(0, 42);
+        view.setWeight(2);
+        System.out.println(cds.get(0) + " -> " + cds.getData()[0] + ", " + cds.getWeights()[0]);
+        System.out.println(new DataSetDescription(cds));
+    }
+}
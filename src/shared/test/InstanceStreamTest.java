@@ -0,0 +1,74 @@
+package shared.test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import shared.DataSet;
+import shared.Instance;
+import shared.reader.ArffDataSetReader;
+import shared.reader.CSVDataSetReader;
+import shared.reader.InstanceStream;
+import shared.reader.LineTokenizer;
+import shared.reader.TextDataSetReader;
+
+/**
+ * A test of streaming instances out of text files
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class InstanceStreamTest {
+    /**
+     * The test main
+     * @param args ignored parameters
+     */
+    public static void main(String[] args) throws Exception {
+        String dir = new File("").getAbsolutePath() + "/src/shared/test/";
+        TextDataSetReader csv = new CSVDataSetReader(dir + "abalone.data");
+        DataSet all = csv.read();
+        // stream one instance at a time
+        InstanceStream stream = csv.stream();
+        int count = 0;
+        boolean same = true;
+        Instance instance;
+        while ((instance = stream.next()) != null) {
+            same = same && instance.getData().equals(all.get(count).getData());
+            count++;
+        }
+        System.out.println("Streamed " + count + " of " + all.size()
+            + " instances, matching: " + same);
+        // stream a chunk at a time
+        TextDataSetReader arff = new ArffDataSetReader(dir + "abalone.arff");
+        stream = arff.stream(500, 2);
+        DataSet chunk;
+        int chunks = 0;
+        count = 0;
+        while ((chunk = stream.nextChunk()) != null) {
+            chunks++;
+            count += chunk.size();
+        }
+        System.out.println("Streamed " + count + " of " + arff.read().size()
+            + " arff instances in " + chunks + " chunks");
+        // blank lines are skipped
+        File file = File.createTempFile("blank", ".arff");
+        file.deleteOnExit();
+        FileWriter out = new FileWriter(file);
+        out.write("@relation blank\n@attribute a numeric\n@attribute b numeric\n"
+            + "@data\n1,0\n   \n0,1\n");
+        out.close();
+        System.out.println("Read " + new ArffDataSetReader(file.getPath()).read().size()
+            + " of 2 arff instances around a blank line");
+        // an error in the parser ends the stream instead of hanging it
+        stream = new CSVDataSetReader(dir + "abalone.data") {
+            protected Instance parse(String line, LineTokenizer tokens) {
+                throw new AssertionError("parser failed");
+            }
+        }.stream();
+        try {
+            stream.next();
+            System.out.println("Parser error was not reported");
+        } catch (IOException e) {
+            System.out.println("Parser error reported: " + e.getCause());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package shared.test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import shared.DataSet;
+import shared.reader.CSVDataSetReader;
+
+/**
+ * A test of parsing a csv file in parallel
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class ParallelCSVDataSetReaderTest {
+    /**
+     * The test main
+     * @param args ignored parameters
+     */
+    public static void main(String[] args) throws Exception {
+        String file = new File("").getAbsolutePath() + "/src/shared/test/abalone.data";
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        long start = System.nanoTime();
+        DataSet serial = new CSVDataSetReader(file).read();
+        System.out.println("Serial read in " + (System.nanoTime() - start) / 1e6 + " ms");
+        start = System.nanoTime();
+        DataSet parallel = new CSVDataSetReader(file, threads).read();
+        System.out.println("Parallel read with " + threads + " threads in "
+            + (System.nanoTime() - start) / 1e6 + " ms");
+        boolean same = serial.size() == parallel.size();
+        for (int i = 0; i < serial.size() && same; i++) {
+            same = serial.get(i).getData().equals(parallel.get(i).getData());
+        }
+        System.out.println("Parallel matches serial: " + same);
+        // a no break space is not a separator for either reader
+        File utf8 = File.createTempFile("utf8", ".csv");
+        utf8.deleteOnExit();
+        Writer out = new OutputStreamWriter(new FileOutputStream(utf8), "UTF-8");
+        out.write("1,2\n3\u00a0,4\n");
+        out.close();
+        System.out.println("Serial on utf-8: " + read(new CSVDataSetReader(utf8.getPath()))
+            + ", parallel: " + read(new CSVDataSetReader(utf8.getPath(), threads)));
+    }
+
+    /**
+     * Read a file and describe the result
+     * @param reader the reader
+     * @return the number of instances read or the error
+     */
+    private static String read(CSVDataSetReader reader) {
+        try {
+            return reader.read().size() + " instances";
+        } catch (Exception e) {
+            return e.getClass().getSimpleName();
+        }
+    }
+}
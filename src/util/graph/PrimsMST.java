@@ -0,0 +1,69 @@
+package util.graph;
+
+/**
+ * Prim's minimum spanning tree algorithm for a complete graph
+ * given as a dense array of edge weights.  This runs in O(n^2)
+ * time without building any node or edge objects, which beats
+ * sorting all n^2 / 2 edges of a complete graph for Kruskal's.
+ * The weight of the edge between i and j, with j < i, is stored
+ * at index(i, j) of the weight array.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class PrimsMST {
+
+    /**
+     * Get the position of an edge weight in the weight array
+     * @param i the first node
+     * @param j the second node, less than i
+     * @return the index
+     */
+    public static int index(int i, int j) {
+        return i * (i - 1) / 2 + j;
+    }
+
+    /**
+     * Find the minimum spanning tree of the graph, ties
+     * are broken towards the lower numbered node
+     * @param weights the edge weights
+     * @param n the number of nodes
+     * @return the parent of every node in the tree rooted
+     * at node 0, the root's parent is -1
+     */
+    public int[] transform(double[] weights, int n) {
+        int[] parents = new int[n];
+        if (n == 0) {
+            return parents;
+        }
+        // best[i] is the lightest edge from i into the tree
+        double[] best = new double[n];
+        boolean[] inTree = new boolean[n];
+        inTree[0] = true;
+        parents[0] = -1;
+        for (int i = 1; i < n; i++) {
+            best[i] = weights[index(i, 0)];
+            parents[i] = 0;
+        }
+        for (int added = 1; added < n; added++) {
+            int next = -1;
+            for (int i = 1; i < n; i++) {
+                if (!inTree[i] && (next == -1 || best[i] < best[next])) {
+                    next = i;
+                }
+            }
+            inTree[next] = true;
+            for (int i = 1; i < n; i++) {
+                if (!inTree[i]) {
+                    double w = i < next ? weights[index(next, i)]
+                        : weights[index(i, next)];
+                    if (w < best[i]) {
+                        best[i] = w;
+                        parents[i] = next;
+                    }
+                }
+            }
+        }
+        return parents;
+    }
+
+}
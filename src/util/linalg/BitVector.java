@@ -0,0 +1,258 @@
+package util.linalg;
+
+import java.util.Arrays;
+
+import shared.Copyable;
+
+/**
+ * A vector of zeros and ones packed sixty four to a long.
+ * Bit i lives in word i / 64 at position i % 64, and the
+ * bits of the last word past the size are always zero, so
+ * whole words can be combined and counted directly.  Setting
+ * an element to anything other than zero or one is an error.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class BitVector extends Vector {
+
+    /**
+     * The packed bits
+     */
+    private long[] words;
+
+    /**
+     * The number of bits
+     */
+    private int size;
+
+    /**
+     * Make a new all zero bit vector
+     * @param size the number of bits
+     */
+    public BitVector(int size) {
+        this(new long[wordCount(size)], size);
+    }
+
+    /**
+     * Make a new bit vector around the given words, any
+     * bits past the size in the last word must be zero
+     * @param words the packed bits
+     * @param size the number of bits
+     */
+    public BitVector(long[] words, int size) {
+        if (words.length != wordCount(size)) {
+            throw new IllegalArgumentException(words.length
+                + " words cannot hold " + size + " bits");
+        }
+        this.words = words;
+        this.size = size;
+    }
+
+    /**
+     * Get the number of words needed for some bits
+     * @param size the number of bits
+     * @return the number of words
+     */
+    public static int wordCount(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    /**
+     * Get the mask of the bits in use in the last word
+     * @return the mask
+     */
+    public long getLastWordMask() {
+        return (size & 63) == 0 ? -1L : (1L << size) - 1;
+    }
+
+    /**
+     * @see util.linalg.Vector#size()
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @see util.linalg.Vector#get(int)
+     */
+    public double get(int i) {
+        return getBit(i) ? 1 : 0;
+    }
+
+    /**
+     * @see util.linalg.Vector#set(int, double)
+     */
+    public void set(int i, double d) {
+        if (d == 1) {
+            setBit(i, true);
+        } else if (d == 0) {
+            setBit(i, false);
+        } else {
+            throw new IllegalArgumentException("A bit vector cannot hold " + d);
+        }
+    }
+
+    /**
+     * Get a bit
+     * @param i the index
+     * @return true if the bit is one
+     */
+    public boolean getBit(int i) {
+        checkIndex(i);
+        return (words[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Set a bit
+     * @param i the index
+     * @param b true for one, false for zero
+     */
+    public void setBit(int i, boolean b) {
+        checkIndex(i);
+        if (b) {
+            words[i >>> 6] |= 1L << i;
+        } else {
+            words[i >>> 6] &= ~(1L << i);
+        }
+    }
+
+    /**
+     * Flip a bit
+     * @param i the index
+     */
+    public void flip(int i) {
+        checkIndex(i);
+        words[i >>> 6] ^= 1L << i;
+    }
+
+    /**
+     * Make sure an index is in range, the words alone
+     * would let indices just past the size through
+     * @param i the index
+     */
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Bit " + i + " of " + size);
+        }
+    }
+
+    /**
+     * Count the ones
+     * @return the number of ones
+     */
+    public int cardinality() {
+        int count = 0;
+        for (int w = 0; w < words.length; w++) {
+            count += Long.bitCount(words[w]);
+        }
+        return count;
+    }
+
+    /**
+     * Find the first one at or after an index
+     * @param from the index to start at
+     * @return the index of the one, or -1 if there is none
+     */
+    public int nextSetBit(int from) {
+        if (from >= size) {
+            return -1;
+        }
+        int w = from >>> 6;
+        long word = words[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == words.length) {
+                return -1;
+            }
+            word = words[w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Find the first zero at or after an index
+     * @param from the index to start at
+     * @return the index of the zero, or the size if there is none
+     */
+    public int nextClearBit(int from) {
+        if (from >= size) {
+            return size;
+        }
+        int w = from >>> 6;
+        long word = ~words[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == words.length) {
+                return size;
+            }
+            word = ~words[w];
+        }
+        return Math.min(size, (w << 6) + Long.numberOfTrailingZeros(word));
+    }
+
+    /**
+     * Find the last one at or before an index
+     * @param from the index to start at
+     * @return the index of the one, or -1 if there is none
+     */
+    public int previousSetBit(int from) {
+        if (from < 0) {
+            return -1;
+        }
+        int w = from >>> 6;
+        long word = words[w] & (-1L >>> (63 - (from & 63)));
+        while (word == 0) {
+            if (--w < 0) {
+                return -1;
+            }
+            word = words[w];
+        }
+        return (w << 6) + 63 - Long.numberOfLeadingZeros(word);
+    }
+
+    /**
+     * Get the packed bits, changes write through
+     * @return the words
+     */
+    public long[] getWords() {
+        return words;
+    }
+
+    /**
+     * @see util.linalg.Vector#sum()
+     */
+    public double sum() {
+        return cardinality();
+    }
+
+    /**
+     * @see util.linalg.Vector#copy()
+     */
+    public Copyable copy() {
+        return new BitVector((long[]) words.clone(), size);
+    }
+
+    /**
+     * Compare whole words with another bit vector, or
+     * element by element with any other vector
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    public boolean equals(Object o) {
+        if (o instanceof BitVector) {
+            BitVector other = (BitVector) o;
+            return size == other.size && Arrays.equals(words, other.words);
+        }
+        return super.equals(o);
+    }
+
+    /**
+     * Hash the ones the same way any vector of the values would
+     * @see util.linalg.Vector#hashCode()
+     */
+    public int hashCode() {
+        int hash = size;
+        for (int i = nextSetBit(0); i >= 0; i = nextSetBit(i + 1)) {
+            hash += hashElement(i, 1);
+        }
+        return hash;
+    }
+
+}
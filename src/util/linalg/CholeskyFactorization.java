@@ -94,4 +94,16 @@ public class CholeskyFactorization {
 		return lt.solve(y);
 	}
 
+	/**
+	 * Solve the system of linear equations for the
+	 * given vector into a result, which may be b itself
+	 * @param b the column vector to solve for
+	 * @param result the vector to put the solution in
+	 * @return the result
+	 */
+	public Vector solve(Vector b, Vector result) {
+		l.solve(b, result);
+		return lt.solve(result, result);
+	}
+
 }
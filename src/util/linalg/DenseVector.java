@@ -49,6 +49,81 @@ public class DenseVector extends Vector {
         data[i] = value;
     }
     
+    /**
+     * Get the internal representation of the data
+     * @return the data
+     */
+    public double[] getData() {
+        return data;
+    }
+
+    /**
+     * @see util.linalg.Vector#dotProduct(util.linalg.Vector)
+     */
+    public double dotProduct(Vector vector) {
+        if (!(vector instanceof DenseVector)) {
+            return super.dotProduct(vector);
+        }
+        double[] other = ((DenseVector) vector).data;
+        double result = 0;
+        for (int i = 0; i < data.length; i++) {
+            result += data[i] * other[i];
+        }
+        return result;
+    }
+
+    /**
+     * @see util.linalg.Vector#plusTimesEquals(double, util.linalg.Vector)
+     */
+    public void plusTimesEquals(double scale, Vector vector) {
+        if (!(vector instanceof DenseVector)) {
+            super.plusTimesEquals(scale, vector);
+            return;
+        }
+        double[] other = ((DenseVector) vector).data;
+        for (int i = 0; i < data.length; i++) {
+            data[i] += other[i] * scale;
+        }
+    }
+
+    /**
+     * @see util.linalg.Vector#timesPlusEquals(double, double, util.linalg.Vector)
+     */
+    public void timesPlusEquals(double a, double b, Vector vector) {
+        if (!(vector instanceof DenseVector)) {
+            super.timesPlusEquals(a, b, vector);
+            return;
+        }
+        double[] other = ((DenseVector) vector).data;
+        for (int i = 0; i < data.length; i++) {
+            data[i] = a * data[i] + b * other[i];
+        }
+    }
+
+    /**
+     * @see util.linalg.Vector#minus(util.linalg.Vector, util.linalg.Vector)
+     */
+    public Vector minus(Vector vector, Vector result) {
+        if (!(vector instanceof DenseVector) || !(result instanceof DenseVector)) {
+            return super.minus(vector, result);
+        }
+        double[] other = ((DenseVector) vector).data;
+        double[] out = ((DenseVector) result).data;
+        for (int i = 0; i < data.length; i++) {
+            out[i] = data[i] - other[i];
+        }
+        return result;
+    }
+
+    /**
+     * @see util.linalg.Vector#timesEquals(double)
+     */
+    public void timesEquals(double scale) {
+        for (int i = 0; i < data.length; i++) {
+            data[i] *= scale;
+        }
+    }
+
     /**
      * Make an identity vector 
      * @param i the dimension of identity
@@ -0,0 +1,281 @@
+package util.linalg;
+
+import shared.Copyable;
+
+/**
+ * A dense matrix stored in a single flat array.  Entry (i, j)
+ * lives at data[offset + i * rowStride + j * columnStride], so
+ * sub matrices, rows, columns and the transpose can all be
+ * handed out as views onto the same array without copying.
+ * A newly allocated flat matrix is row major and contiguous.
+ * Writes through a view change the matrix it was taken from.
+ * The inherited get, getRow, getColumn and transpose methods
+ * still return copies, use view, row, column and transposeView
+ * to avoid copying.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class FlatMatrix extends Matrix {
+
+    /**
+     * The data for the matrix
+     */
+    private double[] data;
+
+    /**
+     * The index of entry (0, 0)
+     */
+    private int offset;
+
+    /**
+     * The distance between rows
+     */
+    private int rowStride;
+
+    /**
+     * The distance between columns
+     */
+    private int columnStride;
+
+    /**
+     * The number of rows
+     */
+    private int m;
+
+    /**
+     * The number of columns
+     */
+    private int n;
+
+    /**
+     * Make a new view onto the given array
+     * @param data the data
+     * @param offset the index of entry (0, 0)
+     * @param rowStride the distance between rows
+     * @param columnStride the distance between columns
+     * @param m the number of rows
+     * @param n the number of columns
+     */
+    public FlatMatrix(double[] data, int offset, int rowStride, int columnStride,
+            int m, int n) {
+        this.data = data;
+        this.offset = offset;
+        this.rowStride = rowStride;
+        this.columnStride = columnStride;
+        this.m = m;
+        this.n = n;
+    }
+
+    /**
+     * Make a new row major matrix with the given data
+     * @param data the data, row major
+     * @param m the number of rows
+     * @param n the number of columns
+     */
+    public FlatMatrix(double[] data, int m, int n) {
+        this(data, 0, n, 1, m, n);
+    }
+
+    /**
+     * Create a new zeroed matrix
+     * @param m the number of rows
+     * @param n the number of columns
+     */
+    public FlatMatrix(int m, int n) {
+        this(new double[m * n], m, n);
+    }
+
+    /**
+     * Make a row major copy of the given matrix
+     * @param matrix the matrix
+     */
+    public FlatMatrix(Matrix matrix) {
+        this(matrix.m(), matrix.n());
+        if (matrix instanceof RectangularMatrix) {
+            double[][] rows = ((RectangularMatrix) matrix).getData();
+            for (int i = 0; i < m; i++) {
+                System.arraycopy(rows[i], 0, data, i * n, n);
+            }
+        } else {
+            for (int i = 0; i < m; i++) {
+                for (int j = 0; j < n; j++) {
+                    data[i * n + j] = matrix.get(i, j);
+                }
+            }
+        }
+    }
+
+    /**
+     * @see util.linalg.Matrix#m()
+     */
+    public int m() {
+        return m;
+    }
+
+    /**
+     * @see util.linalg.Matrix#n()
+     */
+    public int n() {
+        return n;
+    }
+
+    /**
+     * @see util.linalg.Matrix#get(int, int)
+     */
+    public double get(int i, int j) {
+        return data[offset + i * rowStride + j * columnStride];
+    }
+
+    /**
+     * @see util.linalg.Matrix#set(int, int, double)
+     */
+    public void set(int i, int j, double d) {
+        data[offset + i * rowStride + j * columnStride] = d;
+    }
+
+    /**
+     * Get a view of a sub matrix
+     * @param ia the starting row index (inclusive)
+     * @param ib the ending row index (exclusive)
+     * @param ja the starting column index (inclusive)
+     * @param jb the ending column index (exclusive)
+     * @return the view
+     */
+    public FlatMatrix view(int ia, int ib, int ja, int jb) {
+        return new FlatMatrix(data, offset + ia * rowStride + ja * columnStride,
+            rowStride, columnStride, ib - ia, jb - ja);
+    }
+
+    /**
+     * Get a view of a row
+     * @param i the row
+     * @return the view
+     */
+    public StridedVector row(int i) {
+        return new StridedVector(data, offset + i * rowStride, columnStride, n);
+    }
+
+    /**
+     * Get a view of a column
+     * @param j the column
+     * @return the view
+     */
+    public StridedVector column(int j) {
+        return new StridedVector(data, offset + j * columnStride, rowStride, m);
+    }
+
+    /**
+     * Get a view of the transpose
+     * @return the view
+     */
+    public FlatMatrix transposeView() {
+        return new FlatMatrix(data, offset, columnStride, rowStride, n, m);
+    }
+
+    /**
+     * Check if the entries of each row are adjacent in the array
+     * @return true if the matrix is row major
+     */
+    public boolean isRowMajor() {
+        return columnStride == 1 || n <= 1;
+    }
+
+    /**
+     * Check if the matrix covers a single unbroken range of the array
+     * @return true if it is contiguous
+     */
+    public boolean isContiguous() {
+        return isRowMajor() && (rowStride == n || m <= 1);
+    }
+
+    /**
+     * @see util.linalg.Matrix#times(util.linalg.Matrix)
+     */
+    public Matrix times(Matrix matrix) {
+        FlatMatrix a = isRowMajor() ? this : (FlatMatrix) copy();
+        FlatMatrix b = matrix instanceof FlatMatrix && ((FlatMatrix) matrix).isRowMajor()
+            ? (FlatMatrix) matrix : new FlatMatrix(matrix);
+        FlatMatrix c = new FlatMatrix(m, b.n);
+        MatrixMultiplication.multiply(m, n, b.n,
+            a.data, a.offset, a.rowStride, b.data, b.offset, b.rowStride,
+            c.data, 0, c.n);
+        return c;
+    }
+
+    /**
+     * @see util.linalg.Matrix#times(util.linalg.Vector)
+     */
+    public Vector times(Vector vector) {
+        double[] result = new double[m];
+        for (int i = 0; i < m; i++) {
+            double sum = 0;
+            for (int j = 0, k = offset + i * rowStride; j < n; j++, k += columnStride) {
+                sum += data[k] * vector.get(j);
+            }
+            result[i] = sum;
+        }
+        return new DenseVector(result);
+    }
+
+    /**
+     * @see util.linalg.Matrix#transpose()
+     */
+    public Matrix transpose() {
+        return (Matrix) transposeView().copy();
+    }
+
+    /**
+     * Make a contiguous row major copy
+     * @see util.linalg.Matrix#copy()
+     */
+    public Copyable copy() {
+        double[] result = new double[m * n];
+        if (isContiguous()) {
+            System.arraycopy(data, offset, result, 0, result.length);
+        } else if (isRowMajor()) {
+            for (int i = 0; i < m; i++) {
+                System.arraycopy(data, offset + i * rowStride, result, i * n, n);
+            }
+        } else {
+            for (int i = 0; i < m; i++) {
+                for (int j = 0; j < n; j++) {
+                    result[i * n + j] = get(i, j);
+                }
+            }
+        }
+        return new FlatMatrix(result, m, n);
+    }
+
+    /**
+     * Get the backing array
+     * @return the data
+     */
+    public double[] getData() {
+        return data;
+    }
+
+    /**
+     * Get the index of entry (0, 0)
+     * @return the offset
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Get the distance between rows
+     * @return the row stride
+     */
+    public int getRowStride() {
+        return rowStride;
+    }
+
+    /**
+     * Get the distance between columns
+     * @return the column stride
+     */
+    public int getColumnStride() {
+        return columnStride;
+    }
+
+}
@@ -131,18 +131,28 @@ public class LowerTriangularMatrix extends Matrix {
 	 * @return the solution vector
 	 */
 	public Vector solve(Vector b) {
-		b = (Vector) b.copy();
-		// solve by forward substiution 
-		// overwriting the copy of b with the solution x
-		b.set(0, b.get(0) / get(0,0));
+		return solve(b, (Vector) b.copy());
+	}
+
+	/**
+	 * Solve this lower triangular system for the given
+	 * vector into a result, which may be b itself
+	 * @param b the vector to solve for
+	 * @param result the vector to put the solution in
+	 * @return the result
+	 */
+	public Vector solve(Vector b, Vector result) {
+		// solve by forward substiution
+		// overwriting the result with the solution x
+		result.set(0, b.get(0) / get(0,0));
 		for (int i = 1; i < b.size(); i++) {
 			double sum = 0;
 			for (int j = 0; j < i; j++) {
-				sum += get(i, j) * b.get(j);
+				sum += get(i, j) * result.get(j);
 			}
-			b.set(i, (b.get(i) - sum) / get(i,i));
+			result.set(i, (b.get(i) - sum) / get(i,i));
 		}
-		return b;
+		return result;
 	}
     
     /**
@@ -171,6 +171,53 @@ public abstract class Matrix implements Serializable, Copyable {
         return new DenseVector(result);
     }
     
+    /**
+     * Multiply with a vector, storing the result in an existing vector
+     * @param vector the vector to multiply by
+     * @param result the vector to store the result in, not the argument
+     * @return the result
+     */
+    public Vector times(Vector vector, Vector result) {
+        for (int row = 0; row < m(); row++) {
+            double sum = 0;
+            for (int i = 0; i < n(); i++) {
+                sum += get(row, i) * vector.get(i); 
+            }
+            result.set(row, sum);
+        }
+        return result;
+    }
+    
+    /**
+     * Add a multiple of the outer product of two vectors onto
+     * this matrix in place, this = this + x * yt * scale
+     * @param scale the multiple
+     * @param x the column vector
+     * @param y the row vector
+     */
+    public void outerProductPlusEquals(double scale, Vector x, Vector y) {
+        for (int i = 0; i < m(); i++) {
+            double xi = x.get(i);
+            for (int j = 0; j < n(); j++) {
+                set(i, j, get(i, j) + xi * y.get(j) * scale);
+            }
+        }
+    }
+    
+    /**
+     * Add a multiple of a matrix onto this matrix in place,
+     * this = this + scale * matrix
+     * @param scale the multiple
+     * @param matrix the matrix to add
+     */
+    public void plusTimesEquals(double scale, Matrix matrix) {
+        for (int i = 0; i < m(); i++) {
+            for (int j = 0; j < n(); j++) {
+                set(i, j, get(i, j) + matrix.get(i, j) * scale);
+            }
+        }
+    }
+    
     /**
      * Multiply the matrix by a scale
      * @param scale the scale
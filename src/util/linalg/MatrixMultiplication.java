@@ -0,0 +1,275 @@
+package util.linalg;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Dense matrix multiplication on raw row arrays or flat row major
+ * arrays.  The product is computed a cache sized block of the inner
+ * dimension and the columns at a time, four rows of the result at
+ * once so that each row of the right hand side that is loaded is
+ * used four times.
+ * Large products split the rows of the result into panels that
+ * are computed in parallel on the fork join pool; small products
+ * are just computed on the calling thread.  Every entry is summed
+ * in the same order as the textbook triple loop so the results
+ * are exactly the same.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class MatrixMultiplication {
+
+    /**
+     * The block size for the inner dimension
+     */
+    private static final int K_BLOCK = 128;
+
+    /**
+     * The block size for the columns of the result
+     */
+    private static final int N_BLOCK = 512;
+
+    /**
+     * The number of rows in a parallel panel
+     */
+    private static final int PANEL = 32;
+
+    /**
+     * The number of multiply adds above which to go parallel
+     */
+    private static final long PARALLEL_THRESHOLD = 1L << 21;
+
+    /**
+     * Multiply two matrices
+     * @param a the left hand side, m by k
+     * @param b the right hand side, k by n
+     * @return the product, m by n
+     */
+    public static double[][] multiply(double[][] a, double[][] b) {
+        int n = b.length == 0 ? 0 : b[0].length;
+        double[][] c = new double[a.length][n];
+        multiply(a, b, c);
+        return c;
+    }
+
+    /**
+     * Multiply two matrices adding the product into c
+     * @param a the left hand side, m by k
+     * @param b the right hand side, k by n
+     * @param c the result to add into, m by n
+     */
+    public static void multiply(final double[][] a, final double[][] b, final double[][] c) {
+        long work = (long) c.length * b.length * (c.length == 0 ? 0 : c[0].length);
+        if (!parallel(work, c.length)) {
+            multiplyPanel(a, b, c, 0, c.length);
+        } else {
+            ForkJoinPool.commonPool().invoke(new PanelTask(new Kernel() {
+                public void computePanel(int rowStart, int rowEnd) {
+                    multiplyPanel(a, b, c, rowStart, rowEnd);
+                }
+            }, 0, c.length));
+        }
+    }
+
+    /**
+     * Multiply two row major matrices stored in flat arrays, adding
+     * the product into c.  Each matrix is given by its array, the
+     * index of its first entry and the distance between its rows;
+     * entries within a row must be adjacent.
+     * @param m the number of rows of a and c
+     * @param k the number of columns of a and rows of b
+     * @param n the number of columns of b and c
+     * @param a the left hand side
+     * @param aOffset the first entry of a
+     * @param aStride the row stride of a
+     * @param b the right hand side
+     * @param bOffset the first entry of b
+     * @param bStride the row stride of b
+     * @param c the result
+     * @param cOffset the first entry of c
+     * @param cStride the row stride of c
+     */
+    public static void multiply(final int m, final int k, final int n,
+            final double[] a, final int aOffset, final int aStride,
+            final double[] b, final int bOffset, final int bStride,
+            final double[] c, final int cOffset, final int cStride) {
+        if (!parallel((long) m * k * n, m)) {
+            multiplyPanel(k, n, a, aOffset, aStride, b, bOffset, bStride,
+                c, cOffset, cStride, 0, m);
+        } else {
+            ForkJoinPool.commonPool().invoke(new PanelTask(new Kernel() {
+                public void computePanel(int rowStart, int rowEnd) {
+                    multiplyPanel(k, n, a, aOffset, aStride, b, bOffset, bStride,
+                        c, cOffset, cStride, rowStart, rowEnd);
+                }
+            }, 0, m));
+        }
+    }
+
+    /**
+     * Decide whether a product is worth computing in parallel
+     * @param work the number of multiply adds
+     * @param rows the number of rows of the result
+     * @return true if it should be split into panels
+     */
+    private static boolean parallel(long work, int rows) {
+        return work >= PARALLEL_THRESHOLD && rows >= 2 * PANEL
+            && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    /**
+     * Compute some rows of the product
+     * @param a the left hand side
+     * @param b the right hand side
+     * @param c the result
+     * @param rowStart the first row (inclusive)
+     * @param rowEnd the last row (exclusive)
+     */
+    private static void multiplyPanel(double[][] a, double[][] b, double[][] c,
+            int rowStart, int rowEnd) {
+        int k = b.length;
+        int n = rowEnd > rowStart ? c[rowStart].length : 0;
+        for (int pp = 0; pp < k; pp += K_BLOCK) {
+            int pEnd = Math.min(pp + K_BLOCK, k);
+            for (int jj = 0; jj < n; jj += N_BLOCK) {
+                int jEnd = Math.min(jj + N_BLOCK, n);
+                int i = rowStart;
+                for (; i + 3 < rowEnd; i += 4) {
+                    double[] a0 = a[i], a1 = a[i + 1], a2 = a[i + 2], a3 = a[i + 3];
+                    double[] c0 = c[i], c1 = c[i + 1], c2 = c[i + 2], c3 = c[i + 3];
+                    for (int p = pp; p < pEnd; p++) {
+                        double x0 = a0[p], x1 = a1[p], x2 = a2[p], x3 = a3[p];
+                        double[] bp = b[p];
+                        for (int j = jj; j < jEnd; j++) {
+                            double y = bp[j];
+                            c0[j] += x0 * y;
+                            c1[j] += x1 * y;
+                            c2[j] += x2 * y;
+                            c3[j] += x3 * y;
+                        }
+                    }
+                }
+                for (; i < rowEnd; i++) {
+                    double[] ai = a[i];
+                    double[] ci = c[i];
+                    for (int p = pp; p < pEnd; p++) {
+                        double x = ai[p];
+                        double[] bp = b[p];
+                        for (int j = jj; j < jEnd; j++) {
+                            ci[j] += x * bp[j];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Compute some rows of a flat product
+     * @param k the inner dimension
+     * @param n the number of columns
+     * @param a the left hand side
+     * @param aOffset the first entry of a
+     * @param aStride the row stride of a
+     * @param b the right hand side
+     * @param bOffset the first entry of b
+     * @param bStride the row stride of b
+     * @param c the result
+     * @param cOffset the first entry of c
+     * @param cStride the row stride of c
+     * @param rowStart the first row (inclusive)
+     * @param rowEnd the last row (exclusive)
+     */
+    private static void multiplyPanel(int k, int n,
+            double[] a, int aOffset, int aStride,
+            double[] b, int bOffset, int bStride,
+            double[] c, int cOffset, int cStride, int rowStart, int rowEnd) {
+        for (int pp = 0; pp < k; pp += K_BLOCK) {
+            int pEnd = Math.min(pp + K_BLOCK, k);
+            for (int jj = 0; jj < n; jj += N_BLOCK) {
+                int jEnd = Math.min(jj + N_BLOCK, n);
+                int i = rowStart;
+                for (; i + 3 < rowEnd; i += 4) {
+                    int a0 = aOffset + i * aStride, a1 = a0 + aStride,
+                        a2 = a1 + aStride, a3 = a2 + aStride;
+                    int c0 = cOffset + i * cStride, c1 = c0 + cStride,
+                        c2 = c1 + cStride, c3 = c2 + cStride;
+                    for (int p = pp; p < pEnd; p++) {
+                        double x0 = a[a0 + p], x1 = a[a1 + p],
+                            x2 = a[a2 + p], x3 = a[a3 + p];
+                        int bp = bOffset + p * bStride;
+                        for (int j = jj; j < jEnd; j++) {
+                            double y = b[bp + j];
+                            c[c0 + j] += x0 * y;
+                            c[c1 + j] += x1 * y;
+                            c[c2 + j] += x2 * y;
+                            c[c3 + j] += x3 * y;
+                        }
+                    }
+                }
+                for (; i < rowEnd; i++) {
+                    int ai = aOffset + i * aStride;
+                    int ci = cOffset + i * cStride;
+                    for (int p = pp; p < pEnd; p++) {
+                        double x = a[ai + p];
+                        int bp = bOffset + p * bStride;
+                        for (int j = jj; j < jEnd; j++) {
+                            c[ci + j] += x * b[bp + j];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Something that can compute a range of rows of a product
+     */
+    private static abstract class Kernel {
+        /**
+         * Compute some rows of the product
+         * @param rowStart the first row (inclusive)
+         * @param rowEnd the last row (exclusive)
+         */
+        public abstract void computePanel(int rowStart, int rowEnd);
+    }
+
+    /**
+     * A task computing a range of rows of a product,
+     * splitting in half until the range is a single panel
+     */
+    private static class PanelTask extends RecursiveAction {
+        /** The kernel computing the rows */
+        private Kernel kernel;
+        /** The first row */
+        private int rowStart;
+        /** The last row (exclusive) */
+        private int rowEnd;
+
+        /**
+         * Make a new panel task
+         * @param kernel the kernel
+         * @param rowStart the first row (inclusive)
+         * @param rowEnd the last row (exclusive)
+         */
+        public PanelTask(Kernel kernel, int rowStart, int rowEnd) {
+            this.kernel = kernel;
+            this.rowStart = rowStart;
+            this.rowEnd = rowEnd;
+        }
+
+        /**
+         * @see java.util.concurrent.RecursiveAction#compute()
+         */
+        protected void compute() {
+            if (rowEnd - rowStart <= PANEL) {
+                kernel.computePanel(rowStart, rowEnd);
+            } else {
+                int middle = (rowStart + rowEnd) >>> 1;
+                invokeAll(new PanelTask(kernel, rowStart, middle),
+                    new PanelTask(kernel, middle, rowEnd));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package util.linalg;
+
+import dist.Distribution;
+
+/**
+ * Modified Gram-Schmidt orthonormalization of the rows of a
+ * matrix, used by the truncated decompositions to keep their
+ * subspace bases orthonormal.  Each row is orthogonalized twice
+ * against the rows before it, which keeps the basis orthonormal
+ * to working precision.  A row that is (numerically) in the span
+ * of the rows before it is replaced by a random direction.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+class Orthonormalization {
+
+    /**
+     * The relative norm below which a row is considered dependent
+     */
+    private static final double DEPENDENT = 1E-12;
+
+    /**
+     * Orthonormalize the rows of a matrix in place
+     * @param rows the rows
+     * @return the upper triangular r such that the original
+     * rows equal rt times the new rows, with zero diagonal
+     * entries for rows that were replaced
+     */
+    public static double[][] orthonormalizeRows(double[][] rows) {
+        int l = rows.length;
+        double[][] r = new double[l][l];
+        for (int i = 0; i < l; i++) {
+            double[] x = rows[i];
+            double original = norm(x);
+            for (int pass = 0; pass < 2; pass++) {
+                for (int j = 0; j < i; j++) {
+                    double d = dot(rows[j], x);
+                    r[j][i] += d;
+                    axpy(-d, rows[j], x);
+                }
+            }
+            double norm = norm(x);
+            if (norm <= DEPENDENT * original || norm == 0) {
+                // replace with a random direction orthogonal to the rest
+                for (int k = 0; k < x.length; k++) {
+                    x[k] = Distribution.random.nextGaussian();
+                }
+                for (int pass = 0; pass < 2; pass++) {
+                    for (int j = 0; j < i; j++) {
+                        axpy(-dot(rows[j], x), rows[j], x);
+                    }
+                }
+                r[i][i] = 0;
+                norm = norm(x);
+            } else {
+                r[i][i] = norm;
+            }
+            for (int k = 0; k < x.length; k++) {
+                x[k] /= norm;
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Fill a matrix with standard normal values
+     * @param m the number of rows
+     * @param n the number of columns
+     * @return the matrix
+     */
+    public static double[][] gaussian(int m, int n) {
+        double[][] result = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                result[i][j] = Distribution.random.nextGaussian();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The dot product of two arrays
+     * @param a the first
+     * @param b the second
+     * @return the dot product
+     */
+    private static double dot(double[] a, double[] b) {
+        double result = 0;
+        for (int i = 0; i < a.length; i++) {
+            result += a[i] * b[i];
+        }
+        return result;
+    }
+
+    /**
+     * The two norm of an array
+     * @param a the array
+     * @return the norm
+     */
+    private static double norm(double[] a) {
+        return Math.sqrt(dot(a, a));
+    }
+
+    /**
+     * Add a multiple of one array onto another, y += scale * x
+     * @param scale the multiple
+     * @param x the array to add
+     * @param y the array to add onto
+     */
+    private static void axpy(double scale, double[] x, double[] y) {
+        for (int i = 0; i < x.length; i++) {
+            y[i] += scale * x[i];
+        }
+    }
+
+}
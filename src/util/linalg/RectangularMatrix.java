@@ -72,6 +72,74 @@ public class RectangularMatrix extends Matrix {
 	}
 	
     
+	/**
+	 * Multiply using the blocked, and for large
+	 * matrices parallel, multiplication kernel, or the
+	 * sparse kernel when the other matrix is sparse
+	 * @see util.linalg.Matrix#times(util.linalg.Matrix)
+	 */
+	public Matrix times(Matrix matrix) {
+		if (matrix instanceof SparseMatrix) {
+			// a b = (b' a')', and b' a' only touches the entries of b
+			return matrix.transpose().times(transpose()).transpose();
+		}
+		RectangularMatrix other = matrix instanceof RectangularMatrix
+			? (RectangularMatrix) matrix : new RectangularMatrix(matrix);
+		return new RectangularMatrix(
+			MatrixMultiplication.multiply(data, other.data));
+	}
+
+	/**
+	 * @see util.linalg.Matrix#times(util.linalg.Vector)
+	 */
+	public Vector times(Vector vector) {
+		return times(vector, new DenseVector(data.length));
+	}
+
+	/**
+	 * @see util.linalg.Matrix#times(util.linalg.Vector, util.linalg.Vector)
+	 */
+	public Vector times(Vector vector, Vector result) {
+		double[] x = vector instanceof DenseVector ? ((DenseVector) vector).getData() : null;
+		for (int row = 0; row < data.length; row++) {
+			double[] r = data[row];
+			double sum = 0;
+			if (x != null) {
+				for (int i = 0; i < r.length; i++) {
+					sum += r[i] * x[i];
+				}
+			} else {
+				for (int i = 0; i < r.length; i++) {
+					sum += r[i] * vector.get(i);
+				}
+			}
+			result.set(row, sum);
+		}
+		return result;
+	}
+
+	/**
+	 * @see util.linalg.Matrix#outerProductPlusEquals(double, util.linalg.Vector, util.linalg.Vector)
+	 */
+	public void outerProductPlusEquals(double scale, Vector x, Vector y) {
+		double[] yd;
+		if (y instanceof DenseVector) {
+			yd = ((DenseVector) y).getData();
+		} else {
+			yd = new double[y.size()];
+			for (int j = 0; j < yd.length; j++) {
+				yd[j] = y.get(j);
+			}
+		}
+		for (int i = 0; i < data.length; i++) {
+			double xi = x.get(i);
+			double[] r = data[i];
+			for (int j = 0; j < r.length; j++) {
+				r[j] += xi * yd[j] * scale;
+			}
+		}
+	}
+
 	/**
 	 * Get the internal representation of the data
 	 * @return the data
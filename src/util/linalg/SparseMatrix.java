@@ -0,0 +1,334 @@
+package util.linalg;
+
+import java.util.Arrays;
+
+import shared.Copyable;
+
+/**
+ * A matrix in compressed sparse row form.  The non zero entries
+ * of row i are stored at positions rowStarts[i] up to
+ * rowStarts[i+1] of the column index and value arrays, with
+ * the column indices sorted within each row.  Products with
+ * vectors and dense matrices, scaling and transposing only
+ * touch the stored entries.  Setting an entry that is not
+ * already stored shifts the arrays and is slow, so sparse
+ * matrices are best built all at once from rows or a dense
+ * matrix.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class SparseMatrix extends Matrix {
+
+    /**
+     * The number of rows
+     */
+    private int m;
+
+    /**
+     * The number of columns
+     */
+    private int n;
+
+    /**
+     * The start of each row in the entry arrays, of size m + 1
+     */
+    private int[] rowStarts;
+
+    /**
+     * The column index of each entry
+     */
+    private int[] columns;
+
+    /**
+     * The value of each entry
+     */
+    private double[] values;
+
+    /**
+     * Make a new sparse matrix from compressed sparse row arrays
+     * @param m the number of rows
+     * @param n the number of columns
+     * @param rowStarts the start of each row, of size m + 1
+     * @param columns the column index of each entry
+     * @param values the value of each entry
+     */
+    public SparseMatrix(int m, int n, int[] rowStarts, int[] columns, double[] values) {
+        this.m = m;
+        this.n = n;
+        this.rowStarts = rowStarts;
+        this.columns = columns;
+        this.values = values;
+    }
+
+    /**
+     * Make a new zero sparse matrix
+     * @param m the number of rows
+     * @param n the number of columns
+     */
+    public SparseMatrix(int m, int n) {
+        this(m, n, new int[m + 1], new int[0], new double[0]);
+    }
+
+    /**
+     * Make a sparse copy of the given matrix
+     * @param matrix the matrix
+     */
+    public SparseMatrix(Matrix matrix) {
+        m = matrix.m();
+        n = matrix.n();
+        rowStarts = new int[m + 1];
+        int count = 0;
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                if (matrix.get(i, j) != 0) {
+                    count++;
+                }
+            }
+        }
+        columns = new int[count];
+        values = new double[count];
+        int k = 0;
+        for (int i = 0; i < m; i++) {
+            rowStarts[i] = k;
+            for (int j = 0; j < n; j++) {
+                double d = matrix.get(i, j);
+                if (d != 0) {
+                    columns[k] = j;
+                    values[k] = d;
+                    k++;
+                }
+            }
+        }
+        rowStarts[m] = k;
+    }
+
+    /**
+     * Make a sparse matrix whose rows are the given vectors
+     * @param rows the rows
+     * @return the matrix
+     */
+    public static SparseMatrix rows(Vector[] rows) {
+        int n = rows.length == 0 ? 0 : rows[0].size();
+        SparseVector[] sparse = new SparseVector[rows.length];
+        int count = 0;
+        for (int i = 0; i < rows.length; i++) {
+            sparse[i] = rows[i] instanceof SparseVector
+                ? (SparseVector) rows[i] : new SparseVector(rows[i]);
+            count += sparse[i].getNonZeroCount();
+        }
+        int[] rowStarts = new int[rows.length + 1];
+        int[] columns = new int[count];
+        double[] values = new double[count];
+        int k = 0;
+        for (int i = 0; i < rows.length; i++) {
+            rowStarts[i] = k;
+            for (int e = 0; e < sparse[i].getNonZeroCount(); e++) {
+                if (sparse[i].getValue(e) != 0) {
+                    columns[k] = sparse[i].getIndex(e);
+                    values[k] = sparse[i].getValue(e);
+                    k++;
+                }
+            }
+        }
+        rowStarts[rows.length] = k;
+        return new SparseMatrix(rows.length, n, rowStarts,
+            Arrays.copyOf(columns, k), Arrays.copyOf(values, k));
+    }
+
+    /**
+     * @see util.linalg.Matrix#m()
+     */
+    public int m() {
+        return m;
+    }
+
+    /**
+     * @see util.linalg.Matrix#n()
+     */
+    public int n() {
+        return n;
+    }
+
+    /**
+     * Find the position of an entry
+     * @param i the row
+     * @param j the column
+     * @return the position, or -(insertion point) - 1
+     */
+    private int find(int i, int j) {
+        return Arrays.binarySearch(columns, rowStarts[i], rowStarts[i + 1], j);
+    }
+
+    /**
+     * @see util.linalg.Matrix#get(int, int)
+     */
+    public double get(int i, int j) {
+        int k = find(i, j);
+        return k >= 0 ? values[k] : 0;
+    }
+
+    /**
+     * @see util.linalg.Matrix#set(int, int, double)
+     */
+    public void set(int i, int j, double d) {
+        int k = find(i, j);
+        if (k >= 0) {
+            values[k] = d;
+        } else if (d != 0) {
+            k = -k - 1;
+            int count = rowStarts[m];
+            int[] newColumns = new int[count + 1];
+            double[] newValues = new double[count + 1];
+            System.arraycopy(columns, 0, newColumns, 0, k);
+            System.arraycopy(values, 0, newValues, 0, k);
+            newColumns[k] = j;
+            newValues[k] = d;
+            System.arraycopy(columns, k, newColumns, k + 1, count - k);
+            System.arraycopy(values, k, newValues, k + 1, count - k);
+            columns = newColumns;
+            values = newValues;
+            for (int row = i + 1; row <= m; row++) {
+                rowStarts[row]++;
+            }
+        }
+    }
+
+    /**
+     * Get the number of stored entries
+     * @return the count
+     */
+    public int getNonZeroCount() {
+        return rowStarts[m];
+    }
+
+    /**
+     * Get a row as a sparse vector
+     * @see util.linalg.Matrix#getRow(int)
+     */
+    public Vector getRow(int index) {
+        int start = rowStarts[index];
+        int count = rowStarts[index + 1] - start;
+        return new SparseVector(n, 
+            Arrays.copyOfRange(columns, start, start + Math.max(count, 1)),
+            Arrays.copyOfRange(values, start, start + Math.max(count, 1)), count);
+    }
+
+    /**
+     * @see util.linalg.Matrix#times(util.linalg.Vector)
+     */
+    public Vector times(Vector vector) {
+        double[] result = new double[m];
+        for (int i = 0; i < m; i++) {
+            double sum = 0;
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                sum += values[k] * vector.get(columns[k]);
+            }
+            result[i] = sum;
+        }
+        return new DenseVector(result);
+    }
+
+    /**
+     * Multiply by another matrix, the result is dense unless
+     * the other matrix is sparse too
+     * @see util.linalg.Matrix#times(util.linalg.Matrix)
+     */
+    public Matrix times(Matrix matrix) {
+        int p = matrix.n();
+        if (matrix instanceof SparseMatrix) {
+            SparseMatrix other = (SparseMatrix) matrix;
+            SparseVector[] rows = new SparseVector[m];
+            double[] accumulator = new double[p];
+            boolean[] touched = new boolean[p];
+            int[] pattern = new int[p];
+            for (int i = 0; i < m; i++) {
+                int count = 0;
+                for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                    double a = values[k];
+                    int row = columns[k];
+                    for (int l = other.rowStarts[row]; l < other.rowStarts[row + 1]; l++) {
+                        int j = other.columns[l];
+                        if (!touched[j]) {
+                            touched[j] = true;
+                            pattern[count++] = j;
+                        }
+                        accumulator[j] += a * other.values[l];
+                    }
+                }
+                Arrays.sort(pattern, 0, count);
+                int[] indices = new int[Math.max(count, 1)];
+                double[] entries = new double[Math.max(count, 1)];
+                for (int e = 0; e < count; e++) {
+                    int j = pattern[e];
+                    indices[e] = j;
+                    entries[e] = accumulator[j];
+                    accumulator[j] = 0;
+                    touched[j] = false;
+                }
+                rows[i] = new SparseVector(p, indices, entries, count);
+            }
+            SparseMatrix result = rows(rows);
+            result.n = p;
+            return result;
+        }
+        double[][] other = matrix instanceof RectangularMatrix
+            ? ((RectangularMatrix) matrix).getData()
+            : new RectangularMatrix(matrix).getData();
+        double[][] result = new double[m][p];
+        for (int i = 0; i < m; i++) {
+            double[] ri = result[i];
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                double a = values[k];
+                double[] row = other[columns[k]];
+                for (int j = 0; j < p; j++) {
+                    ri[j] += a * row[j];
+                }
+            }
+        }
+        return new RectangularMatrix(result);
+    }
+
+    /**
+     * @see util.linalg.Matrix#timesEquals(double)
+     */
+    public void timesEquals(double scale) {
+        for (int k = 0; k < rowStarts[m]; k++) {
+            values[k] *= scale;
+        }
+    }
+
+    /**
+     * Get the transpose, which is sparse as well
+     * @see util.linalg.Matrix#transpose()
+     */
+    public Matrix transpose() {
+        int count = rowStarts[m];
+        int[] starts = new int[n + 1];
+        for (int k = 0; k < count; k++) {
+            starts[columns[k] + 1]++;
+        }
+        for (int j = 0; j < n; j++) {
+            starts[j + 1] += starts[j];
+        }
+        int[] next = Arrays.copyOf(starts, n);
+        int[] newColumns = new int[count];
+        double[] newValues = new double[count];
+        for (int i = 0; i < m; i++) {
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                int position = next[columns[k]]++;
+                newColumns[position] = i;
+                newValues[position] = values[k];
+            }
+        }
+        return new SparseMatrix(n, m, starts, newColumns, newValues);
+    }
+
+    /**
+     * @see util.linalg.Matrix#copy()
+     */
+    public Copyable copy() {
+        return new SparseMatrix(m, n, rowStarts.clone(),
+            columns.clone(), values.clone());
+    }
+
+}
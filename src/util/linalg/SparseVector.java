@@ -0,0 +1,307 @@
+package util.linalg;
+
+import java.util.Arrays;
+
+import shared.Copyable;
+
+/**
+ * A vector that only stores its non zero entries, as a sorted
+ * array of indices and a parallel array of values.  Operations
+ * that only need the non zero entries (dot products, norms,
+ * scaling, adding onto another vector) take time proportional
+ * to the number of non zeros rather than the size.
+ * Random access is a binary search.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class SparseVector extends Vector {
+
+    /**
+     * The size of the vector
+     */
+    private int size;
+
+    /**
+     * The indices of the stored entries, sorted
+     */
+    private int[] indices;
+
+    /**
+     * The values of the stored entries
+     */
+    private double[] values;
+
+    /**
+     * The number of stored entries
+     */
+    private int nonZeroCount;
+
+    /**
+     * Make a new sparse vector of all zeros
+     * @param size the size of the vector
+     */
+    public SparseVector(int size) {
+        this(size, new int[4], new double[4], 0);
+    }
+
+    /**
+     * Make a new sparse vector from the given entries
+     * @param size the size of the vector
+     * @param indices the indices, sorted and distinct
+     * @param values the values
+     * @param nonZeroCount the number of entries used
+     */
+    public SparseVector(int size, int[] indices, double[] values, int nonZeroCount) {
+        this.size = size;
+        this.indices = indices;
+        this.values = values;
+        this.nonZeroCount = nonZeroCount;
+    }
+
+    /**
+     * Make a sparse copy of the given vector
+     * @param vector the vector
+     */
+    public SparseVector(Vector vector) {
+        this(vector.size());
+        if (vector instanceof SparseVector) {
+            SparseVector other = (SparseVector) vector;
+            indices = Arrays.copyOf(other.indices, Math.max(other.nonZeroCount, 1));
+            values = Arrays.copyOf(other.values, Math.max(other.nonZeroCount, 1));
+            nonZeroCount = other.nonZeroCount;
+        } else {
+            for (int i = 0; i < size; i++) {
+                double d = vector.get(i);
+                if (d != 0) {
+                    append(i, d);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add an entry past the last stored entry
+     * @param i the index, greater than any stored index
+     * @param d the value
+     */
+    private void append(int i, double d) {
+        if (nonZeroCount == indices.length) {
+            grow();
+        }
+        indices[nonZeroCount] = i;
+        values[nonZeroCount] = d;
+        nonZeroCount++;
+    }
+
+    /**
+     * Double the storage
+     */
+    private void grow() {
+        int capacity = Math.max(4, indices.length * 2);
+        indices = Arrays.copyOf(indices, capacity);
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    /**
+     * Find the position of an index in the stored entries
+     * @param i the index
+     * @return the position, or -(insertion point) - 1
+     */
+    private int find(int i) {
+        return Arrays.binarySearch(indices, 0, nonZeroCount, i);
+    }
+
+    /**
+     * @see util.linalg.Vector#size()
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @see util.linalg.Vector#get(int)
+     */
+    public double get(int i) {
+        int k = find(i);
+        return k >= 0 ? values[k] : 0;
+    }
+
+    /**
+     * @see util.linalg.Vector#set(int, double)
+     */
+    public void set(int i, double d) {
+        int k = find(i);
+        if (k >= 0) {
+            values[k] = d;
+        } else if (d != 0) {
+            k = -k - 1;
+            if (nonZeroCount == indices.length) {
+                grow();
+            }
+            System.arraycopy(indices, k, indices, k + 1, nonZeroCount - k);
+            System.arraycopy(values, k, values, k + 1, nonZeroCount - k);
+            indices[k] = i;
+            values[k] = d;
+            nonZeroCount++;
+        }
+    }
+
+    /**
+     * Get the number of stored entries
+     * @return the count
+     */
+    public int getNonZeroCount() {
+        return nonZeroCount;
+    }
+
+    /**
+     * Get the index of the kth stored entry
+     * @param k the position
+     * @return the index
+     */
+    public int getIndex(int k) {
+        return indices[k];
+    }
+
+    /**
+     * Get the value of the kth stored entry
+     * @param k the position
+     * @return the value
+     */
+    public double getValue(int k) {
+        return values[k];
+    }
+
+    /**
+     * @see util.linalg.Vector#dotProduct(util.linalg.Vector)
+     */
+    public double dotProduct(Vector vector) {
+        double result = 0;
+        if (vector instanceof SparseVector) {
+            SparseVector other = (SparseVector) vector;
+            int a = 0, b = 0;
+            while (a < nonZeroCount && b < other.nonZeroCount) {
+                if (indices[a] == other.indices[b]) {
+                    result += values[a++] * other.values[b++];
+                } else if (indices[a] < other.indices[b]) {
+                    a++;
+                } else {
+                    b++;
+                }
+            }
+        } else {
+            for (int k = 0; k < nonZeroCount; k++) {
+                result += values[k] * vector.get(indices[k]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the squared euclidean distance to another vector
+     * without forming the difference
+     * @param vector the other vector
+     * @return the distance squared
+     */
+    public double distanceSquared(Vector vector) {
+        if (vector instanceof SparseVector) {
+            SparseVector other = (SparseVector) vector;
+            double result = 0;
+            int a = 0, b = 0;
+            while (a < nonZeroCount || b < other.nonZeroCount) {
+                double d;
+                if (b >= other.nonZeroCount
+                        || (a < nonZeroCount && indices[a] < other.indices[b])) {
+                    d = values[a++];
+                } else if (a >= nonZeroCount || other.indices[b] < indices[a]) {
+                    d = other.values[b++];
+                } else {
+                    d = values[a++] - other.values[b++];
+                }
+                result += d * d;
+            }
+            return result;
+        }
+        // |x - y|^2 = |y|^2 + sum over non zeros of x of (x - y)^2 - y^2
+        double result = vector.normSquared();
+        for (int k = 0; k < nonZeroCount; k++) {
+            double y = vector.get(indices[k]);
+            double d = values[k] - y;
+            result += d * d - y * y;
+        }
+        return result;
+    }
+
+    /**
+     * Add a multiple of this vector onto another vector
+     * @param vector the vector to add onto
+     * @param scale the multiple
+     */
+    public void addTo(Vector vector, double scale) {
+        for (int k = 0; k < nonZeroCount; k++) {
+            int i = indices[k];
+            vector.set(i, vector.get(i) + scale * values[k]);
+        }
+    }
+
+    /**
+     * @see util.linalg.Vector#plusEquals(util.linalg.Vector)
+     */
+    public void plusEquals(Vector vector) {
+        if (vector instanceof SparseVector) {
+            ((SparseVector) vector).addTo(this, 1);
+        } else {
+            super.plusEquals(vector);
+        }
+    }
+
+    /**
+     * @see util.linalg.Vector#minusEquals(util.linalg.Vector)
+     */
+    public void minusEquals(Vector vector) {
+        if (vector instanceof SparseVector) {
+            ((SparseVector) vector).addTo(this, -1);
+        } else {
+            super.minusEquals(vector);
+        }
+    }
+
+    /**
+     * @see util.linalg.Vector#timesEquals(double)
+     */
+    public void timesEquals(double scale) {
+        for (int k = 0; k < nonZeroCount; k++) {
+            values[k] *= scale;
+        }
+    }
+
+    /**
+     * @see util.linalg.Vector#normSquared()
+     */
+    public double normSquared() {
+        double result = 0;
+        for (int k = 0; k < nonZeroCount; k++) {
+            result += values[k] * values[k];
+        }
+        return result;
+    }
+
+    /**
+     * @see util.linalg.Vector#sum()
+     */
+    public double sum() {
+        double sum = 0;
+        for (int k = 0; k < nonZeroCount; k++) {
+            sum += values[k];
+        }
+        return sum;
+    }
+
+    /**
+     * @see util.linalg.Vector#copy()
+     */
+    public Copyable copy() {
+        return new SparseVector(this);
+    }
+
+}
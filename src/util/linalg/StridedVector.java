@@ -0,0 +1,133 @@
+package util.linalg;
+
+/**
+ * A vector that is a view onto some portion of a shared
+ * primitive array.  Element i of the vector lives at
+ * data[offset + i * stride], so rows, columns and slices
+ * of flat storage can be handed out without copying.
+ * Writes go straight through to the backing array.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class StridedVector extends Vector {
+
+    /**
+     * The backing data
+     */
+    private double[] data;
+
+    /**
+     * The index of the first element
+     */
+    private int offset;
+
+    /**
+     * The distance between consecutive elements
+     */
+    private int stride;
+
+    /**
+     * The number of elements
+     */
+    private int size;
+
+    /**
+     * Make a new strided view
+     * @param data the backing array
+     * @param offset the index of the first element
+     * @param stride the distance between elements
+     * @param size the number of elements
+     */
+    public StridedVector(double[] data, int offset, int stride, int size) {
+        this.data = data;
+        this.offset = offset;
+        this.stride = stride;
+        this.size = size;
+    }
+
+    /**
+     * Make a new contiguous view
+     * @param data the backing array
+     * @param offset the index of the first element
+     * @param size the number of elements
+     */
+    public StridedVector(double[] data, int offset, int size) {
+        this(data, offset, 1, size);
+    }
+
+    /**
+     * @see util.linalg.Vector#size()
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @see util.linalg.Vector#get(int)
+     */
+    public double get(int i) {
+        return data[offset + i * stride];
+    }
+
+    /**
+     * @see util.linalg.Vector#set(int, double)
+     */
+    public void set(int i, double d) {
+        data[offset + i * stride] = d;
+    }
+
+    /**
+     * Get a view of some sub portion of this vector,
+     * unlike get(ia, ib) this does not copy
+     * @param ia the starting index (inclusive)
+     * @param ib the ending index (exclusive)
+     * @return the view
+     */
+    public StridedVector view(int ia, int ib) {
+        return new StridedVector(data, offset + ia * stride, stride, ib - ia);
+    }
+
+    /**
+     * @see util.linalg.Vector#dotProduct(util.linalg.Vector)
+     */
+    public double dotProduct(Vector vector) {
+        double result = 0;
+        for (int i = 0, k = offset; i < size; i++, k += stride) {
+            result += data[k] * vector.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Get the backing array
+     * @return the backing array
+     */
+    public double[] getData() {
+        return data;
+    }
+
+    /**
+     * Get the offset of the first element
+     * @return the offset
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Move the view to start at another element of the backing array
+     * @param offset the new offset
+     */
+    public void setOffset(int offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * Get the stride between elements
+     * @return the stride
+     */
+    public int getStride() {
+        return stride;
+    }
+
+}
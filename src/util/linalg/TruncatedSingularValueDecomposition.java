@@ -0,0 +1,163 @@
+package util.linalg;
+
+/**
+ * A truncated singular value decomposition finds just the
+ * k largest singular values of a matrix and their singular
+ * vectors, A ~= U*S*Vt where U is m by k, S is k by k and V
+ * is n by k.  Uses a randomized range finder with power
+ * iterations: the range of A is captured by multiplying a
+ * random basis by A and At a few times, then the small
+ * projected matrix is decomposed exactly.  The products with
+ * the matrix run on the parallel multiplication kernel; a
+ * transposed copy of the matrix is kept for the products
+ * with At.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class TruncatedSingularValueDecomposition {
+    /**
+     * The number of extra basis vectors to iterate with
+     */
+    private static final int OVERSAMPLING = 10;
+
+    /**
+     * The default number of power iterations
+     */
+    private static final int ITERATIONS = 4;
+
+    /**
+     * The diagonal matrix of singular values
+     */
+    private DiagonalMatrix s;
+
+    /**
+     * The left singular vectors
+     */
+    private RectangularMatrix u;
+
+    /**
+     * The right singular vectors
+     */
+    private RectangularMatrix v;
+
+    /**
+     * Decompose the given matrix
+     * @param a the matrix to decompose
+     * @param k the number of singular values to find
+     * @param iterations the number of power iterations
+     */
+    public TruncatedSingularValueDecomposition(Matrix a, int k, int iterations) {
+        RectangularMatrix matrix = a instanceof RectangularMatrix
+            ? (RectangularMatrix) a : new RectangularMatrix(a);
+        RectangularMatrix transpose = (RectangularMatrix) matrix.transpose();
+        int m = matrix.m(), n = matrix.n();
+        k = Math.min(k, Math.min(m, n));
+        int l = Math.min(Math.min(m, n), k + OVERSAMPLING);
+        // a basis for the range of a, as rows
+        double[][] range = apply(matrix, Orthonormalization.gaussian(l, n));
+        Orthonormalization.orthonormalizeRows(range);
+        for (int i = 0; i < iterations; i++) {
+            double[][] coRange = apply(transpose, range);
+            Orthonormalization.orthonormalizeRows(coRange);
+            range = apply(matrix, coRange);
+            Orthonormalization.orthonormalizeRows(range);
+        }
+        // b = Qt * A, as rows, then b = rt * q2 with q2 orthonormal rows
+        double[][] b = apply(transpose, range);
+        double[][] r = Orthonormalization.orthonormalizeRows(b);
+        // the small l by l problem rt = ur * s * vrt
+        SingularValueDecomposition svd =
+            new SingularValueDecomposition(new RectangularMatrix(r).transpose());
+        // the small decomposition may leave singular values
+        // negative or out of order, so pick the largest magnitudes
+        int[] order = new int[l];
+        for (int i = 0; i < l; i++) {
+            order[i] = i;
+        }
+        for (int i = 1; i < l; i++) {
+            int o = order[i];
+            double value = Math.abs(svd.getD().get(o, o));
+            int j = i - 1;
+            while (j >= 0 && Math.abs(svd.getD().get(order[j], order[j])) < value) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = o;
+        }
+        double[] values = new double[k];
+        u = new RectangularMatrix(m, k);
+        v = new RectangularMatrix(n, k);
+        for (int c = 0; c < k; c++) {
+            double value = svd.getD().get(order[c], order[c]);
+            values[c] = Math.abs(value);
+            accumulate(u, c, range, svd.getU(), order[c], value < 0 ? -1 : 1);
+            accumulate(v, c, b, svd.getV(), order[c], 1);
+        }
+        s = new DiagonalMatrix(k, k, values);
+    }
+
+    /**
+     * Decompose the given matrix
+     * @param a the matrix to decompose
+     * @param k the number of singular values to find
+     */
+    public TruncatedSingularValueDecomposition(Matrix a, int k) {
+        this(a, k, ITERATIONS);
+    }
+
+    /**
+     * Multiply a set of vectors by a matrix
+     * @param matrix the matrix
+     * @param vectors the vectors, as rows
+     * @return the products, as rows
+     */
+    private static double[][] apply(RectangularMatrix matrix, double[][] vectors) {
+        Matrix columns = new RectangularMatrix(vectors).transpose();
+        return ((RectangularMatrix) matrix.times(columns).transpose()).getData();
+    }
+
+    /**
+     * Set a column of the result to a combination of basis vectors
+     * @param result the result
+     * @param column the column to set
+     * @param basis the basis vectors, as rows
+     * @param weights the weights
+     * @param source the column of the weights to use
+     * @param sign the sign to apply to the weights
+     */
+    private static void accumulate(RectangularMatrix result, int column,
+            double[][] basis, Matrix weights, int source, double sign) {
+        double[][] data = result.getData();
+        for (int i = 0; i < basis.length; i++) {
+            double weight = sign * weights.get(i, source);
+            double[] row = basis[i];
+            for (int j = 0; j < row.length; j++) {
+                data[j][column] += weight * row[j];
+            }
+        }
+    }
+
+    /**
+     * Get the singular values
+     * @return the k by k diagonal
+     */
+    public DiagonalMatrix getS() {
+        return s;
+    }
+
+    /**
+     * Get the left singular vectors
+     * @return the m by k u matrix
+     */
+    public RectangularMatrix getU() {
+        return u;
+    }
+
+    /**
+     * Get the right singular vectors
+     * @return the n by k v matrix
+     */
+    public RectangularMatrix getV() {
+        return v;
+    }
+}
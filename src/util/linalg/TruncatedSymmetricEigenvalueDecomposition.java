@@ -0,0 +1,254 @@
+package util.linalg;
+
+/**
+ * A truncated symmetric eigenvalue decomposition finds just k
+ * eigenvalues of a symmetric matrix and their eigenvectors,
+ * A ~= U*D*Ut where U is n by k and D is k by k.
+ * Uses randomized subspace iteration: a random basis slightly
+ * bigger than k is repeatedly multiplied by the matrix and
+ * reorthonormalized, then the small projected matrix is fully
+ * decomposed.  The products with the matrix are the only
+ * expensive part and run on the parallel multiplication kernel.
+ * The smallest eigenvalues are found by inverse iteration
+ * with a Cholesky factor when the matrix is positive semi
+ * definite, as covariance matrices are, and otherwise by
+ * iterating with the shifted matrix s*I - A where s bounds
+ * the spectrum.
+ * The eigenvalues are sorted from largest to smallest, as in
+ * the full decomposition.
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class TruncatedSymmetricEigenvalueDecomposition {
+    /**
+     * The number of extra basis vectors to iterate with
+     */
+    private static final int OVERSAMPLING = 10;
+
+    /**
+     * The default number of subspace iterations
+     */
+    private static final int ITERATIONS = 12;
+
+    /**
+     * The relative shift keeping a singular matrix factorable
+     */
+    private static final double SHIFT = 1E-10;
+
+    /**
+     * The diagonal matrix
+     */
+    private DiagonalMatrix d;
+
+    /**
+     * The u matrix
+     */
+    private RectangularMatrix u;
+
+    /**
+     * Decompose the given matrix
+     * @param a the symmetric matrix to decompose
+     * @param k the number of eigenvalues to find
+     * @param largest true to find the largest eigenvalues,
+     * false to find the smallest
+     * @param iterations the number of subspace iterations
+     */
+    public TruncatedSymmetricEigenvalueDecomposition(Matrix a, int k,
+            boolean largest, int iterations) {
+        RectangularMatrix matrix = a instanceof RectangularMatrix
+            ? (RectangularMatrix) a : new RectangularMatrix(a);
+        int n = matrix.m();
+        k = Math.min(k, n);
+        int l = Math.min(n, k + OVERSAMPLING);
+        double bound = spectralBound(matrix);
+        double[][] factor = largest ? null : cholesky(matrix, bound * SHIFT);
+        double[][] basis = Orthonormalization.gaussian(l, n);
+        Orthonormalization.orthonormalizeRows(basis);
+        for (int i = 0; i < iterations; i++) {
+            if (largest) {
+                basis = multiply(matrix, basis);
+            } else if (factor != null) {
+                basis = solve(factor, basis);
+            } else {
+                // not positive definite, iterate with bound * I - A
+                double[][] image = multiply(matrix, basis);
+                for (int r = 0; r < l; r++) {
+                    for (int j = 0; j < n; j++) {
+                        image[r][j] = bound * basis[r][j] - image[r][j];
+                    }
+                }
+                basis = image;
+            }
+            Orthonormalization.orthonormalizeRows(basis);
+        }
+        // project onto the basis, t = Qt * A * Q
+        double[][] image = multiply(matrix, basis);
+        double[][] t = new double[l][l];
+        for (int i = 0; i < l; i++) {
+            for (int j = 0; j <= i; j++) {
+                double tij = .5 * (dot(basis[i], image[j]) + dot(basis[j], image[i]));
+                t[i][j] = tij;
+                t[j][i] = tij;
+            }
+        }
+        SymmetricEigenvalueDecomposition sed =
+            new SymmetricEigenvalueDecomposition(new RectangularMatrix(t));
+        RectangularMatrix ut = sed.getU();
+        double[] values = new double[k];
+        u = new RectangularMatrix(n, k);
+        double[][] data = u.getData();
+        // the ritz values are sorted largest first, so the
+        // smallest eigenvalues are the last k
+        int first = largest ? 0 : l - k;
+        for (int c = 0; c < k; c++) {
+            values[c] = sed.getD().get(first + c, first + c);
+            for (int i = 0; i < l; i++) {
+                double weight = ut.get(i, first + c);
+                double[] b = basis[i];
+                for (int j = 0; j < n; j++) {
+                    data[j][c] += weight * b[j];
+                }
+            }
+        }
+        d = new DiagonalMatrix(k, k, values);
+    }
+
+    /**
+     * Find the largest eigenvalues of the given matrix
+     * @param a the symmetric matrix to decompose
+     * @param k the number of eigenvalues to find
+     * @param largest true to find the largest eigenvalues,
+     * false to find the smallest
+     */
+    public TruncatedSymmetricEigenvalueDecomposition(Matrix a, int k, boolean largest) {
+        this(a, k, largest, ITERATIONS);
+    }
+
+    /**
+     * Find the largest eigenvalues of the given matrix
+     * @param a the symmetric matrix to decompose
+     * @param k the number of eigenvalues to find
+     */
+    public TruncatedSymmetricEigenvalueDecomposition(Matrix a, int k) {
+        this(a, k, true);
+    }
+
+    /**
+     * Multiply the basis by the matrix
+     * @param matrix the matrix
+     * @param basis the basis vectors, as rows
+     * @return the images of the basis vectors, as rows
+     */
+    private static double[][] multiply(RectangularMatrix matrix, double[][] basis) {
+        Matrix columns = new RectangularMatrix(basis).transpose();
+        return ((RectangularMatrix) matrix.times(columns).transpose()).getData();
+    }
+
+    /**
+     * Factor a + shift * I = L * Lt
+     * @param matrix the matrix
+     * @param shift the shift added to the diagonal
+     * @return the lower triangular factor, or null if the
+     * shifted matrix is not positive definite
+     */
+    private static double[][] cholesky(RectangularMatrix matrix, double shift) {
+        int n = matrix.m();
+        double[][] l = new double[n][];
+        for (int i = 0; i < n; i++) {
+            l[i] = new double[i + 1];
+            for (int j = 0; j <= i; j++) {
+                double sum = matrix.get(i, j) + (i == j ? shift : 0);
+                for (int p = 0; p < j; p++) {
+                    sum -= l[i][p] * l[j][p];
+                }
+                if (i == j) {
+                    if (!(sum > 0)) {
+                        return null;
+                    }
+                    l[i][i] = Math.sqrt(sum);
+                } else {
+                    l[i][j] = sum / l[j][j];
+                }
+            }
+        }
+        return l;
+    }
+
+    /**
+     * Solve L * Lt * x = b for each of the given vectors
+     * @param l the lower triangular factor
+     * @param vectors the right hand sides, as rows
+     * @return the solutions, as rows
+     */
+    private static double[][] solve(double[][] l, double[][] vectors) {
+        int n = l.length;
+        double[][] result = new double[vectors.length][];
+        for (int r = 0; r < vectors.length; r++) {
+            double[] x = (double[]) vectors[r].clone();
+            for (int i = 0; i < n; i++) {
+                double sum = x[i];
+                for (int p = 0; p < i; p++) {
+                    sum -= l[i][p] * x[p];
+                }
+                x[i] = sum / l[i][i];
+            }
+            for (int i = n - 1; i >= 0; i--) {
+                double sum = x[i];
+                for (int p = i + 1; p < n; p++) {
+                    sum -= l[p][i] * x[p];
+                }
+                x[i] = sum / l[i][i];
+            }
+            result[r] = x;
+        }
+        return result;
+    }
+
+    /**
+     * Bound the absolute value of the eigenvalues of
+     * a matrix by its largest absolute row sum
+     * @param matrix the matrix
+     * @return the bound
+     */
+    private static double spectralBound(RectangularMatrix matrix) {
+        double bound = 0;
+        for (int i = 0; i < matrix.m(); i++) {
+            double sum = 0;
+            for (int j = 0; j < matrix.n(); j++) {
+                sum += Math.abs(matrix.get(i, j));
+            }
+            bound = Math.max(bound, sum);
+        }
+        return bound;
+    }
+
+    /**
+     * The dot product of two arrays
+     * @param a the first
+     * @param b the second
+     * @return the dot product
+     */
+    private static double dot(double[] a, double[] b) {
+        double result = 0;
+        for (int i = 0; i < a.length; i++) {
+            result += a[i] * b[i];
+        }
+        return result;
+    }
+
+    /**
+     * Get the diagonal matrix of eigenvalues
+     * @return the k by k diagonal
+     */
+    public DiagonalMatrix getD() {
+        return d;
+    }
+
+    /**
+     * Get the matrix of eigenvectors
+     * @return the n by k u matrix
+     */
+    public RectangularMatrix getU() {
+        return u;
+    }
+}
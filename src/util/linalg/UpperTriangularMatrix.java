@@ -133,19 +133,29 @@ public class UpperTriangularMatrix extends Matrix {
 	 * @return the solution vector
 	 */
 	public Vector solve(Vector b) {
-		b = (Vector) b.copy();
+		return solve(b, (Vector) b.copy());
+	}
+
+	/**
+	 * Solve this upper triangular system for the given
+	 * vector into a result, which may be b itself
+	 * @param b the vector to solve for
+	 * @param result the vector to put the solution in
+	 * @return the result
+	 */
+	public Vector solve(Vector b, Vector result) {
 		// solve with backward substitution
-		// overwriting the copy of b with the solution x
-		b.set(b.size() - 1, b.get(b.size() - 1) /
+		// overwriting the result with the solution x
+		result.set(b.size() - 1, b.get(b.size() - 1) /
 			get(b.size() - 1, b.size() - 1));
 		for (int i = b.size() - 2; i >= 0; i--) {
 			double sum = 0;
 			for (int j = i+1; j < b.size(); j++) {
-				sum += get(i,j)*b.get(j);	    
+				sum += get(i,j)*result.get(j);	    
 			}
-			b.set(i, (b.get(i) - sum) / get(i,i));
+			result.set(i, (b.get(i) - sum) / get(i,i));
 		}
-		return b;
+		return result;
 	}
     
     /**
@@ -127,6 +127,9 @@ public abstract class Vector implements Serializable, Copyable {
      * @return the dot product
      */
     public double dotProduct(Vector vector) {
+        if (vector instanceof SparseVector) {
+            return vector.dotProduct(this);
+        }
         double result = 0;
         for (int i = 0; i < size(); i++) {
             result += get(i) * vector.get(i);   
@@ -140,7 +143,7 @@ public abstract class Vector implements Serializable, Copyable {
      * @return the outer product
      */    
     public Matrix outerProduct(Vector vector) {
-        double[][] result = new double[size()][size()];
+        double[][] result = new double[size()][vector.size()];
         for (int i = 0; i < result.length; i++) {
             for (int j = 0; j < result[0].length; j++) {
                 result[i][j] = get(i) * vector.get(j);
@@ -198,6 +201,10 @@ public abstract class Vector implements Serializable, Copyable {
 	 * @param vector the vector to add
 	 */
 	public void plusEquals(Vector vector) {
+		if (vector instanceof SparseVector) {
+			((SparseVector) vector).addTo(this, 1);
+			return;
+		}
 		for (int i = 0; i < size(); i++) {
 			set(i, get(i) + vector.get(i));
 		}
@@ -219,11 +226,98 @@ public abstract class Vector implements Serializable, Copyable {
 	 * @param vector the vector to subtract
 	 */
 	public void minusEquals(Vector vector) {
+		if (vector instanceof SparseVector) {
+			((SparseVector) vector).addTo(this, -1);
+			return;
+		}
 		for (int i = 0; i < size(); i++) {
 			set(i, get(i) - vector.get(i));
 		}
 	}
     
+    /**
+     * Add this vector to another vector, storing
+     * the result in an existing vector
+     * @param vector the other vector
+     * @param result the vector to store the result in, may be this
+     * @return the result
+     */
+    public Vector plus(Vector vector, Vector result) {
+        for (int i = 0; i < size(); i++) {
+            result.set(i, get(i) + vector.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Subtract a vector from this vector, storing
+     * the result in an existing vector
+     * @param vector the other vector
+     * @param result the vector to store the result in, may be this
+     * @return the result
+     */
+    public Vector minus(Vector vector, Vector result) {
+        for (int i = 0; i < size(); i++) {
+            result.set(i, get(i) - vector.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Multiply this vector by a scale, storing
+     * the result in an existing vector
+     * @param scale the scale
+     * @param result the vector to store the result in, may be this
+     * @return the result
+     */
+    public Vector times(double scale, Vector result) {
+        for (int i = 0; i < size(); i++) {
+            result.set(i, get(i) * scale);
+        }
+        return result;
+    }
+
+    /**
+     * Add a multiple of a vector onto this vector in place,
+     * this = this + scale * vector
+     * @param scale the multiple
+     * @param vector the vector to add
+     */
+    public void plusTimesEquals(double scale, Vector vector) {
+        if (vector instanceof SparseVector) {
+            ((SparseVector) vector).addTo(this, scale);
+            return;
+        }
+        for (int i = 0; i < size(); i++) {
+            set(i, get(i) + vector.get(i) * scale);
+        }
+    }
+
+    /**
+     * Scale this vector and add a multiple of another
+     * vector in place, this = a * this + b * vector
+     * @param a the scale for this vector
+     * @param b the scale for the other vector
+     * @param vector the other vector
+     */
+    public void timesPlusEquals(double a, double b, Vector vector) {
+        for (int i = 0; i < size(); i++) {
+            set(i, a * get(i) + b * vector.get(i));
+        }
+    }
+
+    /**
+     * Add the element wise product of two vectors onto
+     * this vector in place, this(i) = this(i) + x(i) * y(i)
+     * @param x the first vector
+     * @param y the second vector
+     */
+    public void productPlusEquals(Vector x, Vector y) {
+        for (int i = 0; i < size(); i++) {
+            set(i, get(i) + x.get(i) * y.get(i));
+        }
+    }
+    
     /**
      * Get the two norm squared of this vector
      * @return the two norm squared
@@ -268,6 +362,36 @@ public abstract class Vector implements Serializable, Copyable {
        }
        return true;
     }
+
+    /**
+     * Hash the values so that vectors that are equal element by
+     * element hash the same whatever their kind.  Zeros are left
+     * out, so sparse kinds only have to look at their non zeros.
+     * @see java.lang.Object#hashCode()
+     */
+    public int hashCode() {
+        int hash = size();
+        for (int i = 0; i < size(); i++) {
+            double v = get(i);
+            if (v != 0) {
+                hash += hashElement(i, v);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Hash one non zero element for hashCode
+     * @param i the index
+     * @param v the value
+     * @return the hash
+     */
+    protected static int hashElement(int i, double v) {
+        long h = (Double.doubleToLongBits(v) + i) * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 29;
+        h *= 0xD6E8FEB86659FD93L;
+        return (int) (h ^ (h >>> 32));
+    }
     
     /**
      * @see java.lang.Object#toString()
@@ -0,0 +1,51 @@
+package util.test;
+
+import util.linalg.FlatMatrix;
+import util.linalg.LUDecomposition;
+import util.linalg.Matrix;
+import util.linalg.QRDecomposition;
+import util.linalg.RectangularMatrix;
+import util.linalg.SymmetricEigenvalueDecomposition;
+
+/**
+ * A test of the flat matrix and its views
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class FlatMatrixTest {
+
+    /**
+     * Test main, takes views of a flat matrix and
+     * runs decompositions on it
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        double[] data = {
+            1, 2, 3, 4,
+            5, 6, 7, 8,
+            9, 10, 0, 12
+        };
+        FlatMatrix m = new FlatMatrix(data, 3, 4);
+        System.out.println(m);
+        System.out.println(m.transposeView());
+        FlatMatrix sub = m.view(0, 3, 0, 3);
+        System.out.println(sub);
+        System.out.println(m.row(1));
+        System.out.println(m.column(2));
+        // writes through a view change the matrix
+        m.transposeView().set(3, 0, 40);
+        System.out.println(m);
+        // a decomposition of a view
+        LUDecomposition lu = new LUDecomposition(sub);
+        System.out.println(lu.getL().times(lu.getU()));
+        QRDecomposition qr = new QRDecomposition(sub.transposeView());
+        System.out.println(qr.getQ().times(qr.getR()));
+        // the product of views matches the product of copies
+        Matrix symmetric = sub.times(sub.transposeView());
+        System.out.println(symmetric);
+        System.out.println(new RectangularMatrix(sub).times(new RectangularMatrix(sub).transpose()));
+        SymmetricEigenvalueDecomposition sed = new SymmetricEigenvalueDecomposition(symmetric);
+        System.out.println(sed.getU().times(sed.getD()).times(sed.getU().transpose()));
+    }
+
+}
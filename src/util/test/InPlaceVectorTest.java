@@ -0,0 +1,43 @@
+package util.test;
+
+import util.linalg.DenseVector;
+import util.linalg.Matrix;
+import util.linalg.RectangularMatrix;
+import util.linalg.Vector;
+
+/**
+ * A test of the in place vector and matrix operations
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class InPlaceVectorTest {
+
+    /**
+     * Test main, compares the in place operations
+     * with their allocating versions
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        Vector x = new DenseVector(new double[] {1, 2, 3});
+        Vector y = new DenseVector(new double[] {4, 5, 6});
+        Vector result = new DenseVector(3);
+        System.out.println(x.plus(y) + " = " + x.plus(y, result));
+        System.out.println(x.minus(y) + " = " + x.minus(y, result));
+        System.out.println(x.times(2) + " = " + x.times(2, result));
+        Vector axpy = (Vector) y.copy();
+        axpy.plusTimesEquals(2, x);
+        System.out.println(y.plus(x.times(2)) + " = " + axpy);
+        Vector axpby = (Vector) y.copy();
+        axpby.timesPlusEquals(3, 2, x);
+        System.out.println(y.times(3).plus(x.times(2)) + " = " + axpby);
+        Vector fma = (Vector) y.copy();
+        fma.productPlusEquals(x, x);
+        System.out.println(fma);
+        Matrix m = new RectangularMatrix(3, 3);
+        m.outerProductPlusEquals(2, x, y);
+        System.out.println(x.outerProduct(y).times(2));
+        System.out.println(m);
+        System.out.println(m.times(x) + " = " + m.times(x, result));
+    }
+
+}
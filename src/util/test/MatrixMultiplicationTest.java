@@ -0,0 +1,60 @@
+package util.test;
+
+import util.linalg.Matrix;
+import util.linalg.RectangularMatrix;
+
+/**
+ * A test of the blocked matrix multiplication
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class MatrixMultiplicationTest {
+
+    /**
+     * Multiply the slow way through the get accessor
+     * @param a the left hand side
+     * @param b the right hand side
+     * @return the product
+     */
+    private static Matrix naiveTimes(Matrix a, Matrix b) {
+        double[][] result = new double[a.m()][b.n()];
+        for (int row = 0; row < result.length; row++) {
+            for (int column = 0; column < result[0].length; column++) {
+                for (int i = 0; i < a.n(); i++) {
+                    result[row][column] += a.get(row, i) * b.get(i, column);
+                }
+            }
+        }
+        return new RectangularMatrix(result);
+    }
+
+    /**
+     * Test main, multiplies random matrices of several sizes
+     * and compares against the textbook triple loop
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        int[][] sizes = { {3, 4, 5}, {37, 129, 61}, {300, 300, 300}, {700, 513, 650} };
+        for (int s = 0; s < sizes.length; s++) {
+            Matrix a = RectangularMatrix.random(sizes[s][0], sizes[s][1]);
+            Matrix b = RectangularMatrix.random(sizes[s][1], sizes[s][2]);
+            long start = System.nanoTime();
+            Matrix expected = naiveTimes(a, b);
+            long naive = System.nanoTime() - start;
+            start = System.nanoTime();
+            Matrix actual = a.times(b);
+            long blocked = System.nanoTime() - start;
+            double maxDifference = 0;
+            for (int i = 0; i < expected.m(); i++) {
+                for (int j = 0; j < expected.n(); j++) {
+                    maxDifference = Math.max(maxDifference,
+                        Math.abs(expected.get(i, j) - actual.get(i, j)));
+                }
+            }
+            System.out.println(sizes[s][0] + "x" + sizes[s][1] + "x" + sizes[s][2]
+                + " naive " + naive / 1e6 + " ms, blocked " + blocked / 1e6
+                + " ms, max difference " + maxDifference);
+        }
+    }
+
+}
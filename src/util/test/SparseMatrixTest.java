@@ -0,0 +1,58 @@
+package util.test;
+
+import shared.EuclideanDistance;
+import shared.Instance;
+import util.linalg.DenseVector;
+import util.linalg.Matrix;
+import util.linalg.RectangularMatrix;
+import util.linalg.SparseMatrix;
+import util.linalg.SparseVector;
+import util.linalg.Vector;
+
+/**
+ * A test of the sparse vector and matrix
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class SparseMatrixTest {
+
+    /**
+     * Test main, compares sparse operations with their dense versions
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        double[][] a = {
+            { 0, 2, 0, 0 },
+            { 1, 0, 0, 3 },
+            { 0, 0, 0, 0 },
+            { 0, 4, 5, 0 }
+        };
+        Matrix dense = new RectangularMatrix(a);
+        SparseMatrix sparse = new SparseMatrix(dense);
+        System.out.println(sparse);
+        System.out.println(sparse.getNonZeroCount() + " non zeros");
+        System.out.println(sparse.transpose());
+        System.out.println(sparse.times(sparse));
+        System.out.println(dense.times(dense));
+        System.out.println(sparse.times(dense));
+        System.out.println(dense.times(sparse));
+        Vector x = new DenseVector(new double[] {1, 2, 3, 4});
+        System.out.println(sparse.times(x));
+        System.out.println(dense.times(x));
+        SparseVector s = new SparseVector(4);
+        s.set(3, 2);
+        s.set(1, -1);
+        System.out.println(s + " dot " + x + " = " + s.dotProduct(x) + " = " + x.dotProduct(s));
+        SparseVector r = (SparseVector) sparse.getRow(1);
+        System.out.println(r + " dot " + s + " = " + r.dotProduct(s));
+        EuclideanDistance distance = new EuclideanDistance();
+        System.out.println(distance.value(new Instance(r), new Instance(s)) + " = "
+            + distance.value(new Instance(new DenseVector(new double[] {1, 0, 0, 3})),
+                new Instance(new DenseVector(new double[] {0, -1, 0, 2}))));
+        Vector sum = new DenseVector(4);
+        sum.plusEquals(r);
+        sum.plusEquals(s);
+        System.out.println(sum + " norm " + r.norm());
+    }
+
+}
@@ -0,0 +1,68 @@
+package util.test;
+
+import java.util.Arrays;
+
+import util.linalg.Matrix;
+import util.linalg.RectangularMatrix;
+import util.linalg.SingularValueDecomposition;
+import util.linalg.SymmetricEigenvalueDecomposition;
+import util.linalg.TruncatedSingularValueDecomposition;
+import util.linalg.TruncatedSymmetricEigenvalueDecomposition;
+
+/**
+ * A test of the truncated decompositions
+ * @author Andrew Guillory gtg008g@mail.gatech.edu
+ * @version 1.0
+ */
+public class TruncatedDecompositionTest {
+
+    /**
+     * Test main, compares the leading eigenvalues and singular
+     * values against the full decompositions
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        int n = 120;
+        int k = 5;
+        // a low rank plus noise covariance like matrix
+        Matrix factors = RectangularMatrix.random(n, 8);
+        Matrix a = factors.times(factors.transpose());
+        a.plusEquals(RectangularMatrix.eye(n).times(.01));
+        long start = System.nanoTime();
+        SymmetricEigenvalueDecomposition sed = new SymmetricEigenvalueDecomposition(a);
+        long full = System.nanoTime() - start;
+        start = System.nanoTime();
+        TruncatedSymmetricEigenvalueDecomposition tsed =
+            new TruncatedSymmetricEigenvalueDecomposition(a, k);
+        long truncated = System.nanoTime() - start;
+        System.out.println("Full eigen " + full / 1e6 + " ms, truncated " + truncated / 1e6 + " ms");
+        for (int i = 0; i < k; i++) {
+            System.out.println(sed.getD().get(i, i) + "\t" + tsed.getD().get(i, i));
+        }
+        TruncatedSymmetricEigenvalueDecomposition smallest =
+            new TruncatedSymmetricEigenvalueDecomposition(a, 3, false);
+        for (int i = 0; i < 3; i++) {
+            System.out.println(sed.getD().get(n - 3 + i, n - 3 + i) + "\t" + smallest.getD().get(i, i));
+        }
+        // check a times u equals u times d
+        Matrix au = a.times(tsed.getU());
+        Matrix ud = tsed.getU().times(tsed.getD());
+        System.out.println("Eigen residual " + au.minus(ud).transpose().times(au.minus(ud)).get(0, 0));
+        Matrix b = RectangularMatrix.random(90, 60);
+        SingularValueDecomposition svd = new SingularValueDecomposition(b);
+        TruncatedSingularValueDecomposition tsvd = new TruncatedSingularValueDecomposition(b, k);
+        double[] singular = new double[60];
+        for (int i = 0; i < singular.length; i++) {
+            singular[i] = Math.abs(svd.getD().get(i, i));
+        }
+        Arrays.sort(singular);
+        for (int i = 0; i < k; i++) {
+            System.out.println(singular[singular.length - 1 - i] + "\t" + tsvd.getS().get(i, i));
+        }
+        // check a times v equals u times s
+        Matrix av = b.times(tsvd.getV());
+        Matrix us = tsvd.getU().times(tsvd.getS());
+        System.out.println("Singular residual " + av.minus(us).transpose().times(av.minus(us)).get(0, 0));
+    }
+
+}